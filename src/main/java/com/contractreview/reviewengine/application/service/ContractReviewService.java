@@ -8,6 +8,7 @@ import com.contract.common.feign.dto.ContractFeignDTO;
 import com.contractreview.reviewengine.domain.enums.ExecutionStage;
 import com.contractreview.reviewengine.domain.enums.TaskStatus;
 import com.contractreview.reviewengine.domain.enums.TaskType;
+import com.contractreview.reviewengine.domain.event.TaskStageReadyEvent;
 import com.contractreview.reviewengine.domain.model.ContractReview;
 import com.contractreview.reviewengine.domain.model.ReviewResult;
 import com.contractreview.reviewengine.domain.model.Task;
@@ -17,6 +18,8 @@ import com.contractreview.reviewengine.domain.repository.ReviewResultRepository;
 import com.contractreview.reviewengine.domain.service.TaskManagementService;
 import com.contractreview.reviewengine.domain.valueobject.ReviewProgress;
 import com.contractreview.reviewengine.domain.valueobject.TaskConfiguration;
+import com.contractreview.reviewengine.infrastructure.executor.ClauseExtractionTracker;
+import com.contractreview.reviewengine.infrastructure.external.ReferenceDataCache;
 import com.contractreview.reviewengine.infrastructure.persistence.repository.TaskEntityRepository;
 import com.contractreview.reviewengine.infrastructure.service.ContractTaskInfraService;
 import com.contractreview.reviewengine.interfaces.rest.converter.ContractReviewConverter;
@@ -30,10 +33,19 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
 
@@ -57,10 +69,19 @@ public class ContractReviewService {
     private final ClauseExtractionFeignClient clauseExtractionFeignClient;
     private final TaskEntityRepository taskEntityRepository;
     private final ClauseFeignClient clauseFeignClient;
+    private final ClauseExtractionTracker clauseExtractionTracker;
+    private final ReferenceDataCache referenceDataCache;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Value("${ruoyi.remote-auth.secret:}")
     private String secret;
 
+    /**
+     * 条款抽取回调签名密钥，未单独配置时使用服务间调用密钥
+     */
+    @Value("${contract.review.clause-extraction.callback-secret:${ruoyi.remote-auth.secret:}}")
+    private String callbackSecret;
+
     /**
      * 创建合同审查任务
      */
@@ -189,6 +210,62 @@ public class ContractReviewService {
         log.info("任务 {} 已准备就绪，等待状态聚合执行器处理", taskId);
     }
 
+    /**
+     * 校验条款抽取回调签名：签名为以回调密钥对合同ID做 HMAC-SHA256 的十六进制串，未配置密钥时一律拒绝
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean verifyClauseExtractionCallback(Long contractId, String signature) {
+        if (callbackSecret == null || callbackSecret.isBlank() || signature == null || signature.isBlank()) {
+            return false;
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(callbackSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] expected = mac.doFinal(String.valueOf(contractId).getBytes(StandardCharsets.UTF_8));
+            byte[] actual = HexFormat.of().parseHex(signature.trim().toLowerCase());
+            return MessageDigest.isEqual(expected, actual);
+        } catch (IllegalArgumentException e) {
+            return false;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("校验条款抽取回调签名失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 条款抽取完成回调
+     * 不信任回调内容，只将对应任务的状态查询提前，由条款抽取执行器重新查询实际状态
+     *
+     * @param contractId 合同ID
+     * @return 是否找到处于条款抽取阶段的任务
+     */
+    public boolean onClauseExtractionFinished(Long contractId) {
+        Optional<ContractReview> latest = getLatestTaskByContractId(contractId);
+        if (latest.isEmpty()) {
+            log.warn("条款抽取回调未找到合同 {} 的审查任务", contractId);
+            return false;
+        }
+
+        TaskId taskId = TaskId.of(latest.get().getTaskId());
+        Task task = taskService.getTaskById(taskId);
+        if (task.getCurrentStage() != ExecutionStage.CLAUSE_EXTRACTION || !task.isRunning()) {
+            log.debug("任务 {} 不在条款抽取阶段，忽略回调", taskId);
+            return false;
+        }
+
+        taskService.expediteClaim(taskId);
+        applicationEventPublisher.publishEvent(
+            new TaskStageReadyEvent(taskId.getValue(), ExecutionStage.CLAUSE_EXTRACTION, LocalDateTime.now()));
+        log.info("收到合同 {} 条款抽取完成回调，任务 {} 将立即查询抽取状态", contractId, taskId);
+        return true;
+    }
+
+    /**
+     * 审查规则或系统提示词变更后失效参考数据缓存
+     */
+    public void invalidateReferenceData() {
+        referenceDataCache.invalidateAll();
+    }
+
     public Boolean deleteContractReviewTask(Long contractTaskId) {
         // 查询主数据的task
         Optional<ContractReview> contractReview = contractReviewRepository.findById(TaskId.of(contractTaskId));
@@ -270,6 +347,7 @@ public class ContractReviewService {
         // 不仅要重制任务状态，还需要把相关步骤的生成结果全部软删除。
         if (task.canRetry()) {
             taskService.retryTask(task);
+            clauseExtractionTracker.clear(taskId);
             // FUTURE 以后可能不止一种类型
             ContractReview contractReview = contractTaskInfraService.findContractTaskByTaskId(taskId);
             DeleteClauseExtractionResponse deleteClauseExtractionResponse =
@@ -541,12 +619,13 @@ public class ContractReviewService {
 
     /**
      * 根据任务ID获取合同标题
+     * 包含远程调用，不在事务中执行，合同任务查询使用自身的短事务
      *
      * @param taskId 任务ID
-     * @return 合同标题
+     * @return 合同标题，合同管理服务调用失败时为空，由调用方决定是否降级
      */
-    @Transactional(readOnly = true)
-    public String getContractTitleByTaskId(TaskId taskId) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<String> getContractTitleByTaskId(TaskId taskId) {
         log.debug("根据任务ID获取合同标题，taskId: {}", taskId.getValue());
 
         // 获取合同审查信息
@@ -559,13 +638,12 @@ public class ContractReviewService {
         try {
             ContractFeignDTO contract = contractFeignClient.getContractById(contractReview.getContractId(), secret);
             if (contract != null) {
-                return contract.getContractName();
+                return Optional.ofNullable(contract.getContractName());
             }
+            log.warn("合同管理服务未返回合同信息，contractId: {}", contractReview.getContractId());
         } catch (Exception e) {
             log.warn("获取合同信息失败，contractId: {}, error: {}", contractReview.getContractId(), e.getMessage());
         }
-
-        // 如果获取失败，返回默认标题
-        return "合同-" + contractReview.getContractId();
+        return Optional.empty();
     }
 }
\ No newline at end of file
@@ -1,19 +1,33 @@
 package com.contractreview.reviewengine.application.service;
 
 import com.contractreview.reviewengine.domain.model.ReviewResult;
+import com.contractreview.reviewengine.domain.model.ReviewResultId;
 import com.contractreview.reviewengine.domain.model.TaskId;
+import com.contractreview.reviewengine.domain.repository.ReportSnapshotRepository;
 import com.contractreview.reviewengine.domain.service.ReviewResultService;
 import com.contractreview.reviewengine.interfaces.rest.dto.ReportDetailDto;
 import com.contractreview.reviewengine.interfaces.rest.dto.report.*;
 import com.contractreview.reviewengine.domain.valueobject.Evidence;
+import com.contractreview.reviewengine.domain.valueobject.ReportSnapshot;
 import com.contractreview.reviewengine.domain.exception.BusinessException;
 import com.contract.common.feign.ClauseFeignClient;
 import com.contract.common.feign.dto.ClauseFeignDTO;
-import lombok.RequiredArgsConstructor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 /**
@@ -24,15 +38,87 @@ import java.util.stream.Collectors;
  */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class ReportService {
 
+    /**
+     * 报告详情缓存，键为 任务ID:审查结果ID；审查结果保存或删除时失效
+     */
+    private static final String REPORT_CACHE = "reportDetail";
+
     private final ReviewResultService reviewResultService;
     private final ContractReviewService contractReviewService;
     private final ClauseFeignClient clauseFeignClient;
+    private final CacheManager cacheManager;
+    private final Executor asyncExecutor;
+    private final ReportSnapshotRepository reportSnapshotRepository;
+    private final ObjectMapper objectMapper;
+
+    public ReportService(ReviewResultService reviewResultService,
+                         ContractReviewService contractReviewService,
+                         ClauseFeignClient clauseFeignClient,
+                         CacheManager cacheManager,
+                         @Qualifier("asyncExecutor") Executor asyncExecutor,
+                         ReportSnapshotRepository reportSnapshotRepository,
+                         ObjectMapper objectMapper) {
+        this.reviewResultService = reviewResultService;
+        this.contractReviewService = contractReviewService;
+        this.clauseFeignClient = clauseFeignClient;
+        this.cacheManager = cacheManager;
+        this.asyncExecutor = asyncExecutor;
+        this.reportSnapshotRepository = reportSnapshotRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 渲染并保存报告快照，由报告生成阶段调用；重新审查后再次调用会覆盖旧快照
+     * 快照长期保存，合同标题或条款获取失败时不写入降级内容，抛出异常使报告生成阶段失败并重试
+     *
+     * @param taskId 任务ID
+     * @return 报告快照
+     */
+    public ReportSnapshot generateSnapshot(TaskId taskId) {
+        Long resultId = reviewResultService.getReviewResultIdByTaskId(taskId)
+                .orElseThrow(() -> new BusinessException("报告不存在", "DATA001"));
+        ReportAssembly assembly = buildReportDetail(taskId, resultId);
+        if (assembly.degraded()) {
+            throw new RuntimeException("报告快照生成失败: 合同标题或条款列表获取失败，任务" + taskId.getValue());
+        }
+        ReportDetailDto reportDetail = assembly.detail();
+
+        String content;
+        try {
+            content = objectMapper.writeValueAsString(reportDetail);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("报告快照序列化失败: " + e.getMessage(), e);
+        }
+
+        ReportSnapshot snapshot = new ReportSnapshot(taskId.getValue(), resultId, content, sha256(content), LocalDateTime.now());
+        reportSnapshotRepository.save(snapshot);
+        log.debug("任务{}的报告快照已生成，哈希: {}", taskId.getValue(), snapshot.getContentHash());
+        return snapshot;
+    }
+
+    /**
+     * 获取报告快照，报告生成阶段之前完成的任务没有快照
+     */
+    public Optional<ReportSnapshot> getReportSnapshot(TaskId taskId) {
+        return reportSnapshotRepository.findByTaskId(taskId);
+    }
+
+    /**
+     * 将报告快照还原为报告详情
+     */
+    public ReportDetailDto readSnapshot(ReportSnapshot snapshot) {
+        try {
+            return objectMapper.readValue(snapshot.getContent(), ReportDetailDto.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("报告快照解析失败: " + e.getMessage(), e);
+        }
+    }
 
     /**
      * 根据任务ID获取报告详情
+     * 审查完成后报告不再变化，按（任务ID, 审查结果ID）缓存组装结果；合同标题或条款获取失败时返回降级报告但不缓存
      *
      * @param taskId 任务ID
      * @return 报告详情
@@ -40,30 +126,113 @@ public class ReportService {
     public ReportDetailDto getReportDetail(TaskId taskId) {
         log.debug("获取任务{}的报告详情", taskId.getValue());
 
-        // 获取审查结果
-        Optional<ReviewResult> reviewResultOpt = reviewResultService.getReviewResultByTaskId(taskId);
-        if (reviewResultOpt.isEmpty()) {
-            throw new BusinessException("报告不存在", "DATA001");
+        Long resultId = reviewResultService.getReviewResultIdByTaskId(taskId)
+                .orElseThrow(() -> new BusinessException("报告不存在", "DATA001"));
+
+        Cache cache = cacheManager.getCache(REPORT_CACHE);
+        if (cache == null) {
+            return buildReportDetail(taskId, resultId).detail();
         }
+        try {
+            return cache.get(taskId.getValue() + ":" + resultId, () -> {
+                ReportAssembly assembly = buildReportDetail(taskId, resultId);
+                if (assembly.degraded()) {
+                    // 以异常跳出加载，降级结果不写入缓存
+                    throw new DegradedReportException(assembly.detail());
+                }
+                return assembly.detail();
+            });
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof DegradedReportException degraded) {
+                return degraded.reportDetail;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 
-        ReviewResult reviewResult = reviewResultOpt.get();
+    /**
+     * 组装报告：合同标题与条款列表并行获取，审查结果连同规则结果一次查询加载
+     * 合同标题获取失败时使用默认标题、条款获取失败时使用空列表，并标记为降级
+     */
+    private ReportAssembly buildReportDetail(TaskId taskId, Long resultId) {
+        CompletableFuture<Optional<String>> contractTitle = CompletableFuture.supplyAsync(
+                () -> contractReviewService.getContractTitleByTaskId(taskId), asyncExecutor);
 
-        // 获取合同标题
-        String contractTitle = contractReviewService.getContractTitleByTaskId(taskId);
+        ReviewResult reviewResult = reviewResultService.getReviewResultWithRuleResults(ReviewResultId.of(resultId))
+                .orElseThrow(() -> new BusinessException("报告不存在", "DATA001"));
 
-        // 组装报告数据
-        return assembleReportDetail(reviewResult, contractTitle);
+        // 条款列表只获取一次，统计和规则结果共用
+        Optional<List<ClauseFeignDTO>> clauses = fetchClauses(reviewResult.getContractId());
+        Optional<String> title = join(contractTitle);
+
+        ReportDetailDto reportDetail = assembleReportDetail(reviewResult,
+                title.orElse("合同-" + reviewResult.getContractId()), clauses.orElse(List.of()));
+        return new ReportAssembly(reportDetail, title.isEmpty() || clauses.isEmpty());
+    }
+
+    /**
+     * 获取合同条款列表，调用失败时为空
+     */
+    private Optional<List<ClauseFeignDTO>> fetchClauses(Long contractId) {
+        try {
+            List<ClauseFeignDTO> clauses = clauseFeignClient.getClausesByContractId(contractId);
+            return Optional.of(clauses != null ? clauses : List.of());
+        } catch (Exception e) {
+            log.warn("获取合同{}的条款列表失败: {}", contractId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 组装结果，degraded 表示使用了默认标题或空条款列表
+     */
+    private record ReportAssembly(ReportDetailDto detail, boolean degraded) {
+    }
+
+    /**
+     * 降级报告，用于从缓存加载中带出结果且不写入缓存
+     */
+    private static final class DegradedReportException extends RuntimeException {
+        private final transient ReportDetailDto reportDetail;
+
+        private DegradedReportException(ReportDetailDto reportDetail) {
+            super("报告依赖数据获取失败，返回降级报告", null, false, false);
+            this.reportDetail = reportDetail;
+        }
+    }
+
+    private static String sha256(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
     /**
      * 组装报告详情数据
      */
-    private ReportDetailDto assembleReportDetail(ReviewResult reviewResult, String contractTitle) {
+    private ReportDetailDto assembleReportDetail(ReviewResult reviewResult, String contractTitle, List<ClauseFeignDTO> clauses) {
         // 组装统计数据
-        StatisticsDto statistics = assembleStatistics(reviewResult);
+        StatisticsDto statistics = assembleStatistics(reviewResult, clauses);
 
         // 组装规则结果
-        List<RuleResultDto> ruleResults = assembleRuleResults(reviewResult);
+        List<RuleResultDto> ruleResults = assembleRuleResults(reviewResult, clauses);
 
         // 组装证据
         Map<String, EvidenceDto> evidences = assembleEvidences(reviewResult);
@@ -85,15 +254,9 @@ public class ReportService {
     /**
      * 组装统计数据
      */
-    private StatisticsDto assembleStatistics(ReviewResult reviewResult) {
-        // 获取条款总数
-        int totalClauses = 0;
-        try {
-            List<ClauseFeignDTO> clauses = clauseFeignClient.getClausesByContractId(reviewResult.getContractId());
-            totalClauses = clauses != null ? clauses.size() : 0;
-        } catch (Exception e) {
-            log.warn("获取合同{}的条款列表失败: {}", reviewResult.getContractId(), e.getMessage());
-        }
+    private StatisticsDto assembleStatistics(ReviewResult reviewResult, List<ClauseFeignDTO> clauses) {
+        // 条款总数
+        int totalClauses = clauses.size();
 
         // 统计各风险等级数量
         // 注意：key的名称按照RiskLevel中的定义，之后加注释提示不允许改动
@@ -140,28 +303,15 @@ public class ReportService {
     /**
      * 组装规则结果
      */
-    private List<RuleResultDto> assembleRuleResults(ReviewResult reviewResult) {
+    private List<RuleResultDto> assembleRuleResults(ReviewResult reviewResult, List<ClauseFeignDTO> clauses) {
         List<RuleResultDto> ruleResults = new ArrayList<>();
 
-        // 获取条款列表用于填充clauseText
+        // 条款内容用于填充clauseText（条款内容可能为空，不使用Collectors.toMap）
         Map<String, String> clauseContentMap = new HashMap<>();
-        try {
-            List<ClauseFeignDTO> clauses = clauseFeignClient.getClausesByContractId(reviewResult.getContractId());
-            if (clauses != null) {
-                clauseContentMap = clauses.stream()
-                        .collect(Collectors.toMap(
-                                clause -> String.valueOf(clause.getId()),
-                                ClauseFeignDTO::getClauseContent,
-                                (existing, replacement) -> existing
-                        ));
-            }
-        } catch (Exception e) {
-            log.warn("获取合同{}的条款内容失败: {}", reviewResult.getContractId(), e.getMessage());
-        }
+        clauses.forEach(clause -> clauseContentMap.putIfAbsent(String.valueOf(clause.getId()), clause.getClauseContent()));
 
         // 添加规则结果
         if (reviewResult.getRuleResults() != null) {
-            Map<String, String> finalClauseContentMap = clauseContentMap;
             reviewResult.getRuleResults().forEach(rule -> {
                 List<FindingDto> findings = new ArrayList<>();
                 if (rule.getFindings() != null) {
@@ -169,7 +319,7 @@ public class ReportService {
                         // 获取clauseText：优先从Feign获取，其次使用originContractText
                         String clauseText = null;
                         if (rule.getRiskClauseId() != null) {
-                            clauseText = finalClauseContentMap.get(rule.getRiskClauseId());
+                            clauseText = clauseContentMap.get(rule.getRiskClauseId());
                         }
                         if (clauseText == null) {
                             clauseText = rule.getOriginContractText();
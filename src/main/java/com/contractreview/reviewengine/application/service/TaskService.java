@@ -12,13 +12,16 @@ import com.contractreview.reviewengine.domain.valueobject.TaskConfiguration;
 import com.contractreview.reviewengine.infrastructure.service.ContractTaskInfraService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 任务应用服务
@@ -29,6 +32,8 @@ import java.util.List;
 @Transactional
 public class TaskService {
 
+    private static final int EXPORT_PAGE_SIZE = 500;
+
     private final TaskRepository taskRepository;
     private final ContractTaskInfraService contractTaskInfraService;
     private final ClauseExtractionFeignClient clauseExtractionFeignClient;
@@ -50,8 +55,9 @@ public class TaskService {
      */
     public void startTask(TaskId taskId) {
         Task task = getTaskById(taskId);
+        TaskStatus previousStatus = task.getStatus();
         task.start();
-        taskRepository.save(task);
+        writeTransition(task, previousStatus);
 
         log.info("Started task: {}", taskId);
     }
@@ -61,8 +67,9 @@ public class TaskService {
      */
     public void completeTask(TaskId taskId) {
         Task task = getTaskById(taskId);
+        TaskStatus previousStatus = task.getStatus();
         task.complete();
-        taskRepository.save(task);
+        writeTransition(task, previousStatus);
 
         log.info("Completed task: {}", taskId);
     }
@@ -72,8 +79,9 @@ public class TaskService {
      */
     public void failTask(TaskId taskId, String errorMessage) {
         Task task = getTaskById(taskId);
+        TaskStatus previousStatus = task.getStatus();
         task.fail(errorMessage);
-        taskRepository.save(task);
+        writeTransition(task, previousStatus);
 
         log.warn("Task failed: {} - {}", taskId, errorMessage);
     }
@@ -83,8 +91,9 @@ public class TaskService {
      */
     public void cancelTask(TaskId taskId) {
         Task task = getTaskById(taskId);
+        TaskStatus previousStatus = task.getStatus();
         task.cancel();
-        taskRepository.save(task);
+        writeTransition(task, previousStatus);
 
         log.info("Cancelled task: {}", taskId);
     }
@@ -96,7 +105,7 @@ public class TaskService {
         // 不仅要重制任务状态，还需要把相关步骤的生成结果全部软删除。
         if (task.canRetry()) {
             task.retry();
-            taskRepository.save(task);
+            writeTransition(task, TaskStatus.FAILED);
         } else {
             log.warn("Task cannot be retried: {} (max retries exceeded)", task.getId());
             throw new IllegalStateException("Task cannot be retried: max retries exceeded");
@@ -137,6 +146,13 @@ public class TaskService {
         return taskRepository.findTimeoutTasks(TaskStatus.RUNNING, timeoutThreshold);
     }
 
+    /**
+     * 清除任务的延后认领时间，使其立即可被认领
+     */
+    public void expediteClaim(TaskId taskId) {
+        taskRepository.deferClaim(taskId, null);
+    }
+
     /**
      * 查找可重试的失败任务
      */
@@ -205,27 +221,37 @@ public class TaskService {
         List<Task> timeoutTasks = findTimeoutTasks();
         for (Task task : timeoutTasks) {
             if (task.isTimeout()) {
+                TaskStatus previousStatus = task.getStatus();
                 task.fail("Task timeout");
-                taskRepository.save(task);
+                writeTransition(task, previousStatus);
                 log.warn("Task {} timed out and marked as failed", task.getId());
             }
         }
     }
 
     /**
-     * 获取所有任务
+     * 按可选的状态、类型条件分页获取任务
      */
     @Transactional(readOnly = true)
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    public Page<Task> getTasks(TaskStatus status, TaskType taskType, Pageable pageable) {
+        return taskRepository.findPage(status, taskType, pageable);
     }
 
     /**
-     * 根据任务类型获取任务
+     * 按可选的状态、类型条件逐个导出全部任务
+     * 按ID游标分页读取，每页在独立的短事务中读完即归还连接，写出速度由客户端决定时不长期占用数据库连接
      */
-    @Transactional(readOnly = true)
-    public List<Task> getTasksByType(TaskType taskType) {
-        return taskRepository.findByTaskType(taskType);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void exportTasks(TaskStatus status, TaskType taskType, Consumer<Task> consumer) {
+        Long afterId = null;
+        List<Task> page;
+        do {
+            page = taskRepository.findPageAfterId(status, taskType, afterId, EXPORT_PAGE_SIZE);
+            page.forEach(consumer);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId().getValue();
+            }
+        } while (page.size() == EXPORT_PAGE_SIZE);
     }
 
     /**
@@ -243,4 +269,13 @@ public class TaskService {
     public boolean existsByTaskName(String taskName) {
         return taskRepository.existsByTaskName(taskName);
     }
-}
\ No newline at end of file
+
+    /**
+     * 以条件更新写入状态迁移，任务已被其他写入方修改时抛出乐观锁异常
+     */
+    private void writeTransition(Task task, TaskStatus expectedStatus) {
+        if (!taskRepository.transition(task, expectedStatus)) {
+            throw new OptimisticLockingFailureException("任务状态已被修改: " + task.getId());
+        }
+    }
+}
@@ -1,11 +1,15 @@
 package com.contractreview.reviewengine.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * 异步处理配置
@@ -14,16 +18,44 @@ import java.util.concurrent.Executor;
 @EnableAsync
 public class AsyncConfiguration {
     
+    /**
+     * 阶段泳道执行器
+     * 每个泳道工作线程常驻运行，执行器为每个工作线程新建一个线程，线程数即各阶段并发之和，不与其他线程池争用；
+     * 开启虚拟线程后工作线程为虚拟线程，并发由阶段并发上限和下游服务信号量约束
+     */
+    @Bean("stageLaneExecutor")
+    public Executor stageLaneExecutor(@Value("${contract.review.dispatcher.virtual-threads.enabled:false}") boolean virtualThreads) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(virtualThreads ? "StageLane-vt-" : "StageLane-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setTaskTerminationTimeout(60_000);
+        return executor;
+    }
+
+    /**
+     * AI模型调用执行器：模型路由（含对冲请求）与分片审查共用
+     * 与阶段泳道使用同一虚拟线程开关，关闭时为按需创建的平台线程；线程数不设上限，实际并发由AI模型调用许可与舱壁约束
+     */
+    @Bean(name = "modelCallExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService modelCallExecutor(@Value("${contract.review.dispatcher.virtual-threads.enabled:false}") boolean virtualThreads) {
+        return virtualThreads
+            ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ModelCall-vt-", 0).factory())
+            : Executors.newCachedThreadPool(Thread.ofPlatform().name("ModelCall-", 0).daemon(true).factory());
+    }
+
     /**
      * 审查任务执行器
      */
     @Bean("reviewTaskExecutor")
-    public Executor reviewTaskExecutor() {
+    public Executor reviewTaskExecutor(@Value("${contract.review.dispatcher.pool.core-size:5}") int corePoolSize,
+                                       @Value("${contract.review.dispatcher.pool.max-size:20}") int maxPoolSize,
+                                       @Value("${contract.review.dispatcher.pool.queue-capacity:100}") int queueCapacity) {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(20);
-        executor.setQueueCapacity(100);
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
         executor.setThreadNamePrefix("ReviewTask-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
         executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
         executor.initialize();
         return executor;
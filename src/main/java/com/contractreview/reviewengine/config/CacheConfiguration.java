@@ -1,13 +1,19 @@
 package com.contractreview.reviewengine.config;
 
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.CacheManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -27,29 +33,64 @@ import java.util.Map;
 public class CacheConfiguration {
 
     /**
-     * 配置缓存管理器
+     * 配置缓存管理器：本地Caffeine近缓存 + Redis
      */
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        // 默认缓存配置 - 10分钟
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory redisConnectionFactory,
+                                             StringRedisTemplate stringRedisTemplate,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${contract.review.cache.local-max-size:1000}") long localMaxSize,
+                                             @Value("${contract.review.cache.local-ttl-seconds:60}") long localTtlSeconds) {
+        // 默认缓存配置 - 10分钟；本地近缓存使用同一序列化保存副本
+        GenericJackson2JsonRedisSerializer valueSerializer = redisValueSerializer();
         RedisCacheConfiguration defaultCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
             .entryTtl(Duration.ofMinutes(10))
             .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-            .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()))
+            .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer))
             .disableCachingNullValues();
 
         // 特定缓存配置
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        Map<String, TwoLevelCacheManager.LocalCacheSpec> localSpecs = new HashMap<>();
 
-        // 风险分布缓存 - 5分钟
+        // 风险分布缓存 - Redis 5分钟，本地1分钟
         cacheConfigurations.put("riskDistribution", defaultCacheConfig.entryTtl(Duration.ofMinutes(5)));
+        localSpecs.put("riskDistribution", new TwoLevelCacheManager.LocalCacheSpec(10, Duration.ofMinutes(1)));
 
-        // 风险趋势缓存 - 5分钟
+        // 风险趋势缓存 - Redis 5分钟，本地1分钟
         cacheConfigurations.put("riskTrend", defaultCacheConfig.entryTtl(Duration.ofMinutes(5)));
+        localSpecs.put("riskTrend", new TwoLevelCacheManager.LocalCacheSpec(10, Duration.ofMinutes(1)));
 
-        return RedisCacheManager.builder(redisConnectionFactory)
+        // 报告详情缓存 - Redis 24小时，本地10分钟；审查结果保存时按键失效
+        cacheConfigurations.put("reportDetail", defaultCacheConfig.entryTtl(Duration.ofHours(24)));
+        localSpecs.put("reportDetail", new TwoLevelCacheManager.LocalCacheSpec(200, Duration.ofMinutes(10)));
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
             .cacheDefaults(defaultCacheConfig)
             .withInitialCacheConfigurations(cacheConfigurations)
             .build();
+        return new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate, meterRegistry, valueSerializer, localSpecs,
+            new TwoLevelCacheManager.LocalCacheSpec(localMaxSize, Duration.ofSeconds(localTtlSeconds)));
+    }
+
+    /**
+     * 缓存值序列化：在默认的带类型信息JSON基础上支持 java.time 类型
+     */
+    private static GenericJackson2JsonRedisSerializer redisValueSerializer() {
+        return new GenericJackson2JsonRedisSerializer().configure(objectMapper -> objectMapper
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+    }
+
+    /**
+     * 订阅本地缓存失效广播
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                            TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        return container;
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,9 @@
 package com.contractreview.reviewengine.config;
 
+import com.contractreview.reviewengine.domain.repository.ContractTaskListRepository;
 import com.contractreview.reviewengine.infrastructure.executor.ContractReviewAggregatorProcessor;
+import com.contractreview.reviewengine.infrastructure.executor.StageTaskDispatcher;
+import com.contractreview.reviewengine.infrastructure.executor.TaskLeaseManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -26,6 +29,9 @@ import java.util.concurrent.Executor;
 public class ContractReviewScheduler {
 
     private final ContractReviewAggregatorProcessor contractReviewAggregatorProcessor;
+    private final TaskLeaseManager taskLeaseManager;
+    private final StageTaskDispatcher stageTaskDispatcher;
+    private final ContractTaskListRepository contractTaskListRepository;
 
     /**
      * 主任务处理定时任务
@@ -42,19 +48,73 @@ public class ContractReviewScheduler {
     }
 
     /**
-     * 重试任务定时任务 TODO
-     * 30秒检查重试频率，处理可重试的失败任务
+     * 重试任务定时任务
+     * 30秒检查重试频率，按任务重试策略退避后重置可重试的失败任务
      */
     @Scheduled(fixedDelayString = "${contract.review.scheduler.retry-delay:30000}")
     public void retryFailedTasks() {
         try {
-            log.debug("重试检查未实现！开始执行重试任务检查");
-//            contractReviewAggregatorProcessor.retryFailedTasks();
+            log.debug("开始执行重试任务检查");
+            contractReviewAggregatorProcessor.retryFailedTasks();
         } catch (Exception e) {
             log.error("重试任务处理失败", e);
         }
     }
 
+    /**
+     * 过期租约回收定时任务
+     * 回收崩溃或失联实例持有的任务租约
+     */
+    @Scheduled(fixedDelayString = "${contract.review.scheduler.lease-reaper-delay:60000}")
+    public void reapExpiredLeases() {
+        try {
+            taskLeaseManager.reapExpiredLeases();
+        } catch (Exception e) {
+            log.error("过期租约回收失败", e);
+        }
+    }
+
+    /**
+     * 租约续期定时任务
+     * 续期流水线中排队和执行中任务的租约，泳道排队等待不受租约时长限制
+     */
+    @Scheduled(fixedDelayString = "${contract.review.scheduler.lease-renewal-delay:300000}")
+    public void renewLeases() {
+        try {
+            stageTaskDispatcher.renewLeases();
+        } catch (Exception e) {
+            log.error("任务租约续期失败", e);
+        }
+    }
+
+    /**
+     * 调度优先级老化定时任务
+     * 按等待时长提升未被认领任务的优先级，防止低优先级任务饥饿
+     */
+    @Scheduled(fixedDelayString = "${contract.review.scheduler.priority-aging-delay:60000}")
+    public void agePriorities() {
+        try {
+            contractReviewAggregatorProcessor.agePriorities();
+        } catch (Exception e) {
+            log.error("调度优先级老化失败", e);
+        }
+    }
+
+    /**
+     * 看板统计刷新定时任务
+     * 重建任务列表看板读取的统计汇总，看板数据最多滞后一个刷新间隔
+     */
+    @Scheduled(fixedDelayString = "${contract.review.scheduler.statistics-refresh-delay:60000}")
+    public void refreshStatistics() {
+        try {
+            if (!contractTaskListRepository.refreshStatistics()) {
+                log.debug("其他实例正在刷新看板统计，跳过本次刷新");
+            }
+        } catch (Exception e) {
+            log.error("看板统计刷新失败", e);
+        }
+    }
+
     /**
      * 定时任务线程池配置
      */
@@ -0,0 +1,128 @@
+package com.contractreview.reviewengine.config;
+
+import com.contractreview.reviewengine.domain.enums.ExecutionStage;
+import com.contractreview.reviewengine.infrastructure.messaging.StageQueues;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 阶段消息驱动配置
+ * 声明阶段交换机、队列（主队列/延迟重试队列/死信队列）以及各阶段的监听容器
+ *
+ * @author SaltyFish
+ */
+@Configuration
+@ConditionalOnProperty(name = "contract.review.messaging.enabled", havingValue = "true")
+public class StageMessagingConfiguration {
+
+    private static final List<ExecutionStage> STAGES = List.of(
+        ExecutionStage.CLAUSE_EXTRACTION, ExecutionStage.MODEL_REVIEW, ExecutionStage.REPORT_GENERATION);
+
+    /**
+     * JSON消息转换器，复用应用的ObjectMapper以支持Java时间类型
+     */
+    @Bean
+    public MessageConverter stageMessageConverter(ObjectMapper objectMapper) {
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(objectMapper);
+        converter.setAlwaysConvertToInferredType(true);
+        return converter;
+    }
+
+    /**
+     * 交换机、队列与绑定
+     * 主队列拒绝的消息进入死信队列；重试队列无消费者，消息过期后回到主队列
+     */
+    @Bean
+    public Declarables stageQueueDeclarables() {
+        DirectExchange stageExchange = new DirectExchange(StageQueues.STAGE_EXCHANGE);
+        DirectExchange retryExchange = new DirectExchange(StageQueues.RETRY_EXCHANGE);
+        DirectExchange deadLetterExchange = new DirectExchange(StageQueues.DEAD_LETTER_EXCHANGE);
+
+        List<Declarable> declarables = new ArrayList<>(List.of(stageExchange, retryExchange, deadLetterExchange));
+        for (ExecutionStage stage : STAGES) {
+            String routingKey = StageQueues.routingKey(stage);
+
+            Queue queue = QueueBuilder.durable(StageQueues.queue(stage))
+                .deadLetterExchange(StageQueues.DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey(routingKey)
+                .build();
+            Queue retryQueue = QueueBuilder.durable(StageQueues.retryQueue(stage))
+                .deadLetterExchange(StageQueues.STAGE_EXCHANGE)
+                .deadLetterRoutingKey(routingKey)
+                .build();
+            Queue deadLetterQueue = QueueBuilder.durable(StageQueues.deadLetterQueue(stage)).build();
+
+            declarables.add(queue);
+            declarables.add(retryQueue);
+            declarables.add(deadLetterQueue);
+            declarables.add(BindingBuilder.bind(queue).to(stageExchange).with(routingKey));
+            declarables.add(BindingBuilder.bind(retryQueue).to(retryExchange).with(routingKey));
+            declarables.add(BindingBuilder.bind(deadLetterQueue).to(deadLetterExchange).with(routingKey));
+        }
+        return new Declarables(declarables);
+    }
+
+    /**
+     * 条款抽取监听容器：单条处理快，预取较多
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory clauseExtractionListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            @Value("${contract.review.messaging.clause-extraction-prefetch:10}") int prefetch,
+            @Value("${contract.review.dispatcher.clause-extraction-concurrency:4}") int concurrency) {
+        return stageListenerFactory(configurer, connectionFactory, prefetch, concurrency);
+    }
+
+    /**
+     * 模型审查监听容器：单条处理耗时长，预取为1避免消息积压在单个消费者
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory modelReviewListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            @Value("${contract.review.messaging.model-review-prefetch:1}") int prefetch,
+            @Value("${contract.review.dispatcher.model-review-concurrency:4}") int concurrency) {
+        return stageListenerFactory(configurer, connectionFactory, prefetch, concurrency);
+    }
+
+    /**
+     * 报告生成监听容器
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory reportGenerationListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            @Value("${contract.review.messaging.report-generation-prefetch:5}") int prefetch,
+            @Value("${contract.review.dispatcher.report-generation-concurrency:2}") int concurrency) {
+        return stageListenerFactory(configurer, connectionFactory, prefetch, concurrency);
+    }
+
+    private SimpleRabbitListenerContainerFactory stageListenerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                      ConnectionFactory connectionFactory,
+                                                                      int prefetch, int concurrency) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        factory.setPrefetchCount(prefetch);
+        factory.setConcurrentConsumers(concurrency);
+        factory.setMaxConcurrentConsumers(concurrency);
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
+}
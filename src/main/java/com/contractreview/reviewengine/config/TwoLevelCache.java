@@ -0,0 +1,203 @@
+package com.contractreview.reviewengine.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.Callable;
+import java.util.function.BiConsumer;
+
+/**
+ * 两级缓存：本地Caffeine（L1）在前，Redis（L2）在后
+ * 读取先查本地，未命中再查Redis并回填本地；写入和失效同时作用于两级，并通过回调广播给其他实例失效其本地副本。
+ * 本地键统一转为字符串，便于按广播的键失效；本地保存的是与Redis相同序列化格式的字节，每次读取反序列化出独立副本，
+ * 调用方修改返回对象不会影响缓存内容。按加载器读取时同一键的并发未命中只执行一次加载
+ *
+ * @author SaltyFish
+ */
+class TwoLevelCache implements Cache {
+
+    private final String name;
+    private final Cache redisCache;
+    private final com.github.benmanes.caffeine.cache.Cache<String, byte[]> localCache;
+    private final RedisSerializer<Object> valueSerializer;
+    private final BiConsumer<String, String> invalidationPublisher;
+
+    private final Counter redisHits;
+    private final Counter redisMisses;
+    private final Counter redisEvictions;
+
+    TwoLevelCache(String name,
+                  Cache redisCache,
+                  com.github.benmanes.caffeine.cache.Cache<String, byte[]> localCache,
+                  RedisSerializer<Object> valueSerializer,
+                  BiConsumer<String, String> invalidationPublisher,
+                  MeterRegistry meterRegistry) {
+        this.name = name;
+        this.redisCache = redisCache;
+        this.localCache = localCache;
+        this.valueSerializer = valueSerializer;
+        this.invalidationPublisher = invalidationPublisher;
+
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, name, "tier", "local");
+        this.redisHits = gets(meterRegistry, name, "hit");
+        this.redisMisses = gets(meterRegistry, name, "miss");
+        this.redisEvictions = Counter.builder("cache.evictions")
+            .description("缓存失效次数")
+            .tags("cache", name, "tier", "redis")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        byte[] local = localCache.getIfPresent(localKey);
+        if (local != null) {
+            return new SimpleValueWrapper(valueSerializer.deserialize(local));
+        }
+
+        ValueWrapper wrapper = redisCache.get(key);
+        if (wrapper == null) {
+            redisMisses.increment();
+            return null;
+        }
+        redisHits.increment();
+        if (wrapper.get() != null) {
+            localCache.put(localKey, valueSerializer.serialize(wrapper.get()));
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("缓存值类型不匹配，期望 " + type.getName() + "，实际: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        // 本地未命中时在Caffeine的按键计算中查Redis并加载，同一键的并发请求等待同一次加载结果
+        byte[] local = localCache.get(localKey, k -> {
+            ValueWrapper wrapper = redisCache.get(key);
+            if (wrapper != null && wrapper.get() != null) {
+                redisHits.increment();
+                return valueSerializer.serialize(wrapper.get());
+            }
+            redisMisses.increment();
+
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            if (value == null) {
+                return null;
+            }
+            redisCache.put(key, value);
+            invalidationPublisher.accept(name, k);
+            return valueSerializer.serialize(value);
+        });
+        return local == null ? null : (T) valueSerializer.deserialize(local);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        redisCache.put(key, value);
+        String localKey = localKey(key);
+        if (value == null) {
+            localCache.invalidate(localKey);
+        } else {
+            localCache.put(localKey, valueSerializer.serialize(value));
+        }
+        invalidationPublisher.accept(name, localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = redisCache.putIfAbsent(key, value);
+        String localKey = localKey(key);
+        if (existing == null) {
+            if (value != null) {
+                localCache.put(localKey, valueSerializer.serialize(value));
+            }
+            invalidationPublisher.accept(name, localKey);
+        } else if (existing.get() != null) {
+            localCache.put(localKey, valueSerializer.serialize(existing.get()));
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        redisCache.evict(key);
+        redisEvictions.increment();
+        String localKey = localKey(key);
+        localCache.invalidate(localKey);
+        invalidationPublisher.accept(name, localKey);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = redisCache.evictIfPresent(key);
+        if (present) {
+            redisEvictions.increment();
+        }
+        String localKey = localKey(key);
+        localCache.invalidate(localKey);
+        invalidationPublisher.accept(name, localKey);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        redisCache.clear();
+        redisEvictions.increment();
+        localCache.invalidateAll();
+        invalidationPublisher.accept(name, null);
+    }
+
+    /**
+     * 仅失效本实例的本地副本，处理其他实例的广播
+     *
+     * @param localKey 本地键，为空时清空整个本地缓存
+     */
+    void invalidateLocal(String localKey) {
+        if (localKey == null) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(localKey);
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+    private static Counter gets(MeterRegistry meterRegistry, String cacheName, String result) {
+        return Counter.builder("cache.gets")
+            .description("缓存查询次数")
+            .tags("cache", cacheName, "tier", "redis", "result", result)
+            .register(meterRegistry);
+    }
+}
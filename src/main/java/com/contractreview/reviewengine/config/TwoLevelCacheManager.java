@@ -0,0 +1,127 @@
+package com.contractreview.reviewengine.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 两级缓存管理器
+ * 每个缓存由本地Caffeine近缓存和RedisCacheManager中的同名缓存组成；
+ * 写入或失效后通过Redis发布订阅广播，其他实例收到后只失效本地副本，数据仍以Redis为准
+ *
+ * @author SaltyFish
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    /**
+     * 本地缓存失效广播频道
+     */
+    public static final String INVALIDATION_CHANNEL = "contract-review:cache:invalidation";
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 本地缓存规格：最大条目数与写入后过期时间，过期时间应不超过对应的Redis TTL
+     */
+    public record LocalCacheSpec(long maximumSize, Duration ttl) {
+    }
+
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final RedisSerializer<Object> valueSerializer;
+    private final Map<String, LocalCacheSpec> localSpecs;
+    private final LocalCacheSpec defaultLocalSpec;
+
+    /**
+     * 实例标识，忽略自己发出的广播
+     */
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager,
+                                StringRedisTemplate stringRedisTemplate,
+                                MeterRegistry meterRegistry,
+                                RedisSerializer<Object> valueSerializer,
+                                Map<String, LocalCacheSpec> localSpecs,
+                                LocalCacheSpec defaultLocalSpec) {
+        this.redisCacheManager = redisCacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.valueSerializer = valueSerializer;
+        this.localSpecs = Map.copyOf(localSpecs);
+        this.defaultLocalSpec = defaultLocalSpec;
+        // 未托管给容器的RedisCacheManager需手动初始化，否则预置缓存的TTL不生效
+        this.redisCacheManager.initializeCaches();
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache redisCache = redisCacheManager.getCache(name);
+        if (redisCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, n -> createCache(n, redisCache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * 处理其他实例的失效广播，消息格式：实例标识|缓存名[|键]
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length < 2 || instanceId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.invalidateLocal(parts.length == 3 ? parts[2] : null);
+            log.debug("收到缓存失效广播，缓存: {}，键: {}", parts[1], parts.length == 3 ? parts[2] : "*");
+        }
+    }
+
+    private TwoLevelCache createCache(String name, Cache redisCache) {
+        LocalCacheSpec spec = localSpecs.getOrDefault(name, defaultLocalSpec);
+        com.github.benmanes.caffeine.cache.Cache<String, byte[]> localCache = Caffeine.newBuilder()
+            .maximumSize(spec.maximumSize())
+            .expireAfterWrite(spec.ttl())
+            .recordStats()
+            .build();
+        return new TwoLevelCache(name, redisCache, localCache, valueSerializer, this::publishInvalidation, meterRegistry);
+    }
+
+    private void publishInvalidation(String cacheName, String localKey) {
+        String message = instanceId + SEPARATOR + cacheName + (localKey == null ? "" : SEPARATOR + localKey);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (Exception e) {
+            // 广播失败时其他实例的本地副本最迟在本地TTL到期后更新
+            log.warn("发布缓存失效广播失败，缓存: {}，错误: {}", cacheName, e.getMessage());
+        }
+    }
+}
@@ -10,18 +10,24 @@ import lombok.Getter;
 @Getter
 public enum TaskType {
     
-    CONTRACT_REVIEW("合同审查", "合同内容的自动化审查任务"),
-    CLAUSE_EXTRACTION("条款提取", "从合同中提取特定条款"),
-    RISK_ANALYSIS("风险分析", "合同风险分析任务"),
-    COMPLIANCE_CHECK("合规检查", "合同合规性检查任务"),
-    CLASSIFICATION("分类识别", "识别合同分类"),
-    IMMEDIATE_REVIEW("即时审查", "立即执行的合同审查任务");
+    CONTRACT_REVIEW("合同审查", "合同内容的自动化审查任务", 0),
+    CLAUSE_EXTRACTION("条款提取", "从合同中提取特定条款", 0),
+    RISK_ANALYSIS("风险分析", "合同风险分析任务", 0),
+    COMPLIANCE_CHECK("合规检查", "合同合规性检查任务", 0),
+    CLASSIFICATION("分类识别", "识别合同分类", 0),
+    IMMEDIATE_REVIEW("即时审查", "立即执行的合同审查任务", 10);
     
     private final String displayName;
     private final String description;
+
+    /**
+     * 调度优先级加权，叠加在配置优先级（1-10）之上；即时审查整体排在批量任务之前
+     */
+    private final int priorityWeight;
     
-    TaskType(String displayName, String description) {
+    TaskType(String displayName, String description, int priorityWeight) {
         this.displayName = displayName;
         this.description = description;
+        this.priorityWeight = priorityWeight;
     }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.contractreview.reviewengine.domain.event;
+
+import com.contractreview.reviewengine.domain.enums.ExecutionStage;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 任务阶段就绪事件
+ * 任务进入新的执行阶段后产生，由仓储在保存成功后发布
+ *
+ * @author SaltyFish
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStageReadyEvent {
+
+    /**
+     * 任务ID，新建任务在保存前为空
+     */
+    private Long taskId;
+
+    /**
+     * 就绪的执行阶段
+     */
+    private ExecutionStage stage;
+
+    /**
+     * 事件发生时间
+     */
+    private LocalDateTime occurredTime;
+
+    /**
+     * 补全任务ID
+     */
+    public TaskStageReadyEvent withTaskId(Long taskId) {
+        return new TaskStageReadyEvent(taskId, this.stage, this.occurredTime);
+    }
+}
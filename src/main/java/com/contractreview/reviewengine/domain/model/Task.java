@@ -1,6 +1,7 @@
 package com.contractreview.reviewengine.domain.model;
 
 import com.contractreview.reviewengine.domain.enums.ExecutionStage;
+import com.contractreview.reviewengine.domain.event.TaskStageReadyEvent;
 import com.contractreview.reviewengine.domain.enums.TaskStatus;
 import com.contractreview.reviewengine.domain.enums.TaskType;
 import com.contractreview.reviewengine.domain.valueobject.AuditInfo;
@@ -14,6 +15,8 @@ import lombok.Setter;
 import lombok.ToString;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 任务聚合根 - 纯领域实体
@@ -39,6 +42,13 @@ public class Task {
     private LocalDateTime completedAt;
     private AuditInfo auditInfo;
 
+    /**
+     * 待发布的阶段就绪事件，任务保存后由仓储发布
+     */
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final List<TaskStageReadyEvent> stageReadyEvents = new ArrayList<>();
+
     /**
      * 创建新任务
      */
@@ -168,6 +178,11 @@ public class Task {
         this.completedAt = null;
         this.errorMessage = null;
         updateAuditInfo();
+        // 重置后重新进入当前阶段，启用消息驱动时由保存后发布的就绪事件触发
+        if (this.currentStage != null) {
+            this.stageReadyEvents.add(new TaskStageReadyEvent(
+                this.id != null ? this.id.getValue() : null, this.currentStage, LocalDateTime.now()));
+        }
     }
 
     /**
@@ -196,6 +211,15 @@ public class Task {
                this.configuration.getRetryPolicy().getMaxRetries();
     }
 
+    /**
+     * 调度基础优先级：配置优先级加任务类型加权，数值越大越先认领
+     */
+    public int getSchedulingPriority() {
+        int configured = this.configuration != null && this.configuration.getPriority() != null
+            ? this.configuration.getPriority() : 0;
+        return configured + (this.taskType != null ? this.taskType.getPriorityWeight() : 0);
+    }
+
     /**
      * 检查是否超时
      */
@@ -281,6 +305,27 @@ public class Task {
 
         this.currentStage = stage;
         reset();
+        this.stageReadyEvents.add(new TaskStageReadyEvent(
+            this.id != null ? this.id.getValue() : null, stage, LocalDateTime.now()));
+    }
+
+    /**
+     * 取出并清空待发布的阶段就绪事件
+     */
+    public List<TaskStageReadyEvent> pullStageReadyEvents() {
+        List<TaskStageReadyEvent> events = List.copyOf(this.stageReadyEvents);
+        this.stageReadyEvents.clear();
+        return events;
+    }
+
+    /**
+     * 持久化后同步乐观锁版本号，保证同一实例可以连续保存
+     */
+    public void syncVersion(Long objectVersionNumber) {
+        if (this.auditInfo != null && objectVersionNumber != null) {
+            this.auditInfo = new AuditInfo(auditInfo.getCreatedBy(), auditInfo.getCreatedTime(),
+                auditInfo.getUpdatedBy(), auditInfo.getUpdatedTime(), objectVersionNumber);
+        }
     }
 
     /**
@@ -2,10 +2,12 @@ package com.contractreview.reviewengine.domain.repository;
 
 import com.contractreview.reviewengine.domain.enums.ReviewType;
 import com.contractreview.reviewengine.domain.enums.TaskStatus;
+import com.contractreview.reviewengine.domain.valueobject.TaskListCursor;
 import com.contractreview.reviewengine.interfaces.rest.dto.ContractTaskListItemDto;
 import com.contractreview.reviewengine.interfaces.rest.dto.TaskListQueryRequestDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.time.LocalDateTime;
 import java.util.Map;
@@ -26,14 +28,32 @@ public interface ContractTaskListRepository {
      */
     Page<ContractTaskListItemDto> findTaskList(TaskListQueryRequestDto queryRequest, Pageable pageable);
 
+    /**
+     * 按 (创建时间, 任务ID) 游标查询下一批任务，用于无限滚动
+     *
+     * @param queryRequest 查询参数
+     * @param cursor 上一批最后一条任务的游标，为空时从最新任务开始
+     * @param size 批大小
+     * @return 任务切片
+     */
+    Slice<ContractTaskListItemDto> findTaskListAfter(TaskListQueryRequestDto queryRequest, TaskListCursor cursor, int size);
+
     /**
      * 统计总任务数
+     * 无过滤条件且数据量较大时返回基于表统计信息的估算值，其余情况返回短时缓存的精确值
      *
      * @param queryRequest 查询参数
      * @return 总任务数
      */
     long countTotalTasks(TaskListQueryRequestDto queryRequest);
 
+    /**
+     * 统计全部合同任务数（读取统计汇总，不含过滤条件）
+     *
+     * @return 合同任务总数
+     */
+    long countAllTasks();
+
     /**
      * 统计已完成任务数
      *
@@ -68,4 +88,11 @@ public interface ContractTaskListRepository {
      * @return 本月相对上月有风险任务的变化百分比（正数为增长，负数为下降）
      */
     Integer calculateRiskTrend();
-}
\ No newline at end of file
+
+    /**
+     * 刷新看板统计汇总，其他实例正在刷新时跳过
+     *
+     * @return 是否执行了刷新
+     */
+    boolean refreshStatistics();
+}
@@ -0,0 +1,24 @@
+package com.contractreview.reviewengine.domain.repository;
+
+import com.contractreview.reviewengine.domain.model.TaskId;
+import com.contractreview.reviewengine.domain.valueobject.ReportSnapshot;
+
+import java.util.Optional;
+
+/**
+ * 报告快照仓储接口
+ *
+ * @author SaltyFish
+ */
+public interface ReportSnapshotRepository {
+
+    /**
+     * 保存报告快照，同一任务已有快照时覆盖
+     */
+    void save(ReportSnapshot snapshot);
+
+    /**
+     * 根据任务ID查找报告快照
+     */
+    Optional<ReportSnapshot> findByTaskId(TaskId taskId);
+}
@@ -73,6 +73,16 @@ public interface ReviewResultRepository {
      */
     Optional<ReviewResult> findByTaskId(TaskId taskId);
 
+    /**
+     * 根据任务ID查找结果ID
+     */
+    Optional<Long> findIdByTaskId(TaskId taskId);
+
+    /**
+     * 根据ID查找结果，规则结果随结果一次查询加载
+     */
+    Optional<ReviewResult> findWithRuleResultsById(ReviewResultId id);
+
     /**
      * 根据合同ID查找结果
      */
@@ -117,4 +127,9 @@ public interface ReviewResultRepository {
      * 根据合同ID分页查询审查结果
      */
     Page<ReviewResult> findByContractId(Long contractId, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * 按关键词检索审查结果的摘要与阶段结果，按相关度排序分页
+     */
+    Page<ReviewResult> searchByText(String keyword, Pageable pageable);
+}
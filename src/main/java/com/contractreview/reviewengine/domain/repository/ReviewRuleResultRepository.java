@@ -152,4 +152,9 @@ public interface ReviewRuleResultRepository {
      * 根据审查结果ID删除所有规则结果
      */
     void deleteAllByReviewResultId(ReviewResultId reviewResultId);
-}
\ No newline at end of file
+
+    /**
+     * 按关键词检索规则结果的原文与摘要，按相关度排序分页
+     */
+    Page<ReviewRuleResultEntity> searchByText(String keyword, Pageable pageable);
+}
@@ -9,8 +9,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -24,6 +27,28 @@ public interface TaskRepository {
      */
     Task save(Task task);
 
+    /**
+     * 按乐观锁版本批量更新已存在任务的可变字段，不先查询也不回读实体
+     *
+     * @return 成功更新的任务；版本号已过期（被其他写入方修改）的任务被跳过
+     */
+    List<Task> updateAll(Collection<Task> tasks);
+
+    /**
+     * 按乐观锁版本批量写入任务的状态迁移（状态、阶段、错误信息、起止时间），不读取也不重写configuration
+     *
+     * @return 成功更新的任务；版本号已过期的任务被跳过
+     */
+    List<Task> transitionAll(Collection<Task> tasks);
+
+    /**
+     * 写入单个任务的状态迁移：仅当数据库中的状态仍为 expectedStatus 且版本号未变化时更新，不读取也不重写configuration
+     *
+     * @param expectedStatus 迁移前的状态
+     * @return 条件不满足（已被其他写入方修改）时返回false
+     */
+    boolean transition(Task task, TaskStatus expectedStatus);
+
     /**
      * 根据ID查找任务
      */
@@ -59,6 +84,18 @@ public interface TaskRepository {
      */
     Page<Task> findByStatusOrderByCreatedTimeDesc(TaskStatus status, Pageable pageable);
 
+    /**
+     * 按可选的状态、类型条件分页查询任务，条件为空时不过滤
+     */
+    Page<Task> findPage(TaskStatus status, TaskType taskType, Pageable pageable);
+
+    /**
+     * 按可选的状态、类型条件读取ID大于游标的一页任务，按ID升序
+     *
+     * @param afterId 上一页最后一个任务的ID，为空时从头读取
+     */
+    List<Task> findPageAfterId(TaskStatus status, TaskType taskType, Long afterId, int limit);
+
     /**
      * 统计各状态任务数量
      */
@@ -99,6 +136,56 @@ public interface TaskRepository {
      */
     List<Task> findNonFinalStageTasks();
 
+    /**
+     * 认领一批处于指定阶段的待处理/运行中任务，并为其写入租约
+     *
+     * @param tenantLimit     每个租户（创建人）最多认领的任务数
+     * @param tenantRoom      部分租户本次最多认领的任务数（如泳道中剩余的排队名额），优先于 tenantLimit
+     * @param excludedTenants 不参与本次认领的租户
+     */
+    List<Task> claimTasks(Collection<ExecutionStage> stages, String leaseOwner, int limit, int tenantLimit,
+                          Map<Long, Integer> tenantRoom, Collection<Long> excludedTenants, Duration leaseDuration);
+
+    /**
+     * 认领处于指定阶段的单个任务，任务已被其他持有者占用时返回空
+     */
+    Optional<Task> claimTask(TaskId taskId, ExecutionStage stage, String leaseOwner, Duration leaseDuration);
+
+    /**
+     * 释放任务租约
+     */
+    void releaseLease(TaskId taskId, String leaseOwner);
+
+    /**
+     * 延后任务的下次认领时间，到期前认领语句跳过该任务；状态或阶段变化时自动清除
+     *
+     * @param notBefore 最早可认领时间，为空时立即可认领
+     */
+    void deferClaim(TaskId taskId, LocalDateTime notBefore);
+
+    /**
+     * 续期指定持有者的任务租约
+     *
+     * @return 续期的任务数
+     */
+    int renewLeases(Collection<TaskId> taskIds, String leaseOwner, Duration leaseDuration);
+
+    /**
+     * 回收过期租约
+     *
+     * @return 回收的任务数
+     */
+    int releaseExpiredLeases();
+
+    /**
+     * 按等待时长提升等待中任务的有效调度优先级，防止低优先级任务饥饿
+     *
+     * @param step        每提升一级所需的等待时长
+     * @param maxPriority 老化可达到的最高优先级
+     * @return 被提升的任务数
+     */
+    int agePriorities(Duration step, int maxPriority);
+
     /**
      * 查找可重试的失败任务
      */
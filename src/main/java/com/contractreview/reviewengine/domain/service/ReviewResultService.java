@@ -146,6 +146,22 @@ public class ReviewResultService {
         return reviewResultRepository.findByTaskId(taskId);
     }
 
+    /**
+     * 根据任务ID获取审查结果ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> getReviewResultIdByTaskId(TaskId taskId) {
+        return reviewResultRepository.findIdByTaskId(taskId);
+    }
+
+    /**
+     * 根据ID获取审查结果及其规则结果
+     */
+    @Transactional(readOnly = true)
+    public Optional<ReviewResult> getReviewResultWithRuleResults(ReviewResultId reviewResultId) {
+        return reviewResultRepository.findWithRuleResultsById(reviewResultId);
+    }
+
     /**
      * 根据合同ID获取所有审查结果
      */
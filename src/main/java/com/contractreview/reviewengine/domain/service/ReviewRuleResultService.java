@@ -8,6 +8,8 @@ import com.contractreview.reviewengine.domain.model.ReviewResultId;
 import com.contractreview.reviewengine.domain.repository.ReviewRuleResultRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -189,6 +191,14 @@ public class ReviewRuleResultService {
         return reviewRuleResultRepository.findByOriginContractTextContaining(searchText);
     }
 
+    /**
+     * 按关键词检索规则结果的原文与摘要，按相关度排序分页
+     */
+    @Transactional(readOnly = true)
+    public Page<ReviewRuleResultEntity> searchRuleResults(String keyword, Pageable pageable) {
+        return reviewRuleResultRepository.searchByText(keyword, pageable);
+    }
+
     /**
      * 获取各风险等级的统计信息
      */
@@ -10,6 +10,7 @@ import com.contractreview.reviewengine.domain.valueobject.TaskConfiguration;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -48,8 +49,9 @@ public class TaskManagementService {
      */
     public void startTask(TaskId taskId) {
         Task task = getTaskById(taskId);
+        TaskStatus previousStatus = task.getStatus();
         task.start();
-        taskRepository.save(task);
+        writeTransition(task, previousStatus);
 
         log.info("Started task: {}", taskId);
     }
@@ -59,8 +61,9 @@ public class TaskManagementService {
      */
     public void completeTask(TaskId taskId) {
         Task task = getTaskById(taskId);
+        TaskStatus previousStatus = task.getStatus();
         task.complete();
-        taskRepository.save(task);
+        writeTransition(task, previousStatus);
 
         log.info("Completed task: {}", taskId);
     }
@@ -70,8 +73,9 @@ public class TaskManagementService {
      */
     public void failTask(TaskId taskId, String errorMessage) {
         Task task = getTaskById(taskId);
+        TaskStatus previousStatus = task.getStatus();
         task.fail(errorMessage);
-        taskRepository.save(task);
+        writeTransition(task, previousStatus);
 
         log.warn("Task failed: {} - {}", taskId, errorMessage);
     }
@@ -81,8 +85,9 @@ public class TaskManagementService {
      */
     public void cancelTask(TaskId taskId) {
         Task task = getTaskById(taskId);
+        TaskStatus previousStatus = task.getStatus();
         task.cancel();
-        taskRepository.save(task);
+        writeTransition(task, previousStatus);
 
         log.info("Cancelled task: {}", taskId);
     }
@@ -95,7 +100,7 @@ public class TaskManagementService {
 
         if (task.canRetry()) {
             task.retry();
-            taskRepository.save(task);
+            writeTransition(task, TaskStatus.FAILED);
             log.info("Retrying task: {} (attempt {})", taskId, task.getConfiguration().getRetryPolicy().getRetryCount());
         } else {
             log.warn("Task cannot be retried: {} (max retries exceeded)", taskId);
@@ -186,4 +191,13 @@ public class TaskManagementService {
         taskRepository.save(task);
         log.info("Updated task configuration for task: {}", taskId);
     }
-}
\ No newline at end of file
+
+    /**
+     * 以条件更新写入状态迁移，任务已被其他写入方修改时抛出乐观锁异常
+     */
+    private void writeTransition(Task task, TaskStatus expectedStatus) {
+        if (!taskRepository.transition(task, expectedStatus)) {
+            throw new OptimisticLockingFailureException("任务状态已被修改: " + task.getId());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.contractreview.reviewengine.domain.valueobject;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 报告快照值对象
+ * 报告生成阶段渲染好的报告详情JSON及其内容哈希，哈希同时作为HTTP ETag
+ *
+ * @author SaltyFish
+ */
+@Getter
+public class ReportSnapshot {
+
+    private final Long taskId;
+
+    private final Long reviewResultId;
+
+    private final String content;
+
+    private final String contentHash;
+
+    private final LocalDateTime createdTime;
+
+    public ReportSnapshot(Long taskId, Long reviewResultId, String content, String contentHash, LocalDateTime createdTime) {
+        if (taskId == null || content == null || contentHash == null) {
+            throw new IllegalArgumentException("报告快照的任务ID、内容和内容哈希不能为空");
+        }
+        this.taskId = taskId;
+        this.reviewResultId = reviewResultId;
+        this.content = content;
+        this.contentHash = contentHash;
+        this.createdTime = createdTime;
+    }
+}
@@ -88,6 +88,18 @@ public class RetryPolicy {
                 .build();
     }
     
+    /**
+     * 记录一次重试并计算下次重试时间
+     *
+     * @return 距下次重试的等待间隔（毫秒）
+     */
+    public long scheduleNextRetry() {
+        this.retryCount = (this.retryCount == null ? 0 : this.retryCount) + 1;
+        long interval = calculateRetryInterval(this.retryCount);
+        this.nextRetryTime = LocalDateTime.now().plusNanos(interval * 1_000_000L);
+        return interval;
+    }
+
     /**
      * 计算下一次重试间隔
      */
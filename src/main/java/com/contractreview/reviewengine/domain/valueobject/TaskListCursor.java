@@ -0,0 +1,51 @@
+package com.contractreview.reviewengine.domain.valueobject;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 任务列表游标值对象
+ * 记录上一批最后一条任务的 (创建时间, 任务ID)，按该组合键向后翻页，翻页开销与页码无关
+ *
+ * @author SaltyFish
+ */
+@Getter
+public class TaskListCursor {
+
+    private final LocalDateTime createdTime;
+
+    private final Long taskId;
+
+    public TaskListCursor(LocalDateTime createdTime, Long taskId) {
+        if (createdTime == null || taskId == null) {
+            throw new IllegalArgumentException("游标的创建时间和任务ID不能为空");
+        }
+        this.createdTime = createdTime;
+        this.taskId = taskId;
+    }
+
+    /**
+     * 编码为对外传递的不透明字符串
+     */
+    public String encode() {
+        String raw = createdTime + "|" + taskId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析前端回传的游标
+     */
+    public static TaskListCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new TaskListCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("无效的分页游标: " + cursor, e);
+        }
+    }
+}
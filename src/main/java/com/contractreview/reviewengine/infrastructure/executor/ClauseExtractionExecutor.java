@@ -4,16 +4,22 @@ import com.contract.common.dto.TriggerClauseExtractionResponse;
 import com.contract.common.feign.ClauseExtractionFeignClient;
 import com.contractreview.reviewengine.domain.enums.ExecutionStage;
 import com.contractreview.reviewengine.domain.enums.TaskStatus;
+import com.contractreview.reviewengine.domain.event.TaskStageReadyEvent;
 import com.contractreview.reviewengine.domain.model.ContractReview;
 import com.contractreview.reviewengine.domain.model.Task;
 import com.contractreview.reviewengine.domain.repository.TaskRepository;
+import com.contractreview.reviewengine.infrastructure.external.DownstreamCallLimiter;
+import com.contractreview.reviewengine.infrastructure.external.DownstreamCallLimiter.Downstream;
+import com.contractreview.reviewengine.infrastructure.messaging.StageEventPublisher;
 import com.contractreview.reviewengine.infrastructure.service.ContractTaskInfraService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -25,20 +31,28 @@ import java.util.List;
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class ClauseExtractionExecutor {
+public class ClauseExtractionExecutor implements StageTaskExecutor {
 
+    private final TaskUnitOfWorkFactory taskUnitOfWorkFactory;
     private final TaskRepository taskRepository;
     private final ClauseExtractionFeignClient clauseExtractionFeignClient;
     private final ContractTaskInfraService contractTaskInfraService;
-    private ContractReview contractTask;
+    private final DownstreamCallLimiter downstreamCallLimiter;
+    private final ClauseExtractionTracker clauseExtractionTracker;
+    private final ObjectProvider<StageEventPublisher> stageEventPublisher;
 
     @Value("${ruoyi.remote-auth.secret:}")
     private String secret;
 
+    @Override
+    public ExecutionStage getStage() {
+        return ExecutionStage.CLAUSE_EXTRACTION;
+    }
+
     /**
      * 批量处理条款抽取任务
      */
-    @Transactional
+    @Override
     public void processBatch(List<Task> tasks) {
         if (tasks.isEmpty()) {
             return;
@@ -49,57 +63,94 @@ public class ClauseExtractionExecutor {
         int successCount = 0;
         int failureCount = 0;
 
+        TaskUnitOfWork unitOfWork = taskUnitOfWorkFactory.begin();
         for (Task task : tasks) {
-            try {
-                processSingleTask(task);
+            if (processTask(task, unitOfWork)) {
                 successCount++;
-                log.debug("任务 {} 条款抽取触发/检查成功", task.getId());
-
-            } catch (Exception e) {
-                handleTaskExecutionFailure(task, e);
+            } else {
                 failureCount++;
-                log.error("任务 {} 条款抽取触发/检查失败: {}", task.getId(), e.getMessage(), e);
             }
         }
+        unitOfWork.commit();
 
         log.info("条款抽取批次处理完成，成功 {} 个，失败 {} 个", successCount, failureCount);
     }
 
+    /**
+     * 处理单个条款抽取任务，处理结束后单独提交
+     */
+    @Override
+    public boolean processTask(Task task) {
+        TaskUnitOfWork unitOfWork = taskUnitOfWorkFactory.begin();
+        boolean success = processTask(task, unitOfWork);
+        unitOfWork.commit();
+        return success;
+    }
+
+    /**
+     * 在工作单元内处理单个条款抽取任务，可由分发器在工作线程中并行调用；任务状态由工作单元统一写库
+     */
+    @Override
+    public boolean processTask(Task task, TaskUnitOfWork unitOfWork) {
+        unitOfWork.track(task);
+        try {
+            processSingleTask(task, unitOfWork);
+            log.debug("任务 {} 条款抽取触发/检查成功", task.getId());
+            return true;
+
+        } catch (Exception e) {
+            handleTaskExecutionFailure(task, e);
+            log.error("任务 {} 条款抽取触发/检查失败: {}", task.getId(), e.getMessage(), e);
+            return false;
+        } finally {
+            unitOfWork.complete(task);
+        }
+    }
+
     /**
      * 处理单个条款抽取任务
+     * 未到下次查询时间的任务在认领时即被跳过，这里到达的任务都需要查询抽取状态
      */
-    private void processSingleTask(Task task) {
+    private void processSingleTask(Task task, TaskUnitOfWork unitOfWork) {
         log.debug("开始执行任务 {} 的条款抽取", task.getId());
 
         try {
-            contractTask = contractTaskInfraService.findContractTaskByTaskId(task.getId());
+            ContractReview contractTask = contractTaskInfraService.findContractTaskByTaskId(task.getId());
 
             // 执行条款抽取逻辑
-            TriggerClauseExtractionResponse result = performClauseExtraction(task);
+            TriggerClauseExtractionResponse result = performClauseExtraction(task, contractTask, unitOfWork);
+            if (result == null) {
+                return;
+            }
             String extractionStatus = result.getExtractionStatus();
 
             if (extractionStatus.equals(TaskStatus.COMPLETED.name())) {
+                clauseExtractionTracker.clear(task.getId());
                 // 更新到下一阶段
                 task.updateCurrentStage(ExecutionStage.MODEL_REVIEW);
 
                 log.info("任务 {} 条款抽取阶段完成，已推进到模型审查阶段", task.getId());
             } else if (extractionStatus.equals(TaskStatus.FAILED.name()) ||  extractionStatus.equals(TaskStatus.CANCELLED.name())) {
+                clauseExtractionTracker.clear(task.getId());
                 task.fail(result.getErrorMessage());
+            } else {
+                long delayMillis = clauseExtractionTracker.recordPoll(task.getId(), extractionStatus);
+                schedulePoll(task, delayMillis);
             }
         } catch (Exception e) {
             // 程序执行失败，标记任务为失败状态以触发重试
             task.fail("条款抽取程序执行失败: " + e.getMessage());
             throw e; // 重新抛出异常，让上层处理
-        } finally {
-            taskRepository.save(task);
         }
     }
 
     /**
      * 执行具体的条款抽取逻辑
-     *
+     * 首次调用触发抽取；之后同一接口返回进行中的状态。连续多轮未结束时删除抽取结果并强制重新触发，
+     * 触发次数用尽后将任务标记为失败并返回null
      */
-    private TriggerClauseExtractionResponse performClauseExtraction(Task task) {
+    private TriggerClauseExtractionResponse performClauseExtraction(Task task, ContractReview contractTask,
+                                                                    TaskUnitOfWork unitOfWork) {
         try {
             // 获取合同信息
             Long contractId = contractTask.getContractId();
@@ -108,16 +159,34 @@ public class ClauseExtractionExecutor {
             }
 
             if (task.getStatus().equals(TaskStatus.PENDING)) {
-                // 启动任务
-                task.start();
+                // 启动任务并立即写库，抽取完成回调据此判断任务是否在执行中
+                unitOfWork.start(task);
                 // 调用外部服务进行条款抽取
                 log.debug("调用条款抽取服务处理合同 {}", contractId);
             }
 
-            TriggerClauseExtractionResponse extractionResult = clauseExtractionFeignClient.triggerClauseExtraction(contractId, secret);
+            boolean tracked = clauseExtractionTracker.isTracked(task.getId());
+            boolean retrigger = tracked && clauseExtractionTracker.shouldRetrigger(task.getId());
+            if (retrigger) {
+                if (clauseExtractionTracker.isTriggerBudgetExhausted(task.getId())) {
+                    log.error("合同 {} 条款抽取多轮触发后仍未结束，任务 {} 标记为失败", contractId, task.getId());
+                    clauseExtractionTracker.clear(task.getId());
+                    task.fail("条款抽取多轮触发后仍未结束");
+                    return null;
+                }
+                log.warn("合同 {} 条款抽取长时间未结束，删除后强制重新触发", contractId);
+                downstreamCallLimiter.call(Downstream.CLAUSE_EXTRACTION,
+                    () -> clauseExtractionFeignClient.deleteClauseExtraction(contractId));
+            }
+
+            TriggerClauseExtractionResponse extractionResult = downstreamCallLimiter.call(Downstream.CLAUSE_EXTRACTION,
+                () -> clauseExtractionFeignClient.triggerClauseExtraction(contractId, secret));
+
+            if (!tracked || retrigger) {
+                clauseExtractionTracker.recordTrigger(task.getId(), contractId, extractionResult.getExtractionStatus());
+            }
 
             log.debug("合同 {} 条款抽取状态为: {}，抽取到 {} 个条款", contractId, extractionResult.getExtractionStatus(), extractionResult.getExtractedClauseNumber());
-            // TODO 现在的逻辑是有抽取任务进行中就不重新触发，后续可以加redis来加上次数标记，一定轮次后强制重试或者并日志报错。
             return extractionResult;
         } catch (Exception e) {
             log.error("条款抽取失败: {}", e.getMessage(), e);
@@ -125,6 +194,19 @@ public class ClauseExtractionExecutor {
         }
     }
 
+    /**
+     * 将任务的下次认领时间延后一个退避间隔，到期前轮询和消息都不会认领该任务；
+     * 启用消息驱动时同时投递到期的延迟消息，未启用时由轮询在到期后处理
+     */
+    private void schedulePoll(Task task, long delayMillis) {
+        taskRepository.deferClaim(task.getId(), LocalDateTime.now().plus(Duration.ofMillis(delayMillis)));
+        StageEventPublisher publisher = stageEventPublisher.getIfAvailable();
+        if (publisher != null) {
+            publisher.publishDelayed(new TaskStageReadyEvent(task.getId().getValue(), getStage(), LocalDateTime.now()),
+                delayMillis, 0);
+        }
+    }
+
     /**
      * 处理程序执行失败（需要重试的情况）
      * 区别于业务结果不通过（不需要重试）
@@ -135,11 +217,10 @@ public class ClauseExtractionExecutor {
         try {
             // 任务状态设为FAILED，触发重试机制
             task.fail("程序执行失败: " + e.getMessage());
-            taskRepository.save(task);
 
-        } catch (Exception saveException) {
-            log.error("保存任务失败状态时发生异常: {}", saveException.getMessage());
-            // 如果保存失败，记录日志但不抛出异常，避免影响其他任务处理
+        } catch (Exception failException) {
+            log.error("标记任务失败状态时发生异常: {}", failException.getMessage());
+            // 记录日志但不抛出异常，避免影响其他任务处理
         }
     }
 
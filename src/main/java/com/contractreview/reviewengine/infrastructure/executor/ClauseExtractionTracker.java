@@ -0,0 +1,142 @@
+package com.contractreview.reviewengine.infrastructure.executor;
+
+import com.contractreview.reviewengine.domain.model.TaskId;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 条款抽取进度跟踪器
+ * 在Redis中记录每个任务的抽取句柄（合同ID）、最近状态、轮询次数和触发次数，
+ * 按指数退避计算下次查询间隔，由执行器写入任务的延后认领时间，避免每轮都向条款抽取服务发起请求
+ *
+ * @author SaltyFish
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClauseExtractionTracker {
+
+    private static final String KEY_PREFIX = "contract-review:clause-extraction:";
+    private static final String CONTRACT_ID = "contractId";
+    private static final String STATUS = "status";
+    private static final String POLLS = "polls";
+    private static final String TRIGGERS = "triggers";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${contract.review.clause-extraction.initial-poll-interval-millis:5000}")
+    private long initialPollIntervalMillis;
+
+    @Value("${contract.review.clause-extraction.max-poll-interval-millis:300000}")
+    private long maxPollIntervalMillis;
+
+    @Value("${contract.review.clause-extraction.max-polls-per-trigger:12}")
+    private int maxPollsPerTrigger;
+
+    @Value("${contract.review.clause-extraction.max-triggers:3}")
+    private int maxTriggers;
+
+    @Value("${contract.review.clause-extraction.tracking-ttl-hours:24}")
+    private long trackingTtlHours;
+
+    /**
+     * 记录一次触发（首次触发或强制重新触发），清零轮询次数
+     */
+    public void recordTrigger(TaskId taskId, Long contractId, String status) {
+        String key = key(taskId);
+        try {
+            stringRedisTemplate.opsForHash().increment(key, TRIGGERS, 1);
+            stringRedisTemplate.opsForHash().putAll(key, Map.of(
+                CONTRACT_ID, String.valueOf(contractId),
+                STATUS, String.valueOf(status),
+                POLLS, "0"));
+            stringRedisTemplate.expire(key, Duration.ofHours(trackingTtlHours));
+        } catch (Exception e) {
+            log.warn("记录任务 {} 条款抽取触发失败: {}", taskId, e.getMessage());
+        }
+    }
+
+    /**
+     * 记录一次未完成的状态查询，并按指数退避计算下次查询时间
+     *
+     * @return 距下次查询的间隔（毫秒）
+     */
+    public long recordPoll(TaskId taskId, String status) {
+        String key = key(taskId);
+        try {
+            long polls = stringRedisTemplate.opsForHash().increment(key, POLLS, 1);
+            long delay = backoff(polls);
+            stringRedisTemplate.opsForHash().put(key, STATUS, String.valueOf(status));
+            stringRedisTemplate.expire(key, Duration.ofHours(trackingTtlHours));
+            return delay;
+        } catch (Exception e) {
+            log.warn("记录任务 {} 条款抽取轮询失败: {}", taskId, e.getMessage());
+            return initialPollIntervalMillis;
+        }
+    }
+
+    /**
+     * 本次触发后的轮询次数是否已达上限，需要强制重新触发
+     */
+    public boolean shouldRetrigger(TaskId taskId) {
+        return counter(taskId, POLLS) >= maxPollsPerTrigger;
+    }
+
+    /**
+     * 触发次数是否已用尽（含首次触发）
+     */
+    public boolean isTriggerBudgetExhausted(TaskId taskId) {
+        return counter(taskId, TRIGGERS) >= maxTriggers;
+    }
+
+    /**
+     * 是否已有跟踪记录（已触发过抽取）
+     */
+    public boolean isTracked(TaskId taskId) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.hasKey(key(taskId)));
+        } catch (Exception e) {
+            log.warn("读取任务 {} 条款抽取跟踪记录失败: {}", taskId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 清除跟踪记录
+     */
+    public void clear(TaskId taskId) {
+        try {
+            stringRedisTemplate.delete(key(taskId));
+        } catch (Exception e) {
+            log.warn("清除任务 {} 条款抽取跟踪记录失败: {}", taskId, e.getMessage());
+        }
+    }
+
+    /**
+     * 第n次轮询后的等待间隔：初始间隔按2的幂增长，不超过最大间隔
+     */
+    long backoff(long polls) {
+        long exponent = Math.min(Math.max(polls - 1, 0), 20);
+        return Math.min(initialPollIntervalMillis << exponent, maxPollIntervalMillis);
+    }
+
+    private long counter(TaskId taskId, String field) {
+        try {
+            Object value = stringRedisTemplate.opsForHash().get(key(taskId), field);
+            return value == null ? 0 : Long.parseLong(value.toString());
+        } catch (Exception e) {
+            log.warn("读取任务 {} 条款抽取计数失败: {}", taskId, e.getMessage());
+            return 0;
+        }
+    }
+
+    private static String key(TaskId taskId) {
+        return KEY_PREFIX + taskId.getValue();
+    }
+}
@@ -4,12 +4,16 @@ import com.contractreview.reviewengine.domain.enums.ExecutionStage;
 import com.contractreview.reviewengine.domain.enums.TaskStatus;
 import com.contractreview.reviewengine.domain.model.Task;
 import com.contractreview.reviewengine.domain.repository.TaskRepository;
+import com.contractreview.reviewengine.domain.valueobject.RetryPolicy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -26,27 +30,45 @@ import java.util.stream.Collectors;
 public class ContractReviewAggregatorProcessor {
 
     private final TaskRepository taskRepository;
-    private final ClauseExtractionExecutor clauseExtractionExecutor;
-    private final ModelReviewExecutor modelReviewExecutor;
-    private final ReportGenerationExecutor reportGenerationExecutor;
+    private final StageTaskDispatcher stageTaskDispatcher;
+    private final TaskLeaseManager taskLeaseManager;
+
+    /**
+     * 等待多久提升一级有效优先级
+     */
+    @Value("${contract.review.scheduling.aging-step-seconds:300}")
+    private long agingStepSeconds;
+
+    /**
+     * 老化可达到的最高优先级，默认低于即时审查的任务类型加权，批量任务老化后仍排在即时审查之后
+     */
+    @Value("${contract.review.scheduling.aging-max-priority:9}")
+    private int agingMaxPriority;
 
     /**
      * 按阶段批量处理任务
+     * 不在外层开启事务：认领语句在独立短事务中提交，之后由租约而不是行锁保证任务归属
      */
-    @Transactional
     public void processTasksByStage() {
         try {
-            log.debug("开始获取非最终状态任务进行聚合处理");
-
-            // 查询所有非最终状态的任务
-            List<Task> nonFinalTasks = taskRepository.findNonFinalStageTasks();
+            log.debug("开始认领非最终状态任务进行聚合处理");
+
+            // 按各阶段泳道的空闲容量认领任务，其他实例会跳过已被锁定或租约未过期的任务；泳道积压时少认领或不认领，
+            // 每个租户单次认领数不超过其在泳道中的剩余排队名额，排队已满或token预算耗尽的租户本轮跳过
+            List<Task> nonFinalTasks = new ArrayList<>();
+            stageTaskDispatcher.intake().forEach((stage, intake) -> {
+                if (intake.capacity() > 0) {
+                    nonFinalTasks.addAll(taskLeaseManager.claim(List.of(stage), intake.capacity(),
+                        intake.tenantLimit(), intake.tenantRoom(), intake.excludedTenants()));
+                }
+            });
 
             if (nonFinalTasks.isEmpty()) {
                 log.debug("当前没有待处理的任务");
                 return;
             }
 
-            log.info("获取到 {} 个非最终状态任务，开始按阶段聚合处理", nonFinalTasks.size());
+            log.info("认领到 {} 个非最终状态任务，开始按阶段聚合处理", nonFinalTasks.size());
 
             // 按阶段聚合任务
             Map<ExecutionStage, List<Task>> tasksByStage = nonFinalTasks.stream()
@@ -70,49 +92,30 @@ public class ContractReviewAggregatorProcessor {
 
     /**
      * 批量处理各阶段任务
+     * 任务投入各阶段泳道后立即返回，完成当前阶段的任务由流水线直接移交下一阶段
      */
     private void processBatchTasks(Map<ExecutionStage, List<Task>> tasksByStage) {
-        for (Map.Entry<ExecutionStage, List<Task>> entry : tasksByStage.entrySet()) {
-            ExecutionStage stage = entry.getKey();
-            List<Task> tasks = entry.getValue();
-
-            if (tasks.isEmpty()) {
-                continue;
-            }
-
-            try {
-                log.info("开始处理阶段 {} 的 {} 个任务", stage.getDisplayName(), tasks.size());
-
-                switch (stage) {
-                    case CLAUSE_EXTRACTION:
-                        clauseExtractionExecutor.processBatch(tasks);
-                        break;
-                    case MODEL_REVIEW:
-                        modelReviewExecutor.processBatch(tasks);
-                        break;
-                    case REPORT_GENERATION:
-                        reportGenerationExecutor.processBatch(tasks);
-                        break;
-                    case CONTRACT_CLASSIFICATION:
-                    case KNOWLEDGE_MATCHING:
-                    case RESULT_VALIDATION:
-                    case REVIEW_COMPLETED:
-                        log.debug("阶段 {} 暂未实现，跳过处理", stage.getDisplayName());
-                        break;
-                }
-
-                log.info("阶段 {} 处理完成", stage.getDisplayName());
+        try {
+            stageTaskDispatcher.dispatch(tasksByStage);
+        } catch (Exception e) {
+            log.error("阶段任务分发时发生错误: {}", e.getMessage(), e);
+        }
+    }
 
-            } catch (Exception e) {
-                log.error("处理阶段 {} 时发生错误: {}", stage.getDisplayName(), e.getMessage(), e);
-                // 阶段处理异常，记录但不中断其他阶段
-            }
+    /**
+     * 老化等待中任务的调度优先级
+     * 认领按有效优先级排序，批量导入的低优先级任务每等待一个步长提升一级，不会被持续到来的高优先级任务饿死
+     */
+    public void agePriorities() {
+        int aged = taskRepository.agePriorities(Duration.ofSeconds(agingStepSeconds), agingMaxPriority);
+        if (aged > 0) {
+            log.debug("提升 {} 个等待中任务的调度优先级", aged);
         }
     }
 
     /**
      * 重试执行失败的任务
-     * 重试条件：程序执行失败（异常、网络错误等），而不是业务结果不通过
+     * 重试条件：程序执行失败（异常、网络错误等），而不是业务结果不通过；失败后按重试策略的间隔退避，到期后重置为待处理并计入重试次数
      */
     @Transactional
     public void retryFailedTasks() {
@@ -141,13 +144,29 @@ public class ContractReviewAggregatorProcessor {
                         continue;
                     }
 
-                    // 执行重试逻辑
-                    task.retry(); // 重置为PENDING状态
+                    RetryPolicy retryPolicy = task.getConfiguration() != null ? task.getConfiguration().getRetryPolicy() : null;
+                    if (retryPolicy != null && retryPolicy.getNextRetryTime() == null) {
+                        // 首次检查到失败：按重试策略计算退避时间，到期后再重置
+                        long interval = retryPolicy.calculateRetryInterval(retryPolicy.getRetryCount() + 1);
+                        retryPolicy.setNextRetryTime(LocalDateTime.now().plusNanos(interval * 1_000_000L));
+                        taskRepository.save(task);
+                        continue;
+                    }
+                    if (retryPolicy != null && retryPolicy.getNextRetryTime().isAfter(LocalDateTime.now())) {
+                        continue;
+                    }
+
+                    // 执行重试逻辑：重置为PENDING状态，保存后发布当前阶段的就绪事件
+                    task.retry();
+                    if (retryPolicy != null) {
+                        retryPolicy.setRetryCount(retryPolicy.getRetryCount() + 1);
+                        retryPolicy.setNextRetryTime(null);
+                    }
                     taskRepository.save(task);
 
                     successRetryCount++;
                     log.info("任务 {} 已重置为重试状态，第 {} 次重试",
-                        task.getId(), task.getConfiguration().getRetryPolicy().getRetryCount() + 1);
+                        task.getId(), retryPolicy != null ? retryPolicy.getRetryCount() : 1);
 
                 } catch (Exception e) {
                     log.error("任务 {} 重试失败: {}", task.getId(), e.getMessage(), e);
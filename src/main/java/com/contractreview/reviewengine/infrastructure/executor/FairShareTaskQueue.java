@@ -0,0 +1,389 @@
+package com.contractreview.reviewengine.infrastructure.executor;
+
+import com.contractreview.reviewengine.domain.enums.ExecutionStage;
+import com.contractreview.reviewengine.domain.model.Task;
+import com.contractreview.reviewengine.domain.valueobject.TaskConfiguration;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
+
+/**
+ * 按租户公平分享的有界任务队列
+ * 每个租户一个子队列，出队按差额轮询（DRR）在有待处理任务的租户之间轮转：轮到的租户获得 quantum 个额度，每出队一个任务消耗一个额度，
+ * 额度用完后排到队尾；执行中任务数达到租户并发上限的租户在其他租户有可出队任务时本轮跳过，没有其他租户等待时上限不生效。
+ * 任务配置了并发数（{@link TaskConfiguration#getConcurrency()}）时，该任务只在泳道执行中任务数低于其并发数时出队，
+ * 执行期间泳道执行中任务数不超过其并发数；队首任务受此限制的租户本轮跳过。
+ * 未通过准入条件（如token预算耗尽）的租户不再出队，其排队任务由 {@link #evictInadmissible()} 移出交还租约，不长期占用队列容量。
+ * 总容量和单租户排队上限共同限制内存占用，单个租户排满后不再占用其他租户的位置。
+ * 租户级排队数与等待时间指标在租户首个任务入队时注册，子队列清空时移除，指标基数不超过有排队任务的租户数
+ *
+ * @author SaltyFish
+ */
+class FairShareTaskQueue {
+
+    private record Entry(Task task, long enqueuedNanos) {
+    }
+
+    private static final class TenantQueue {
+        private final ArrayDeque<Entry> tasks = new ArrayDeque<>();
+        private int deficit;
+        private int running;
+        private volatile int depth;
+        private Gauge depthGauge;
+        private Timer waitTimer;
+    }
+
+    private final ExecutionStage stage;
+
+    private final int capacity;
+    private final int tenantQueueLimit;
+    private final int tenantConcurrency;
+    private final int quantum;
+    private final LongPredicate admission;
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final Map<Long, TenantQueue> tenants = new HashMap<>();
+
+    /**
+     * 有排队任务的租户，按轮询顺序排列
+     */
+    private final ArrayDeque<Long> activeTenants = new ArrayDeque<>();
+    private int size;
+
+    /**
+     * 泳道执行中任务数，以及其中配置了并发数的任务的并发数
+     */
+    private int running;
+    private final Map<Task, Integer> runningTaskCaps = new IdentityHashMap<>();
+
+    private final Timer waitTimer;
+
+    FairShareTaskQueue(ExecutionStage stage, int capacity, int tenantQueueLimit, int tenantConcurrency, int quantum,
+                       LongPredicate admission, MeterRegistry meterRegistry) {
+        this.stage = stage;
+        this.capacity = Math.max(1, capacity);
+        this.tenantQueueLimit = tenantQueueLimit > 0 ? Math.min(tenantQueueLimit, this.capacity) : this.capacity;
+        this.tenantConcurrency = tenantConcurrency > 0 ? tenantConcurrency : Integer.MAX_VALUE;
+        this.quantum = Math.max(1, quantum);
+        this.admission = admission;
+        this.meterRegistry = meterRegistry;
+        this.waitTimer = Timer.builder("review.pipeline.queue.wait")
+            .description("任务在阶段泳道中的排队等待时间")
+            .tag("stage", stage.name())
+            .register(meterRegistry);
+        Gauge.builder("review.pipeline.queue.tenants", this, FairShareTaskQueue::activeTenantCount)
+            .description("阶段泳道中有排队任务的租户数")
+            .tag("stage", stage.name())
+            .register(meterRegistry);
+    }
+
+    /**
+     * 立即入队，队列已满或租户排队已达上限时返回false
+     */
+    boolean offer(Task task) {
+        lock.lock();
+        try {
+            return size < capacity && enqueue(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 入队，队列已满时最多等待指定时间；租户排队已达上限时立即返回false
+     */
+    boolean offer(Task task, long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            while (size >= capacity) {
+                if (nanos <= 0) {
+                    return false;
+                }
+                nanos = notFull.awaitNanos(nanos);
+            }
+            return enqueue(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 按差额轮询取出下一个任务，没有可执行的任务时最多等待指定时间
+     * 取出的任务计入租户执行中任务数，处理结束后必须调用 {@link #done(Task)}
+     */
+    Task poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lockInterruptibly();
+        try {
+            Entry entry;
+            while ((entry = next()) == null) {
+                if (nanos <= 0) {
+                    return null;
+                }
+                nanos = available.awaitNanos(nanos);
+            }
+            size--;
+            notFull.signal();
+            return entry.task();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 任务处理结束，释放泳道和租户并发名额
+     */
+    void done(Task task) {
+        lock.lock();
+        try {
+            running = Math.max(0, running - 1);
+            runningTaskCaps.remove(task);
+            long tenant = TenantFairShare.tenantOf(task);
+            TenantQueue queue = tenants.get(tenant);
+            if (queue == null) {
+                return;
+            }
+            queue.running = Math.max(0, queue.running - 1);
+            if (queue.running == 0 && queue.tasks.isEmpty()) {
+                tenants.remove(tenant);
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 移出未通过准入条件的租户的全部排队任务，调用方释放其租约，由认领入口在准入恢复后重新认领
+     */
+    List<Task> evictInadmissible() {
+        lock.lock();
+        try {
+            List<Task> evicted = new ArrayList<>();
+            for (Iterator<Long> it = activeTenants.iterator(); it.hasNext(); ) {
+                Long tenant = it.next();
+                if (admission.test(tenant)) {
+                    continue;
+                }
+                TenantQueue queue = tenants.get(tenant);
+                queue.tasks.forEach(entry -> evicted.add(entry.task()));
+                size -= queue.tasks.size();
+                queue.tasks.clear();
+                queue.deficit = 0;
+                removeMeters(queue);
+                if (queue.running == 0) {
+                    tenants.remove(tenant);
+                }
+                it.remove();
+            }
+            if (!evicted.isEmpty()) {
+                notFull.signalAll();
+            }
+            return evicted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 取出全部排队任务，停止时释放其租约
+     */
+    List<Task> drain() {
+        lock.lock();
+        try {
+            List<Task> drained = new ArrayList<>(size);
+            for (TenantQueue queue : tenants.values()) {
+                queue.tasks.forEach(entry -> drained.add(entry.task()));
+                queue.tasks.clear();
+                removeMeters(queue);
+            }
+            activeTenants.clear();
+            size = 0;
+            notFull.signalAll();
+            return drained;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    int activeTenantCount() {
+        lock.lock();
+        try {
+            return activeTenants.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int remainingCapacity() {
+        lock.lock();
+        try {
+            return capacity - size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 单租户排队上限
+     */
+    int tenantQueueLimit() {
+        return tenantQueueLimit;
+    }
+
+    /**
+     * 已有排队任务的租户还能入队的任务数，为0表示排队已达上限；未列出的租户可入队 {@link #tenantQueueLimit()} 个
+     */
+    Map<Long, Integer> tenantRoom() {
+        lock.lock();
+        try {
+            Map<Long, Integer> room = new HashMap<>();
+            tenants.forEach((tenant, queue) -> {
+                if (!queue.tasks.isEmpty()) {
+                    room.put(tenant, Math.max(0, tenantQueueLimit - queue.tasks.size()));
+                }
+            });
+            return room;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean enqueue(Task task) {
+        long tenant = TenantFairShare.tenantOf(task);
+        TenantQueue queue = tenants.computeIfAbsent(tenant, t -> new TenantQueue());
+        if (queue.tasks.size() >= tenantQueueLimit) {
+            return false;
+        }
+        if (queue.tasks.isEmpty()) {
+            activeTenants.addLast(tenant);
+            registerMeters(tenant, queue);
+        }
+        queue.tasks.addLast(new Entry(task, System.nanoTime()));
+        queue.depth = queue.tasks.size();
+        size++;
+        available.signal();
+        return true;
+    }
+
+    /**
+     * 先按租户并发上限出队；其他租户都没有可出队任务时上限不生效，工作线程不因单租户上限空闲
+     */
+    private Entry next() {
+        Entry entry = next(true);
+        return entry != null ? entry : next(false);
+    }
+
+    /**
+     * 差额轮询：队首租户额度不足时补充 quantum，出队一个任务消耗一个额度，额度用完或子队列为空后让出队首
+     */
+    private Entry next(boolean capped) {
+        int rounds = activeTenants.size();
+        for (int i = 0; i < rounds; i++) {
+            Long tenant = activeTenants.peekFirst();
+            TenantQueue queue = tenants.get(tenant);
+            if ((capped && queue.running >= tenantConcurrency) || !admission.test(tenant)
+                || !fitsTaskCaps(queue.tasks.peekFirst().task())) {
+                queue.deficit = 0;
+                activeTenants.addLast(activeTenants.pollFirst());
+                continue;
+            }
+
+            if (queue.deficit <= 0) {
+                queue.deficit += quantum;
+            }
+            Entry entry = queue.tasks.pollFirst();
+            queue.depth = queue.tasks.size();
+            queue.deficit--;
+            queue.running++;
+            running++;
+            int cap = taskCap(entry.task());
+            if (cap > 0) {
+                runningTaskCaps.put(entry.task(), cap);
+            }
+            long waitNanos = System.nanoTime() - entry.enqueuedNanos();
+            waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+            queue.waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+            if (queue.tasks.isEmpty()) {
+                activeTenants.pollFirst();
+                queue.deficit = 0;
+                removeMeters(queue);
+            } else if (queue.deficit <= 0) {
+                activeTenants.addLast(activeTenants.pollFirst());
+            }
+            return entry;
+        }
+        return null;
+    }
+
+    /**
+     * 再执行一个任务后，泳道执行中任务数不超过该任务及所有执行中任务的并发数
+     */
+    private boolean fitsTaskCaps(Task task) {
+        int cap = taskCap(task);
+        if (cap > 0 && running >= cap) {
+            return false;
+        }
+        for (int runningCap : runningTaskCaps.values()) {
+            if (running >= runningCap) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int taskCap(Task task) {
+        TaskConfiguration configuration = task.getConfiguration();
+        return configuration != null && configuration.getConcurrency() != null ? configuration.getConcurrency() : 0;
+    }
+
+    private void registerMeters(long tenant, TenantQueue queue) {
+        queue.depthGauge = Gauge.builder("review.pipeline.tenant.queue.size", queue, q -> q.depth)
+            .description("租户在阶段泳道中排队的任务数")
+            .tags("stage", stage.name(), "tenant", String.valueOf(tenant))
+            .register(meterRegistry);
+        queue.waitTimer = Timer.builder("review.pipeline.tenant.wait")
+            .description("租户任务在阶段泳道中的排队等待时间")
+            .tags("stage", stage.name(), "tenant", String.valueOf(tenant))
+            .register(meterRegistry);
+    }
+
+    private void removeMeters(TenantQueue queue) {
+        queue.depth = 0;
+        if (queue.depthGauge != null) {
+            meterRegistry.remove(queue.depthGauge);
+            meterRegistry.remove(queue.waitTimer);
+            queue.depthGauge = null;
+            queue.waitTimer = null;
+        }
+    }
+}
@@ -3,43 +3,47 @@ package com.contractreview.reviewengine.infrastructure.executor;
 import com.alibaba.nacos.shaded.com.google.common.collect.Lists;
 import com.contract.ai.feign.client.AiClient;
 import com.contract.ai.feign.dto.ChatRequest;
-import com.contract.ai.feign.enums.ModelType;
-import com.contract.ai.feign.enums.PlatFormType;
 import com.contract.common.enums.ReviewTypeDetail;
 import com.contract.common.feign.ClauseFeignClient;
-import com.contract.common.feign.PromptFeignClient;
-import com.contract.common.feign.ReviewRuleFeignClient;
 import com.contract.common.feign.dto.ClauseFeignDTO;
 import com.contract.common.feign.dto.PromptFeignDTO;
-import com.contract.common.feign.dto.PromptPageResultFeignDTO;
-import com.contract.common.feign.dto.PromptQueryFeignDTO;
 import com.contract.common.feign.dto.ReviewRuleFeignDTO;
-import com.contract.common.feign.dto.ReviewRulePageResultFeignDTO;
-import com.contract.common.feign.dto.ReviewRuleQueryFeignDTO;
 import com.contractreview.reviewengine.application.service.ContractReviewService;
 import com.contractreview.reviewengine.domain.enums.ExecutionStage;
+import com.contractreview.reviewengine.domain.enums.PromptTemplateType;
 import com.contractreview.reviewengine.domain.enums.RiskLevel;
 import com.contractreview.reviewengine.domain.enums.TaskStatus;
 import com.contractreview.reviewengine.domain.model.ContractReview;
 import com.contractreview.reviewengine.domain.model.ReviewResult;
 import com.contractreview.reviewengine.domain.model.ReviewRuleResultEntity;
 import com.contractreview.reviewengine.domain.model.Task;
-import com.contractreview.reviewengine.domain.repository.TaskRepository;
 import com.contractreview.reviewengine.domain.valueobject.Evidence;
 import com.contractreview.reviewengine.domain.valueobject.KeyPoint;
 import com.contractreview.reviewengine.domain.valueobject.ReviewConfiguration;
+import com.contractreview.reviewengine.infrastructure.external.DownstreamCallLimiter;
+import com.contractreview.reviewengine.infrastructure.external.DownstreamCallLimiter.Downstream;
+import com.contractreview.reviewengine.infrastructure.external.ModelResponseCache;
+import com.contractreview.reviewengine.infrastructure.external.ModelRouter;
+import com.contractreview.reviewengine.infrastructure.external.ReferenceDataCache;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
 
 /**
  * 模型审查执行器
@@ -50,23 +54,58 @@ import java.util.Map;
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class ModelReviewExecutor {
+public class ModelReviewExecutor implements StageTaskExecutor {
 
-    private final TaskRepository taskRepository;
+    private static final int MAX_TOKENS = 102400;
+
+    private static final String RISK_LEVELS = Arrays.toString(RiskLevel.values());
+    private static final String REVIEW_TYPE_DETAILS = Arrays.toString(ReviewTypeDetail.values());
+    private static final String EVIDENCE_TYPES = Arrays.toString(Evidence.EvidenceType.values());
+
+    /**
+     * 任务自定义设置：为true时跳过模型响应缓存
+     */
+    private static final String LLM_CACHE_BYPASS = "llmCacheBypass";
+
+    private final TaskUnitOfWorkFactory taskUnitOfWorkFactory;
     private final ContractReviewService contractReviewService;
-    private final ReviewRuleFeignClient reviewRuleFeignClient;
     private final ClauseFeignClient clauseFeignClient;
-    private final PromptFeignClient promptFeignClient;
     private final AiClient aiClient;
     private final ObjectMapper objectMapper;
+    private final DownstreamCallLimiter downstreamCallLimiter;
+    private final ModelRouter modelRouter;
+    private final ModelResponseCache modelResponseCache;
+    private final ReferenceDataCache referenceDataCache;
+    private final TenantFairShare tenantFairShare;
+
+    /**
+     * 按提示词内容缓存编译后的模板，提示词更新后内容变化即对应新模板
+     */
+    private final Cache<String, PromptTemplate> promptTemplates = Caffeine.newBuilder().maximumSize(32).build();
+
+    /**
+     * 分片审查执行器（modelCallExecutor），实际并发由AI模型调用许可控制
+     */
+    private final ExecutorService modelCallExecutor;
+
+    @Value("${contract.review.model-review.chunking.enabled:false}")
+    private boolean chunkingEnabled;
+
+    @Value("${contract.review.model-review.chunking.token-budget:24000}")
+    private int chunkTokenBudget;
 
     @Value("${ruoyi.remote-auth.secret:}")
     private String secret;
 
+    @Override
+    public ExecutionStage getStage() {
+        return ExecutionStage.MODEL_REVIEW;
+    }
+
     /**
      * 批量处理模型审查任务
      */
-    @Transactional
+    @Override
     public void processBatch(List<Task> tasks) {
         if (tasks.isEmpty()) {
             return;
@@ -77,27 +116,55 @@ public class ModelReviewExecutor {
         int successCount = 0;
         int failureCount = 0;
 
+        TaskUnitOfWork unitOfWork = taskUnitOfWorkFactory.begin();
         for (Task task : tasks) {
-            try {
-                log.info("准备模型审查");
-                processSingleTask(task);
+            if (processTask(task, unitOfWork)) {
                 successCount++;
-                log.debug("任务 {} 模型审查处理成功", task.getId());
-
-            } catch (Exception e) {
-                handleTaskExecutionFailure(task, e);
+            } else {
                 failureCount++;
-                log.error("任务 {} 模型审查处理失败: {}", task.getId(), e.getMessage(), e);
             }
         }
+        unitOfWork.commit();
 
         log.info("模型审查批次处理完成，成功 {} 个，失败 {} 个", successCount, failureCount);
     }
 
+    /**
+     * 处理单个模型审查任务，处理结束后单独提交
+     */
+    @Override
+    public boolean processTask(Task task) {
+        TaskUnitOfWork unitOfWork = taskUnitOfWorkFactory.begin();
+        boolean success = processTask(task, unitOfWork);
+        unitOfWork.commit();
+        return success;
+    }
+
+    /**
+     * 在工作单元内处理单个模型审查任务，可由分发器在工作线程中并行调用；任务状态由工作单元统一写库
+     */
+    @Override
+    public boolean processTask(Task task, TaskUnitOfWork unitOfWork) {
+        unitOfWork.track(task);
+        try {
+            log.info("准备模型审查");
+            processSingleTask(task, unitOfWork);
+            log.debug("任务 {} 模型审查处理成功", task.getId());
+            return true;
+
+        } catch (Exception e) {
+            handleTaskExecutionFailure(task, e);
+            log.error("任务 {} 模型审查处理失败: {}", task.getId(), e.getMessage(), e);
+            return false;
+        } finally {
+            unitOfWork.complete(task);
+        }
+    }
+
     /**
      * 处理单个模型审查任务
      */
-    private void processSingleTask(Task task) {
+    private void processSingleTask(Task task, TaskUnitOfWork unitOfWork) {
         if (!task.getStatus().equals(TaskStatus.PENDING)) {
             log.info("只执行待处理任务，当前任务：{}, 状态： {}", task.getId(), task.getStatus());
             return;
@@ -110,24 +177,32 @@ public class ModelReviewExecutor {
             return;
         }
 
-        // 启动任务
-        task.start();
-        taskRepository.save(task);
+        // 租户token预算耗尽时保持待处理，窗口结束后重新认领
+        long tenant = TenantFairShare.tenantOf(task);
+        if (!tenantFairShare.hasTokenBudget(tenant)) {
+            log.info("租户 {} 本窗口token预算已用完，任务 {} 暂不执行模型审查", tenant, task.getId());
+            return;
+        }
+
+        // 启动任务，执行期间在库中可见为执行中
+        unitOfWork.start(task);
 
         log.debug("开始执行任务 {} 的模型审查", task.getId());
 
         try {
-            String prompt = arrangePrompt(contractTask);
-            if (null == prompt) {
+            List<String> prompts = arrangePrompts(contractTask);
+            if (null == prompts) {
                 log.error("没有合适的提示词用于模型审查，进行快速失败");
                 throw new RuntimeException("没有合适的提示词用于模型审查");
             }
 
-            // TODO OperationLog 替换日志并降低日志等级
-            log.info("contractTask:{}, 模型审查提示词：{}", contractTask.getId(), prompt);
+            log.debug("contractTask:{}, 模型审查提示词 {} 片，长度: {}", contractTask.getId(), prompts.size(),
+                prompts.stream().map(String::length).toList());
 
             // 执行AI审查
-            ReviewResult reviewResult = performAIReview(task, contractTask, prompt);
+            ReviewResult reviewResult = prompts.size() == 1
+                ? performAIReview(task, contractTask, prompts.get(0))
+                : performChunkedReview(task, contractTask, prompts);
 
             // 保存阶段结果（无论业务结果如何都保存）业务结果可能包含：风险等级、合规问题、通过/不通过等
             saveStageResult(task, contractTask, reviewResult);
@@ -141,39 +216,35 @@ public class ModelReviewExecutor {
             // 程序执行失败，标记任务为失败状态以触发重试
             task.fail("模型审查程序执行失败: " + e.getMessage());
             throw e; // 重新抛出异常，让上层处理
-        } finally {
-            taskRepository.save(task);
         }
     }
 
-    private String arrangePrompt(ContractReview contractTask) {
-        ReviewRuleQueryFeignDTO reviewRuleQueryFeignDTO = getReviewRuleQueryFeignDTO(contractTask);
-        ReviewRulePageResultFeignDTO ruleResult =
-            reviewRuleFeignClient.searchReviewRules(reviewRuleQueryFeignDTO, secret);
-        List<ReviewRuleFeignDTO> rules = ruleResult.getRecords();
+    /**
+     * 组装模型审查提示词；启用分片且条款与规则超出token预算时返回多个分片提示词
+     *
+     * @return 提示词列表，没有可用的系统提示词时返回null
+     */
+    private List<String> arrangePrompts(ContractReview contractTask) {
+        ReviewConfiguration reviewConfiguration = contractTask.getReviewConfiguration();
+        List<ReviewRuleFeignDTO> rules = referenceDataCache.getReviewRules(
+            reviewConfiguration.getContractType(), reviewConfiguration.getPromptTemplate().getCode());
 
         // 获取条款
-        List<ClauseFeignDTO> clauses =
-            clauseFeignClient.getClausesByContractId(contractTask.getContractId(), secret);
+        List<ClauseFeignDTO> clauses = downstreamCallLimiter.call(Downstream.CLAUSE,
+            () -> clauseFeignClient.getClausesByContractId(contractTask.getContractId(), secret));
 
-        PromptQueryFeignDTO queryFeignDTO = new PromptQueryFeignDTO();
         // 合同类型+提示词 即为提示词的模型审查命名规则 并且
-//        queryFeignDTO.setKeyword(reviewConfiguration.getContractType() + "提示词");
+//        referenceDataCache.getSystemPrompts(reviewConfiguration.getContractType() + "提示词");
         // FIXME 测试用
-        queryFeignDTO.setPromptName("其他合同提示词");
-        queryFeignDTO.setEnabled(true);
-        queryFeignDTO.setPromptTypeList(List.of("INNER"));
-        queryFeignDTO.setPageSize(Integer.MAX_VALUE);
-        PromptPageResultFeignDTO systemPrompts = promptFeignClient.searchPrompts(queryFeignDTO, secret);
-        List<PromptFeignDTO> prompts = systemPrompts.getRecords();
+        List<PromptFeignDTO> prompts = referenceDataCache.getSystemPrompts("其他合同提示词");
         if (prompts == null || prompts.size() != 1) {
             log.error("模型审查查询提示词遇到错误");
             return null;
         }
 
         // 根据条款类型聚合条款和规则 TODO 缺少对于规则类型的支持 例如兜底类型需要在没有相关条款提示词的情况下使用
-        Map<String, List<ClauseFeignDTO>> clausesByType = new java.util.HashMap<>();
-        Map<String, List<ReviewRuleFeignDTO>> rulesByType = new java.util.HashMap<>();
+        Map<String, List<ClauseFeignDTO>> clausesByType = new HashMap<>();
+        Map<String, List<ReviewRuleFeignDTO>> rulesByType = new HashMap<>();
 
         // 按条款类型聚合条款
         if (clauses != null && !clauses.isEmpty()) {
@@ -202,8 +273,26 @@ public class ModelReviewExecutor {
 
         // 构建动态提示词
         PromptFeignDTO systemPrompt = prompts.get(0);
-        String promptContent = systemPrompt.getPromptContent();
+        PromptTemplate template = promptTemplates.get(systemPrompt.getPromptContent(), PromptTemplate::compile);
+
+        if (!chunkingEnabled) {
+            return List.of(renderPrompt(template, reviewConfiguration, clausesByType, rulesByType));
+        }
+
+        List<ReviewChunkPlanner.Chunk> chunks = ReviewChunkPlanner.plan(clausesByType, rulesByType, chunkTokenBudget);
+        List<String> chunkPrompts = new ArrayList<>(chunks.size());
+        for (ReviewChunkPlanner.Chunk chunk : chunks) {
+            chunkPrompts.add(renderPrompt(template, reviewConfiguration, chunk.clausesByType(), chunk.rulesByType()));
+        }
+        return chunkPrompts;
+    }
 
+    /**
+     * 按条款类型渲染条款与规则并填充模板
+     */
+    private String renderPrompt(PromptTemplate template, ReviewConfiguration reviewConfiguration,
+                                Map<String, List<ClauseFeignDTO>> clausesByType,
+                                Map<String, List<ReviewRuleFeignDTO>> rulesByType) {
         StringBuilder rulePrompt = new StringBuilder();
         StringBuilder clausePrompt = new StringBuilder();
 
@@ -212,38 +301,36 @@ public class ModelReviewExecutor {
             String clauseType = entry.getKey();
             List<ClauseFeignDTO> typeClauses = entry.getValue();
 
-            clausePrompt.append(String.format("\n【%s条款】(%d条):\n", clauseType, typeClauses.size()));
+            clausePrompt.append("\n【").append(clauseType).append("条款】(").append(typeClauses.size()).append("条):\n");
             for (ClauseFeignDTO clause : typeClauses) {
-                clausePrompt.append(String.format("-id: %s\n%s: %s\n",
-                    clause.getId(),
-                    clause.getClauseTitle() != null ? clause.getClauseTitle() : "无标题",
-                    clause.getClauseContent() != null ? clause.getClauseContent() : "无内容"));
+                clausePrompt.append("-id: ").append(clause.getId()).append('\n')
+                    .append(clause.getClauseTitle() != null ? clause.getClauseTitle() : "无标题").append(": ")
+                    .append(clause.getClauseContent() != null ? clause.getClauseContent() : "无内容").append('\n');
             }
         }
 
         // 按条款类型组织规则信息
         for (Map.Entry<String, List<ReviewRuleFeignDTO>> entry : rulesByType.entrySet()) {
-            String ruleClauseType = entry.getKey();
             List<ReviewRuleFeignDTO> typeRules = entry.getValue();
 
-            rulePrompt.append(String.format("\n【%s规则】(%d条):\n", typeRules.get(0).getRuleTypeDescription(), typeRules.size()));
+            rulePrompt.append("\n【").append(typeRules.get(0).getRuleTypeDescription()).append("规则】(")
+                .append(typeRules.size()).append("条):\n");
             for (ReviewRuleFeignDTO rule : typeRules) {
-                rulePrompt.append(String.format("-id: %s\n%s: %s\n",
-                    rule.getId(),
-                    rule.getRuleName() != null ? rule.getRuleName() : "无名称",
-                    rule.getRuleContent() != null ? rule.getRuleContent() : "无描述"));
+                rulePrompt.append("-id: ").append(rule.getId()).append('\n')
+                    .append(rule.getRuleName() != null ? rule.getRuleName() : "无名称").append(": ")
+                    .append(rule.getRuleContent() != null ? rule.getRuleContent() : "无描述").append('\n');
             }
         }
 
-        promptContent = promptContent.replace("</rules>", rulePrompt.toString());
-        promptContent = promptContent.replace("</clauses>", clausePrompt.toString());
-        promptContent = promptContent.replace("</industry>", contractTask.getReviewConfiguration().getIndustry());
-        promptContent = promptContent.replace("</currency>", contractTask.getReviewConfiguration().getCurrency());
-        promptContent = promptContent.replace("</RiskLevel>", Arrays.toString(RiskLevel.values()));
-        promptContent = promptContent.replace("</ReviewTypeDetail>", Arrays.toString(ReviewTypeDetail.values()));
-        promptContent = promptContent.replace("</EvidenceType>", Arrays.toString(Evidence.EvidenceType.values()));
-
-        return promptContent;
+        Map<String, CharSequence> values = new HashMap<>();
+        values.put(PromptTemplate.RULES, rulePrompt);
+        values.put(PromptTemplate.CLAUSES, clausePrompt);
+        values.put(PromptTemplate.INDUSTRY, reviewConfiguration.getIndustry());
+        values.put(PromptTemplate.CURRENCY, reviewConfiguration.getCurrency());
+        values.put(PromptTemplate.RISK_LEVEL, RISK_LEVELS);
+        values.put(PromptTemplate.REVIEW_TYPE_DETAIL, REVIEW_TYPE_DETAILS);
+        values.put(PromptTemplate.EVIDENCE_TYPE, EVIDENCE_TYPES);
+        return template.render(values);
     }
 
     public static void main(String[] args) {
@@ -296,18 +383,6 @@ public class ModelReviewExecutor {
         }
     }
 
-    private static ReviewRuleQueryFeignDTO getReviewRuleQueryFeignDTO(ContractReview contractTask) {
-        ReviewConfiguration reviewConfiguration = contractTask.getReviewConfiguration();
-        // 审查规则, 根据合同类型、条款类型、模式编码、enable来筛选审查规则
-        ReviewRuleQueryFeignDTO reviewRuleQueryFeignDTO = new ReviewRuleQueryFeignDTO();
-        reviewRuleQueryFeignDTO.setContractType(reviewConfiguration.getContractType());
-        reviewRuleQueryFeignDTO.setClauseType(reviewConfiguration.getContractType());
-        reviewRuleQueryFeignDTO.setEnabled(true);
-        reviewRuleQueryFeignDTO.setPromptModeCodeList(List.of(reviewConfiguration.getPromptTemplate().getCode()));
-        reviewRuleQueryFeignDTO.setPageSize(Integer.MAX_VALUE);
-        return reviewRuleQueryFeignDTO;
-    }
-
     /**
      * 执行AI模型审查
      */
@@ -325,17 +400,37 @@ public class ModelReviewExecutor {
              * 快速 TODO 关闭思考模式，提示词为快速版本提示词，只审查合同条款
              * 质量 TODO 开启思考模式，在报告生成前加一个复检流程
              */
+            PromptTemplateType promptTemplate = contractTask.getReviewConfiguration().getPromptTemplate();
+            // 缓存键使用模板对应的路由组，同组路由返回的结果可以互相复用
+            String cacheKey = ModelResponseCache.key(prompt, modelRouter.routeGroup(promptTemplate),
+                promptTemplate, MAX_TOKENS);
+            ReviewResult cachedResult = reviewFromCache(task, contractTask, cacheKey);
+            if (cachedResult != null) {
+                return cachedResult;
+            }
+
             ChatRequest.Message message = ChatRequest.Message.textMessage("user", prompt);
             ArrayList<ChatRequest.Message> messages = Lists.newArrayList();
             messages.add(message);
 
-            var response = aiClient.chat(ChatRequest.builder()
-                .platform(PlatFormType.IFLOW)
-                .model(ModelType.IFlow_GLM_4_6.getModelCode())
-                .maxTokens(102400)
-                .responseReformat(ChatRequest.ResponseReformat.builder().type("json").build())
-                .messages(messages)
-                .build(), secret);
+            // 每个路由独立限流与熔断；对冲时落败但已返回的调用同样计入租户token用量
+            var routed = modelRouter.call(promptTemplate, route -> {
+                var routeResponse = downstreamCallLimiter.callModel(route.name(),
+                    () -> aiClient.chat(ChatRequest.builder()
+                        .platform(route.platform())
+                        .model(route.modelCode())
+                        .maxTokens(MAX_TOKENS)
+                        .responseReformat(ChatRequest.ResponseReformat.builder().type("json").build())
+                        .messages(messages)
+                        .build(), secret));
+                String content = routeResponse != null && routeResponse.getData() != null
+                    && routeResponse.getData().getMessages() != null && !routeResponse.getData().getMessages().isEmpty()
+                    ? routeResponse.getData().getMessages().get(0).getContent() : null;
+                tenantFairShare.recordTokens(task,
+                    ReviewChunkPlanner.estimateTokens(prompt) + ReviewChunkPlanner.estimateTokens(content));
+                return routeResponse;
+            });
+            var response = routed.response();
 
             if (response == null || response.getData() == null ||
                 response.getData().getMessages() == null || response.getData().getMessages().isEmpty()) {
@@ -350,7 +445,10 @@ public class ModelReviewExecutor {
             log.debug("rawResult is {}", rawResult);
 
             // 反序列化AI响应
-            ReviewResult modelReviewResult = parseAIResponse(task, contractTask, rawResult);
+            String modelCode = routed.route().modelCode();
+            ReviewResult modelReviewResult = parseAIResponse(task, contractTask, rawResult, modelCode);
+            // 只缓存可以成功解析的响应，连同实际返回响应的模型编码
+            modelResponseCache.put(cacheKey, modelCode, rawResult);
 
             log.debug("合同 {} AI审查完成，总体风险等级: {}", contractId, modelReviewResult.getOverallRiskLevel());
             return modelReviewResult;
@@ -367,12 +465,117 @@ public class ModelReviewExecutor {
         }
     }
 
-    private ReviewResult fillModelReviewResult(ReviewResult modelReviewResult, Task task, ContractReview contractTask) {
+    /**
+     * 分片并行审查后合并结果，并发数受AI模型调用许可限制
+     */
+    private ReviewResult performChunkedReview(Task task, ContractReview contractTask, List<String> prompts) {
+        log.debug("任务 {} 模型审查拆分为 {} 个分片并行执行", task.getId(), prompts.size());
+        List<CompletableFuture<ReviewResult>> futures = prompts.stream()
+            .map(prompt -> CompletableFuture.supplyAsync(() -> performAIReview(task, contractTask, prompt), modelCallExecutor))
+            .toList();
+
+        List<ReviewResult> results = new ArrayList<>(futures.size());
+        try {
+            for (CompletableFuture<ReviewResult> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new RuntimeException("分片模型审查失败: " + cause.getMessage(), cause);
+        }
+
+        String modelVersion = results.stream()
+            .map(ReviewResult::getModelVersion)
+            .distinct()
+            .collect(Collectors.joining(","));
+        return fillModelReviewResult(mergeReviewResults(results), task, contractTask, modelVersion);
+    }
+
+    /**
+     * 合并分片审查结果：拼接规则结果、关键点和证据，总体风险等级取各分片及规则结果中的最高等级
+     */
+    static ReviewResult mergeReviewResults(List<ReviewResult> results) {
+        List<ReviewRuleResultEntity> ruleResults = new ArrayList<>();
+        List<KeyPoint> keyPoints = new ArrayList<>();
+        List<Evidence> evidences = new ArrayList<>();
+        List<String> summaries = new ArrayList<>();
+        RiskLevel overall = null;
+
+        for (ReviewResult result : results) {
+            if (result.getRuleResults() != null) {
+                ruleResults.addAll(result.getRuleResults());
+                for (ReviewRuleResultEntity ruleResult : result.getRuleResults()) {
+                    overall = higher(overall, ruleResult.getRiskLevel());
+                }
+            }
+            if (result.getKeyPoints() != null) {
+                keyPoints.addAll(result.getKeyPoints());
+            }
+            if (result.getEvidences() != null) {
+                evidences.addAll(result.getEvidences());
+            }
+            if (result.getSummary() != null && !result.getSummary().isBlank()) {
+                summaries.add(result.getSummary());
+            }
+            overall = higher(overall, parseRiskLevel(result.getOverallRiskLevel()));
+        }
+
+        ReviewResult merged = new ReviewResult();
+        merged.setRuleResults(ruleResults);
+        merged.setKeyPoints(keyPoints);
+        merged.setEvidences(evidences);
+        merged.setSummary(String.join("\n", summaries));
+        merged.setOverallRiskLevel((overall != null ? overall : RiskLevel.NO_RISK).name());
+        return merged;
+    }
+
+    private static RiskLevel higher(RiskLevel current, RiskLevel candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        return current == null || candidate.isHigherThan(current) ? candidate : current;
+    }
+
+    private static RiskLevel parseRiskLevel(String riskLevel) {
+        if (riskLevel == null) {
+            return null;
+        }
+        try {
+            return RiskLevel.valueOf(riskLevel.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 从模型响应缓存中获取审查结果，未命中、任务设置跳过缓存或缓存内容无法解析时返回null
+     */
+    private ReviewResult reviewFromCache(Task task, ContractReview contractTask, String cacheKey) {
+        boolean bypass = Boolean.parseBoolean(String.valueOf(task.getConfiguration().getCustomSetting(LLM_CACHE_BYPASS)));
+        Optional<ModelResponseCache.CachedResponse> cached = modelResponseCache.get(cacheKey, bypass);
+        if (cached.isEmpty()) {
+            return null;
+        }
+
+        try {
+            ReviewResult reviewResult = parseAIResponse(task, contractTask, cached.get().rawResponse(),
+                cached.get().modelCode());
+            log.info("任务 {} 命中模型响应缓存，跳过AI模型调用", task.getId());
+            return reviewResult;
+        } catch (Exception e) {
+            log.warn("任务 {} 缓存的模型响应无法解析，删除后重新调用: {}", task.getId(), e.getMessage());
+            modelResponseCache.evict(cacheKey);
+            return null;
+        }
+    }
+
+    private ReviewResult fillModelReviewResult(ReviewResult modelReviewResult, Task task, ContractReview contractTask,
+                                               String modelVersion) {
         ReviewConfiguration reviewConfiguration = contractTask.getReviewConfiguration();
         modelReviewResult.setTaskId(task.getId().getValue());
         modelReviewResult.setContractId(contractTask.getContractId());
-        // 目前写死的
-        modelReviewResult.setModelVersion(ModelType.IFlow_GLM_4_6.getModelCode());
+        modelReviewResult.setModelVersion(modelVersion);
         modelReviewResult.setReviewType(reviewConfiguration.getReviewType().getDisplayName());
         modelReviewResult.setStageResult("模型审查完成");
 
@@ -382,14 +585,15 @@ public class ModelReviewExecutor {
     /**
      * 解析AI响应JSON为ReviewResult对象
      */
-    private ReviewResult parseAIResponse(Task task, ContractReview contractTask, String rawResult) throws JsonProcessingException {
+    private ReviewResult parseAIResponse(Task task, ContractReview contractTask, String rawResult, String modelVersion)
+        throws JsonProcessingException {
         try {
             // 直接反序列化到ReviewResult对象
             // 使用@JsonIgnoreProperties(ignoreUnknown = true)忽略AI返回但ReviewResult中不存在的字段
             ReviewResult reviewResult = objectMapper.readValue(rawResult, ReviewResult.class);
 
             // 填充任务相关信息
-            fillModelReviewResult(reviewResult, task, contractTask);
+            fillModelReviewResult(reviewResult, task, contractTask, modelVersion);
             return reviewResult;
 
         } catch (JsonProcessingException e) {
@@ -435,11 +639,10 @@ public class ModelReviewExecutor {
         try {
             // 任务状态设为FAILED，触发重试机制
             task.fail("程序执行失败: " + e.getMessage());
-            taskRepository.save(task);
 
-        } catch (Exception saveException) {
-            log.error("保存任务失败状态时发生异常: {}", saveException.getMessage());
-            // 如果保存失败，记录日志但不抛出异常，避免影响其他任务处理
+        } catch (Exception failException) {
+            log.error("标记任务失败状态时发生异常: {}", failException.getMessage());
+            // 记录日志但不抛出异常，避免影响其他任务处理
         }
     }
 }
\ No newline at end of file
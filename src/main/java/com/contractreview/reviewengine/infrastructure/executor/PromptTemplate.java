@@ -0,0 +1,100 @@
+package com.contractreview.reviewengine.infrastructure.executor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 预编译的提示词模板
+ * 将系统提示词中的占位符（如 &lt;/rules&gt;）一次性解析为片段列表，渲染时单次拼接到预估容量的StringBuilder中，
+ * 替代逐个 String.replace 产生的多份整段拷贝。未知的 &lt;/xxx&gt; 标签按原文保留
+ *
+ * @author SaltyFish
+ */
+public final class PromptTemplate {
+
+    public static final String RULES = "rules";
+    public static final String CLAUSES = "clauses";
+    public static final String INDUSTRY = "industry";
+    public static final String CURRENCY = "currency";
+    public static final String RISK_LEVEL = "RiskLevel";
+    public static final String REVIEW_TYPE_DETAIL = "ReviewTypeDetail";
+    public static final String EVIDENCE_TYPE = "EvidenceType";
+
+    private static final Set<String> PLACEHOLDERS = Set.of(
+        RULES, CLAUSES, INDUSTRY, CURRENCY, RISK_LEVEL, REVIEW_TYPE_DETAIL, EVIDENCE_TYPE);
+
+    /**
+     * 片段：placeholder为空时为字面文本
+     */
+    private record Segment(String text, String placeholder) {
+    }
+
+    private final List<Segment> segments;
+    private final int literalLength;
+
+    private PromptTemplate(List<Segment> segments, int literalLength) {
+        this.segments = segments;
+        this.literalLength = literalLength;
+    }
+
+    /**
+     * 解析模板
+     */
+    public static PromptTemplate compile(String content) {
+        List<Segment> segments = new ArrayList<>();
+        int literalLength = 0;
+        int literalStart = 0;
+        int index = content.indexOf("</");
+        while (index >= 0) {
+            int end = content.indexOf('>', index + 2);
+            if (end < 0) {
+                break;
+            }
+            String name = content.substring(index + 2, end);
+            if (PLACEHOLDERS.contains(name)) {
+                if (index > literalStart) {
+                    segments.add(new Segment(content.substring(literalStart, index), null));
+                    literalLength += index - literalStart;
+                }
+                segments.add(new Segment(null, name));
+                literalStart = end + 1;
+                index = content.indexOf("</", literalStart);
+            } else {
+                index = content.indexOf("</", index + 2);
+            }
+        }
+        if (literalStart < content.length()) {
+            segments.add(new Segment(content.substring(literalStart), null));
+            literalLength += content.length() - literalStart;
+        }
+        return new PromptTemplate(List.copyOf(segments), literalLength);
+    }
+
+    /**
+     * 单次渲染，缺失或为空的占位符值按空字符串处理
+     */
+    public String render(Map<String, ? extends CharSequence> values) {
+        int capacity = literalLength;
+        for (Segment segment : segments) {
+            if (segment.placeholder() != null) {
+                CharSequence value = values.get(segment.placeholder());
+                capacity += value == null ? 0 : value.length();
+            }
+        }
+
+        StringBuilder builder = new StringBuilder(capacity);
+        for (Segment segment : segments) {
+            if (segment.placeholder() == null) {
+                builder.append(segment.text());
+            } else {
+                CharSequence value = values.get(segment.placeholder());
+                if (value != null) {
+                    builder.append(value);
+                }
+            }
+        }
+        return builder.toString();
+    }
+}
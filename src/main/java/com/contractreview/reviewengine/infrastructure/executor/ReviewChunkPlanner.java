@@ -0,0 +1,130 @@
+package com.contractreview.reviewengine.infrastructure.executor;
+
+import com.contract.common.feign.dto.ClauseFeignDTO;
+import com.contract.common.feign.dto.ReviewRuleFeignDTO;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 模型审查分片规划
+ * 按条款类型将条款及其适用规则装入token预算内的分片；单个类型超出预算时拆分该类型条款，每片携带该类型全部规则。
+ * 没有对应条款的规则放入第一个分片，保证与不分片时覆盖的规则一致
+ *
+ * @author SaltyFish
+ */
+final class ReviewChunkPlanner {
+
+    /**
+     * 审查分片
+     */
+    record Chunk(Map<String, List<ClauseFeignDTO>> clausesByType, Map<String, List<ReviewRuleFeignDTO>> rulesByType) {
+
+        Chunk() {
+            this(new LinkedHashMap<>(), new LinkedHashMap<>());
+        }
+
+        boolean isEmpty() {
+            return clausesByType.isEmpty() && rulesByType.isEmpty();
+        }
+    }
+
+    private ReviewChunkPlanner() {
+    }
+
+    /**
+     * 估算token数：中文文本按每个字符一个token保守估算
+     */
+    static int estimateTokens(CharSequence text) {
+        return text == null ? 0 : text.length();
+    }
+
+    static List<Chunk> plan(Map<String, List<ClauseFeignDTO>> clausesByType,
+                            Map<String, List<ReviewRuleFeignDTO>> rulesByType,
+                            int tokenBudget) {
+        List<Chunk> chunks = new ArrayList<>();
+        Chunk current = new Chunk();
+        int currentTokens = 0;
+
+        for (Map.Entry<String, List<ClauseFeignDTO>> entry : clausesByType.entrySet()) {
+            String clauseType = entry.getKey();
+            List<ReviewRuleFeignDTO> typeRules = rulesByType.getOrDefault(clauseType, List.of());
+            int ruleTokens = ruleTokens(typeRules);
+            int typeTokens = ruleTokens + clauseTokens(entry.getValue());
+
+            if (typeTokens <= tokenBudget) {
+                if (currentTokens + typeTokens > tokenBudget && !current.isEmpty()) {
+                    chunks.add(current);
+                    current = new Chunk();
+                    currentTokens = 0;
+                }
+                current.clausesByType().put(clauseType, entry.getValue());
+                if (!typeRules.isEmpty()) {
+                    current.rulesByType().put(clauseType, typeRules);
+                }
+                currentTokens += typeTokens;
+                continue;
+            }
+
+            // 单个条款类型超出预算，拆分条款，每片都带上该类型的规则
+            int clauseBudget = Math.max(tokenBudget - ruleTokens, tokenBudget / 4);
+            List<ClauseFeignDTO> piece = new ArrayList<>();
+            int pieceTokens = 0;
+            for (ClauseFeignDTO clause : entry.getValue()) {
+                int tokens = clauseTokens(List.of(clause));
+                if (pieceTokens + tokens > clauseBudget && !piece.isEmpty()) {
+                    chunks.add(singleTypeChunk(clauseType, piece, typeRules));
+                    piece = new ArrayList<>();
+                    pieceTokens = 0;
+                }
+                piece.add(clause);
+                pieceTokens += tokens;
+            }
+            if (!piece.isEmpty()) {
+                chunks.add(singleTypeChunk(clauseType, piece, typeRules));
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+
+        // 没有对应条款的规则
+        if (chunks.isEmpty()) {
+            chunks.add(new Chunk());
+        }
+        Chunk first = chunks.get(0);
+        for (Map.Entry<String, List<ReviewRuleFeignDTO>> entry : rulesByType.entrySet()) {
+            if (!clausesByType.containsKey(entry.getKey())) {
+                first.rulesByType().put(entry.getKey(), entry.getValue());
+            }
+        }
+        return chunks;
+    }
+
+    private static Chunk singleTypeChunk(String clauseType, List<ClauseFeignDTO> clauses, List<ReviewRuleFeignDTO> rules) {
+        Chunk chunk = new Chunk();
+        chunk.clausesByType().put(clauseType, clauses);
+        if (!rules.isEmpty()) {
+            chunk.rulesByType().put(clauseType, rules);
+        }
+        return chunk;
+    }
+
+    private static int clauseTokens(List<ClauseFeignDTO> clauses) {
+        int tokens = 0;
+        for (ClauseFeignDTO clause : clauses) {
+            tokens += estimateTokens(clause.getClauseTitle()) + estimateTokens(clause.getClauseContent()) + 16;
+        }
+        return tokens;
+    }
+
+    private static int ruleTokens(List<ReviewRuleFeignDTO> rules) {
+        int tokens = 0;
+        for (ReviewRuleFeignDTO rule : rules) {
+            tokens += estimateTokens(rule.getRuleName()) + estimateTokens(rule.getRuleContent()) + 16;
+        }
+        return tokens;
+    }
+}
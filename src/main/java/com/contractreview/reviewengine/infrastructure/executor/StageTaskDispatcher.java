@@ -0,0 +1,318 @@
+package com.contractreview.reviewengine.infrastructure.executor;
+
+import com.contractreview.reviewengine.domain.enums.ExecutionStage;
+import com.contractreview.reviewengine.domain.event.TaskStageReadyEvent;
+import com.contractreview.reviewengine.domain.model.Task;
+import com.contractreview.reviewengine.domain.model.TaskId;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+
+/**
+ * 阶段任务分发器（流水线）
+ * 每个已实现的阶段是一条泳道：按租户公平分享的有界队列 + 常驻工作线程组 + 共享工作单元。
+ * 任务在当前阶段处理完成并写库后，若推进到另一个已实现阶段则直接投入下游泳道队列，租约随任务保留，
+ * 无需等待下一轮轮询；下游队列满时上游工作线程阻塞等待，上游队列随之积压，认领入口按空闲容量收缩。
+ * 泳道内按租户差额轮询出队，单租户排队数和执行中任务数受上限约束，任务配置的并发数限制其执行期间泳道的执行中任务数；token预算耗尽的租户不参与模型审查认领，
+ * 已排队的任务移出泳道并释放租约，不在泳道中占位等待窗口结束。
+ * 工作线程运行在独立的泳道执行器上；流水线中的任务（含排队等待的）定期续期租约，避免排队期间租约过期被其他实例认领。
+ * 由分发器直接移交的任务不再发布阶段就绪事件，只有移交失败、释放租约时才补发，避免消息驱动时同一次推进被处理两次
+ *
+ * @author SaltyFish
+ */
+@Slf4j
+@Component
+public class StageTaskDispatcher {
+
+    /**
+     * 阶段泳道
+     */
+    private record StageLane(ExecutionStage stage, StageTaskExecutor executor, FairShareTaskQueue queue,
+                             int concurrency, TaskUnitOfWork unitOfWork, Supplier<Set<Long>> blockedTenants) {
+    }
+
+    /**
+     * 泳道认领入口：空闲容量、单租户单次认领上限、已有排队任务的租户的剩余排队名额以及需跳过的租户（排队已满或未通过准入条件）
+     */
+    public record StageIntake(int capacity, int tenantLimit, Map<Long, Integer> tenantRoom, Set<Long> excludedTenants) {
+    }
+
+    /**
+     * 泳道规格：工作线程数与队列容量
+     */
+    private record LaneSize(int concurrency, int queueCapacity) {
+    }
+
+    private final Executor stageLaneExecutor;
+    private final TaskLeaseManager taskLeaseManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<ExecutionStage, StageLane> lanes = new EnumMap<>(ExecutionStage.class);
+
+    /**
+     * 正在流水线中的任务，避免租约过期后被重复投入
+     */
+    private final Set<Long> inFlightTaskIds = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running;
+
+    /**
+     * 阶段内累计处理完成多少个任务后批量写库一次，队列空闲时立即写库
+     */
+    @Value("${contract.review.dispatcher.flush-size:20}")
+    private int flushSize;
+
+    /**
+     * 下游队列满时上游等待移交的最长时间，超时后释放租约交由轮询重新认领
+     */
+    @Value("${contract.review.dispatcher.handoff-timeout-seconds:30}")
+    private long handoffTimeoutSeconds;
+
+    @Value("${contract.review.dispatcher.poll-timeout-millis:1000}")
+    private long pollTimeoutMillis;
+
+    public StageTaskDispatcher(@Qualifier("stageLaneExecutor") Executor stageLaneExecutor,
+                               TaskLeaseManager taskLeaseManager,
+                               ApplicationEventPublisher eventPublisher,
+                               TaskUnitOfWorkFactory taskUnitOfWorkFactory,
+                               List<StageTaskExecutor> stageTaskExecutors,
+                               TenantFairShare tenantFairShare,
+                               MeterRegistry meterRegistry,
+                               @Value("${contract.review.dispatcher.clause-extraction-concurrency:4}") int clauseExtractionConcurrency,
+                               @Value("${contract.review.dispatcher.model-review-concurrency:4}") int modelReviewConcurrency,
+                               @Value("${contract.review.dispatcher.report-generation-concurrency:2}") int reportGenerationConcurrency,
+                               @Value("${contract.review.dispatcher.clause-extraction-queue-capacity:50}") int clauseExtractionQueueCapacity,
+                               @Value("${contract.review.dispatcher.model-review-queue-capacity:20}") int modelReviewQueueCapacity,
+                               @Value("${contract.review.dispatcher.report-generation-queue-capacity:20}") int reportGenerationQueueCapacity,
+                               @Value("${contract.review.fair-share.quantum:1}") int quantum,
+                               @Value("${contract.review.fair-share.tenant-concurrency:2}") int tenantConcurrency,
+                               @Value("${contract.review.fair-share.tenant-queue-limit:10}") int tenantQueueLimit) {
+        this.stageLaneExecutor = stageLaneExecutor;
+        this.taskLeaseManager = taskLeaseManager;
+        this.eventPublisher = eventPublisher;
+
+        Map<ExecutionStage, LaneSize> sizing = new EnumMap<>(ExecutionStage.class);
+        sizing.put(ExecutionStage.CLAUSE_EXTRACTION, new LaneSize(clauseExtractionConcurrency, clauseExtractionQueueCapacity));
+        sizing.put(ExecutionStage.MODEL_REVIEW, new LaneSize(modelReviewConcurrency, modelReviewQueueCapacity));
+        sizing.put(ExecutionStage.REPORT_GENERATION, new LaneSize(reportGenerationConcurrency, reportGenerationQueueCapacity));
+
+        for (StageTaskExecutor executor : stageTaskExecutors) {
+            ExecutionStage stage = executor.getStage();
+            LaneSize size = sizing.getOrDefault(stage, new LaneSize(1, 10));
+            boolean tokenMetered = stage == ExecutionStage.MODEL_REVIEW;
+            LongPredicate admission = tokenMetered ? tenantFairShare::hasTokenBudget : tenant -> true;
+            Supplier<Set<Long>> blockedTenants = tokenMetered ? tenantFairShare::exhaustedTenants : Set::of;
+            FairShareTaskQueue queue = new FairShareTaskQueue(stage, size.queueCapacity(), tenantQueueLimit,
+                tenantConcurrency, quantum, admission, meterRegistry);
+            StageLane lane = new StageLane(stage, executor, queue, Math.max(1, size.concurrency()),
+                taskUnitOfWorkFactory.begin(), blockedTenants);
+            lanes.put(stage, lane);
+            Gauge.builder("review.pipeline.queue.size", queue, FairShareTaskQueue::size)
+                .description("阶段泳道待处理任务数")
+                .tag("stage", stage.name())
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 启动各阶段常驻工作线程
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (StageLane lane : lanes.values()) {
+            for (int i = 0; i < lane.concurrency(); i++) {
+                stageLaneExecutor.execute(() -> work(lane));
+            }
+            log.info("阶段 {} 泳道启动，工作线程 {} 个，队列容量 {}",
+                lane.stage().getDisplayName(), lane.concurrency(), lane.queue().remainingCapacity());
+        }
+    }
+
+    /**
+     * 停止接收任务；工作线程处理完手中任务后退出，队列中未处理的任务释放租约
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        for (StageLane lane : lanes.values()) {
+            lane.queue().drain().forEach(this::release);
+        }
+    }
+
+    /**
+     * 已实现执行器的阶段
+     */
+    public Set<ExecutionStage> getSupportedStages() {
+        return Collections.unmodifiableSet(lanes.keySet());
+    }
+
+    /**
+     * 各阶段泳道当前的认领入口，认领时据此限流并跳过排队已满或未通过准入条件的租户
+     */
+    public Map<ExecutionStage, StageIntake> intake() {
+        Map<ExecutionStage, StageIntake> intake = new EnumMap<>(ExecutionStage.class);
+        if (running) {
+            lanes.forEach((stage, lane) -> {
+                Map<Long, Integer> tenantRoom = lane.queue().tenantRoom();
+                Set<Long> excluded = new HashSet<>(lane.blockedTenants().get());
+                tenantRoom.forEach((tenant, room) -> {
+                    if (room <= 0) {
+                        excluded.add(tenant);
+                    }
+                });
+                intake.put(stage, new StageIntake(lane.queue().remainingCapacity(), lane.queue().tenantQueueLimit(),
+                    tenantRoom, excluded));
+            });
+        }
+        return intake;
+    }
+
+    /**
+     * 将认领到的任务投入对应阶段泳道，不等待执行结束
+     * 泳道已满、租户排队已达上限或阶段未实现的任务立即释放租约，由后续轮询重新认领
+     *
+     * @return 投入泳道的任务数
+     */
+    public int dispatch(Map<ExecutionStage, List<Task>> tasksByStage) {
+        int dispatched = 0;
+        for (Map.Entry<ExecutionStage, List<Task>> entry : tasksByStage.entrySet()) {
+            StageLane lane = lanes.get(entry.getKey());
+            if (lane == null) {
+                log.debug("阶段 {} 暂未实现，跳过处理", entry.getKey().getDisplayName());
+                entry.getValue().forEach(taskLeaseManager::release);
+                continue;
+            }
+
+            int accepted = 0;
+            for (Task task : entry.getValue()) {
+                if (!inFlightTaskIds.add(task.getId().getValue())) {
+                    log.debug("任务 {} 仍在流水线中，本轮跳过", task.getId());
+                    continue;
+                }
+                if (running && lane.queue().offer(task)) {
+                    accepted++;
+                } else {
+                    release(task);
+                }
+            }
+            log.info("阶段 {} 接收 {} 个任务，队列积压 {}", lane.stage().getDisplayName(), accepted, lane.queue().size());
+            dispatched += accepted;
+        }
+        return dispatched;
+    }
+
+    /**
+     * 续期流水线中全部任务的租约，排队等待和执行中的任务都不会因租约过期被其他实例重复认领
+     */
+    public void renewLeases() {
+        if (inFlightTaskIds.isEmpty()) {
+            return;
+        }
+        taskLeaseManager.renew(inFlightTaskIds.stream().map(TaskId::of).toList());
+    }
+
+    private void work(StageLane lane) {
+        while (running) {
+            // 未通过准入条件的租户不会出队，移出其排队任务释放租约，不占用泳道容量
+            lane.queue().evictInadmissible().forEach(this::release);
+
+            Task task;
+            try {
+                task = lane.queue().poll(pollTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (task == null) {
+                flush(lane);
+                continue;
+            }
+
+            try {
+                lane.executor().processTask(task, lane.unitOfWork());
+                if (handsOff(lane, task)) {
+                    // 推进到下游泳道的任务由分发器移交，写库时不再发布就绪事件
+                    task.pullStageReadyEvents();
+                }
+            } catch (Exception e) {
+                log.error("任务 {} 分发执行异常: {}", task.getId(), e.getMessage(), e);
+                lane.unitOfWork().complete(task);
+            } finally {
+                lane.queue().done(task);
+            }
+            if (lane.unitOfWork().completedCount() >= flushSize || lane.queue().isEmpty()) {
+                flush(lane);
+            }
+        }
+        flush(lane);
+    }
+
+    /**
+     * 提交工作单元中已处理完成的任务，写库后移交下游泳道或释放租约
+     */
+    private void flush(StageLane lane) {
+        for (Task task : lane.unitOfWork().commit()) {
+            if (handsOff(lane, task)) {
+                handOff(lanes.get(task.getCurrentStage()), task);
+            } else {
+                // 流水线结束、阶段未推进（如条款抽取仍在进行）或已失败，交还给轮询
+                release(task);
+            }
+        }
+    }
+
+    /**
+     * 投入下游泳道，队列满时阻塞等待形成反压
+     */
+    private void handOff(StageLane next, Task task) {
+        try {
+            if (running && next.queue().offer(task, handoffTimeoutSeconds, TimeUnit.SECONDS)) {
+                log.debug("任务 {} 移交至阶段 {}", task.getId(), next.stage().getDisplayName());
+                return;
+            }
+            log.warn("阶段 {} 队列持续已满或租户排队已达上限，任务 {} 释放租约等待重新认领",
+                next.stage().getDisplayName(), task.getId());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        release(task);
+        // 写库时未发布就绪事件，释放后补发，消息驱动时无需等待轮询
+        eventPublisher.publishEvent(new TaskStageReadyEvent(task.getId().getValue(), task.getCurrentStage(), LocalDateTime.now()));
+    }
+
+    /**
+     * 处理后推进到另一条泳道、将由分发器直接移交的任务
+     */
+    private boolean handsOff(StageLane lane, Task task) {
+        StageLane next = lanes.get(task.getCurrentStage());
+        return next != null && next != lane && !isSettled(task);
+    }
+
+    private void release(Task task) {
+        inFlightTaskIds.remove(task.getId().getValue());
+        taskLeaseManager.release(task);
+    }
+
+    private static boolean isSettled(Task task) {
+        return task.isFailed() || task.isCancelled() || task.isCompleted();
+    }
+}
@@ -0,0 +1,42 @@
+package com.contractreview.reviewengine.infrastructure.executor;
+
+import com.contractreview.reviewengine.domain.enums.ExecutionStage;
+import com.contractreview.reviewengine.domain.model.Task;
+
+import java.util.List;
+
+/**
+ * 阶段任务执行器
+ * 每个已实现的执行阶段对应一个实现，由分发器按阶段路由任务
+ *
+ * @author SaltyFish
+ */
+public interface StageTaskExecutor {
+
+    /**
+     * 负责处理的执行阶段
+     */
+    ExecutionStage getStage();
+
+    /**
+     * 处理单个任务并立即写库，执行失败时由实现自行标记任务失败
+     *
+     * @return 处理成功返回true
+     */
+    boolean processTask(Task task);
+
+    /**
+     * 在工作单元内处理单个任务：状态变化只记录在内存中，由调用方提交工作单元时统一写库
+     *
+     * @return 处理成功返回true
+     */
+    boolean processTask(Task task, TaskUnitOfWork unitOfWork);
+
+    /**
+     * 顺序处理一批任务
+     * 不在外层开启事务：模型、条款等远程调用期间不持有数据库连接，读写各自在短事务中完成
+     */
+    default void processBatch(List<Task> tasks) {
+        tasks.forEach(this::processTask);
+    }
+}
@@ -0,0 +1,120 @@
+package com.contractreview.reviewengine.infrastructure.executor;
+
+import com.contractreview.reviewengine.domain.enums.ExecutionStage;
+import com.contractreview.reviewengine.domain.model.Task;
+import com.contractreview.reviewengine.domain.model.TaskId;
+import com.contractreview.reviewengine.domain.repository.TaskRepository;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 任务租约管理器
+ * 每轮按批次认领任务并写入租约（持有者+过期时间），多个引擎实例之间互不重复处理
+ *
+ * @author SaltyFish
+ */
+@Slf4j
+@Component
+public class TaskLeaseManager {
+
+    private final TaskRepository taskRepository;
+
+    /**
+     * 当前实例的租约持有者标识
+     */
+    @Getter
+    private final String leaseOwner;
+
+    @Value("${contract.review.claim.batch-size:50}")
+    private int batchSize;
+
+    @Value("${contract.review.claim.lease-seconds:1800}")
+    private long leaseSeconds;
+
+    public TaskLeaseManager(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+        this.leaseOwner = resolveHostName() + ":" + ProcessHandle.current().pid() + ":"
+            + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    /**
+     * 认领一批指定阶段的任务
+     */
+    public List<Task> claim(Collection<ExecutionStage> stages) {
+        return claim(stages, batchSize, batchSize, Map.of(), Set.of());
+    }
+
+    /**
+     * 认领指定数量的任务，单次不超过批次大小
+     *
+     * @param tenantLimit     每个租户最多认领的任务数
+     * @param tenantRoom      部分租户本次最多认领的任务数，优先于 tenantLimit
+     * @param excludedTenants 本次不认领的租户
+     */
+    public List<Task> claim(Collection<ExecutionStage> stages, int limit, int tenantLimit,
+                            Map<Long, Integer> tenantRoom, Collection<Long> excludedTenants) {
+        List<Task> tasks = taskRepository.claimTasks(stages, leaseOwner, Math.min(limit, batchSize),
+            tenantLimit, tenantRoom, excludedTenants, Duration.ofSeconds(leaseSeconds));
+        if (!tasks.isEmpty()) {
+            log.debug("实例 {} 认领 {} 个任务", leaseOwner, tasks.size());
+        }
+        return tasks;
+    }
+
+    /**
+     * 认领单个任务，任务已离开该阶段或被其他持有者占用时返回空
+     */
+    public Optional<Task> claim(TaskId taskId, ExecutionStage stage) {
+        return taskRepository.claimTask(taskId, stage, leaseOwner, Duration.ofSeconds(leaseSeconds));
+    }
+
+    /**
+     * 释放任务租约，释放失败时等待租约自然过期
+     */
+    public void release(Task task) {
+        try {
+            taskRepository.releaseLease(task.getId(), leaseOwner);
+        } catch (Exception e) {
+            log.warn("释放任务 {} 租约失败，将等待租约过期: {}", task.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 续期当前实例持有的任务租约，已不由本实例持有的任务忽略
+     */
+    public void renew(Collection<TaskId> taskIds) {
+        int renewed = taskRepository.renewLeases(taskIds, leaseOwner, Duration.ofSeconds(leaseSeconds));
+        if (renewed < taskIds.size()) {
+            log.warn("续期 {} 个任务租约，其中 {} 个已不由实例 {} 持有", taskIds.size(), taskIds.size() - renewed, leaseOwner);
+        }
+    }
+
+    /**
+     * 回收过期租约
+     */
+    public void reapExpiredLeases() {
+        int released = taskRepository.releaseExpiredLeases();
+        if (released > 0) {
+            log.warn("回收 {} 个过期任务租约", released);
+        }
+    }
+
+    private static String resolveHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown-host";
+        }
+    }
+}
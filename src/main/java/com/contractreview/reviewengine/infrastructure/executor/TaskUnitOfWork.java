@@ -0,0 +1,164 @@
+package com.contractreview.reviewengine.infrastructure.executor;
+
+import com.contractreview.reviewengine.domain.enums.ExecutionStage;
+import com.contractreview.reviewengine.domain.enums.TaskStatus;
+import com.contractreview.reviewengine.domain.model.Task;
+import com.contractreview.reviewengine.domain.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 任务工作单元
+ * 任务启动（PENDING -> RUNNING）立即写库，执行期间在库中可见为执行中；其余修改只在内存中进行，处理结束后标记完成。
+ * 提交时与跟踪时的快照比较，只有状态发生变化的任务才写库，并在一次JDBC批量更新中完成；配置未变化时只写状态列。
+ * 写库失败的任务保留在工作单元中等待下次提交，不返回给调用方，租约不会被释放。可被同一阶段的多个工作线程共享
+ *
+ * @author SaltyFish
+ */
+@Slf4j
+public class TaskUnitOfWork {
+
+    /**
+     * 跟踪时的任务状态快照
+     */
+    private record Snapshot(TaskStatus status, ExecutionStage stage, String errorMessage,
+                            LocalDateTime startTime, LocalDateTime completedAt, String configuration) {
+    }
+
+    private record Entry(Task task, Snapshot snapshot) {
+    }
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Entry> tracked = new ConcurrentHashMap<>();
+    private final Map<Long, Task> completed = new ConcurrentHashMap<>();
+
+    TaskUnitOfWork(TaskRepository taskRepository, ObjectMapper objectMapper) {
+        this.taskRepository = taskRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 开始跟踪任务，必须在修改任务之前调用
+     */
+    public void track(Task task) {
+        tracked.computeIfAbsent(task.getId().getValue(), id -> new Entry(task, snapshot(task)));
+    }
+
+    /**
+     * 启动任务并立即写库
+     *
+     * @throws IllegalStateException 任务已被其他写入方修改
+     */
+    public void start(Task task) {
+        TaskStatus previous = task.getStatus();
+        task.start();
+        if (!taskRepository.transition(task, previous)) {
+            throw new IllegalStateException("任务 " + task.getId() + " 已被其他写入方修改，放弃执行");
+        }
+        // 启动已写库，快照随之更新，提交时只比较之后的变化
+        tracked.computeIfPresent(task.getId().getValue(), (id, entry) -> new Entry(task, snapshot(task)));
+    }
+
+    /**
+     * 标记任务处理结束，下次提交时写库
+     */
+    public void complete(Task task) {
+        completed.put(task.getId().getValue(), task);
+    }
+
+    /**
+     * 已处理结束、等待提交的任务数
+     */
+    public int completedCount() {
+        return completed.size();
+    }
+
+    /**
+     * 提交已处理结束的任务：未变化的任务不写库，变化的任务批量更新
+     *
+     * @return 本次已落库的任务（含未变化的和被其他写入方抢先修改的），调用方据此移交或释放租约；
+     * 写库失败的任务不在其中，保留到下次提交
+     */
+    public synchronized List<Task> commit() {
+        if (completed.isEmpty()) {
+            return List.of();
+        }
+
+        List<Task> pending = new ArrayList<>(completed.values());
+        List<Task> done = new ArrayList<>(pending.size());
+        List<Task> transitioned = new ArrayList<>();
+        List<Task> reconfigured = new ArrayList<>();
+        for (Task task : pending) {
+            Entry entry = tracked.get(task.getId().getValue());
+            Snapshot current = snapshot(task);
+            if (entry == null || !Objects.equals(entry.snapshot().configuration(), current.configuration())) {
+                reconfigured.add(task);
+            } else if (!entry.snapshot().equals(current)) {
+                transitioned.add(task);
+            } else {
+                done.add(task);
+            }
+        }
+
+        // 配置未变化的任务只写状态列，不重写jsonb配置
+        boolean transitionWritten = write(transitioned, taskRepository::transitionAll);
+        boolean reconfigurationWritten = write(reconfigured, taskRepository::updateAll);
+        if (transitionWritten) {
+            done.addAll(transitioned);
+        }
+        if (reconfigurationWritten) {
+            done.addAll(reconfigured);
+        }
+
+        for (Task task : done) {
+            completed.remove(task.getId().getValue());
+            tracked.remove(task.getId().getValue());
+        }
+        log.debug("工作单元提交 {} 个任务，状态迁移 {} 个，含配置变更 {} 个，待重试 {} 个",
+            done.size(), transitioned.size(), reconfigured.size(), pending.size() - done.size());
+        return done;
+    }
+
+    /**
+     * 批量写库，失败时返回false，任务保留在工作单元中
+     */
+    private boolean write(List<Task> tasks, Function<List<Task>, List<Task>> writer) {
+        if (tasks.isEmpty()) {
+            return true;
+        }
+        try {
+            writer.apply(tasks);
+            return true;
+        } catch (Exception e) {
+            log.error("工作单元批量更新 {} 个任务失败，保留到下次提交: {}", tasks.size(), e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private Snapshot snapshot(Task task) {
+        return new Snapshot(task.getStatus(), task.getCurrentStage(), task.getErrorMessage(),
+            task.getStartTime(), task.getCompletedAt(), configurationJson(task));
+    }
+
+    private String configurationJson(Task task) {
+        if (task.getConfiguration() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(task.getConfiguration());
+        } catch (JsonProcessingException e) {
+            // 无法比较时按已变化处理
+            return Objects.toString(System.nanoTime());
+        }
+    }
+}
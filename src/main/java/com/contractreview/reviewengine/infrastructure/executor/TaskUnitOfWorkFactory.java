@@ -0,0 +1,26 @@
+package com.contractreview.reviewengine.infrastructure.executor;
+
+import com.contractreview.reviewengine.domain.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 任务工作单元工厂
+ *
+ * @author SaltyFish
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskUnitOfWorkFactory {
+
+    private final TaskRepository taskRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 开启新的工作单元
+     */
+    public TaskUnitOfWork begin() {
+        return new TaskUnitOfWork(taskRepository, objectMapper);
+    }
+}
@@ -0,0 +1,129 @@
+package com.contractreview.reviewengine.infrastructure.executor;
+
+import com.contractreview.reviewengine.domain.model.Task;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 租户公平分享策略
+ * 以任务创建人作为租户键；按固定时间窗统计各租户消耗的LLM token，超出预算的租户在窗口结束前不再开始新的模型审查。
+ * 只保留当前窗口内有用量的租户，过期窗口在统计预算耗尽租户时清理；租户级token指标随窗口注册与移除，基数不超过当前窗口内有用量的租户数
+ *
+ * @author SaltyFish
+ */
+@Slf4j
+@Component
+public class TenantFairShare {
+
+    /**
+     * 未记录创建人的任务归入的租户
+     */
+    public static final long ANONYMOUS_TENANT = -1L;
+
+    /**
+     * 租户token用量窗口，按键原子替换
+     */
+    private record TokenWindow(long windowStart, long used) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Counter tokenCounter;
+    private final Map<Long, TokenWindow> tokenWindows = new ConcurrentHashMap<>();
+    private final Map<Long, Counter> tenantTokenCounters = new ConcurrentHashMap<>();
+
+    /**
+     * 每个租户每个窗口的token预算，不大于0时不限制
+     */
+    @Value("${contract.review.fair-share.token-budget:500000}")
+    private long tokenBudget;
+
+    @Value("${contract.review.fair-share.token-window-seconds:3600}")
+    private long tokenWindowSeconds;
+
+    public TenantFairShare(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.tokenCounter = Counter.builder("review.tenant.tokens")
+            .description("各租户消耗的LLM token估算值合计")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 任务所属租户
+     */
+    public static long tenantOf(Task task) {
+        if (task.getAuditInfo() == null || task.getAuditInfo().getCreatedBy() == null) {
+            return ANONYMOUS_TENANT;
+        }
+        return task.getAuditInfo().getCreatedBy();
+    }
+
+    /**
+     * 租户在当前窗口内是否仍有token预算
+     */
+    public boolean hasTokenBudget(long tenant) {
+        if (tokenBudget <= 0) {
+            return true;
+        }
+        TokenWindow window = tokenWindows.get(tenant);
+        return window == null || expired(window, System.currentTimeMillis()) || window.used() < tokenBudget;
+    }
+
+    /**
+     * 当前窗口内token预算已耗尽的租户，模型审查认领时排除
+     */
+    public Set<Long> exhaustedTenants() {
+        Set<Long> exhausted = new HashSet<>();
+        long now = System.currentTimeMillis();
+        tokenWindows.forEach((tenant, window) -> {
+            // 窗口已结束的租户移除，下次记录用量时重新开窗
+            TokenWindow current = tokenWindows.computeIfPresent(tenant, (t, w) -> expired(w, now) ? null : w);
+            if (current == null) {
+                removeTokenCounter(tenant);
+            } else if (tokenBudget > 0 && current.used() >= tokenBudget) {
+                exhausted.add(tenant);
+            }
+        });
+        return exhausted;
+    }
+
+    /**
+     * 记录任务消耗的token，计入所属租户当前窗口
+     */
+    public void recordTokens(Task task, long tokens) {
+        if (tokens <= 0) {
+            return;
+        }
+        long tenant = tenantOf(task);
+        long now = System.currentTimeMillis();
+        TokenWindow window = tokenWindows.compute(tenant, (t, w) -> w == null || expired(w, now)
+            ? new TokenWindow(now, tokens)
+            : new TokenWindow(w.windowStart(), w.used() + tokens));
+        if (tokenBudget > 0 && window.used() >= tokenBudget && window.used() - tokens < tokenBudget) {
+            log.info("租户 {} 本窗口token用量 {} 已达到预算 {}，暂停开始新的模型审查", tenant, window.used(), tokenBudget);
+        }
+        tokenCounter.increment(tokens);
+        tenantTokenCounters.computeIfAbsent(tenant, t -> Counter.builder("review.tenant.window.tokens")
+            .description("租户在当前窗口内消耗的LLM token估算值")
+            .tag("tenant", String.valueOf(t))
+            .register(meterRegistry)).increment(tokens);
+    }
+
+    private void removeTokenCounter(long tenant) {
+        Counter counter = tenantTokenCounters.remove(tenant);
+        if (counter != null) {
+            meterRegistry.remove(counter);
+        }
+    }
+
+    private boolean expired(TokenWindow window, long now) {
+        return now - window.windowStart() >= tokenWindowSeconds * 1000;
+    }
+}
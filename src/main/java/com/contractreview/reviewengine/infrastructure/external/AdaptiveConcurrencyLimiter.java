@@ -0,0 +1,189 @@
+package com.contractreview.reviewengine.infrastructure.external;
+
+import feign.FeignException;
+import feign.RetryableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 自适应并发限制器（AIMD）
+ * 调用成功且耗时低于阈值时并发上限加性增长（每个上限周期约加一），出现限流（429）、服务端错误（5xx）、
+ * 网络超时或耗时超过阈值时乘性下降；下游变慢时自动收缩在途请求，恢复后逐步放开
+ *
+ * @author SaltyFish
+ */
+@Slf4j
+class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitAvailable = lock.newCondition();
+    private double limit;
+    private int inFlight;
+
+    AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                               long latencyThresholdMillis, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = backoffRatio > 0 && backoffRatio < 1 ? backoffRatio : 0.9;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMillis);
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+
+        Gauge.builder("downstream.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+            .description("下游服务自适应并发上限")
+            .tag("downstream", name)
+            .register(meterRegistry);
+        Gauge.builder("downstream.concurrency.in.flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+            .description("下游服务在途请求数")
+            .tag("downstream", name)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 在自适应并发上限内执行调用，等待许可超时时抛出 {@link PermitAcquireTimeoutException}，
+     * 等待或调用期间线程被中断时抛出 {@link CancellationException}，不调整上限
+     */
+    <T> T call(Supplier<T> call, long acquireTimeoutMillis) {
+        acquire(acquireTimeoutMillis);
+        long start = System.nanoTime();
+        boolean settled = false;
+        try {
+            T result = call.get();
+            settled = true;
+            onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            settled = true;
+            // 调用方取消（如对冲落败）时中断导致的连接关闭不是过载信号
+            if (Thread.currentThread().isInterrupted()) {
+                release();
+                throw cancelled(e);
+            }
+            if (isOverload(e)) {
+                onDropped();
+            } else {
+                release();
+            }
+            throw e;
+        } finally {
+            if (!settled) {
+                release();
+            }
+        }
+    }
+
+    int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void acquire(long acquireTimeoutMillis) {
+        long nanos = TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+        lock.lock();
+        try {
+            while (inFlight >= (int) limit) {
+                if (nanos <= 0) {
+                    throw new PermitAcquireTimeoutException("等待" + name + "调用许可超时，当前并发上限 " + (int) limit);
+                }
+                nanos = permitAvailable.awaitNanos(nanos);
+            }
+            inFlight++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cancelled(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onSuccess(long rttNanos) {
+        if (rttNanos > latencyThresholdNanos) {
+            onDropped();
+            return;
+        }
+        lock.lock();
+        try {
+            // 只在上限被实际用到时增长，避免空闲期上限无限膨胀
+            if (inFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            inFlight--;
+            permitAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onDropped() {
+        lock.lock();
+        try {
+            int previous = (int) limit;
+            limit = Math.max(minLimit, limit * backoffRatio);
+            inFlight--;
+            permitAvailable.signal();
+            if ((int) limit < previous) {
+                log.warn("{} 出现过载信号，并发上限 {} -> {}", name, previous, (int) limit);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            permitAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CancellationException cancelled(Throwable cause) {
+        CancellationException cancelled = new CancellationException(name + "调用被取消");
+        cancelled.initCause(cause);
+        return cancelled;
+    }
+
+    /**
+     * 限流、服务端错误与网络超时视为过载信号，其他异常（如参数错误）不调整上限
+     */
+    private static boolean isOverload(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetryableException) {
+                return true;
+            }
+            if (cause instanceof FeignException feignException) {
+                int status = feignException.status();
+                return status == 429 || status >= 500;
+            }
+        }
+        return false;
+    }
+}
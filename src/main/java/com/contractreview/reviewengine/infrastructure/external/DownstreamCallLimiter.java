@@ -0,0 +1,143 @@
+package com.contractreview.reviewengine.infrastructure.external;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 下游服务并发限制器
+ * 为每个下游服务维护独立信号量，虚拟线程模式下线程数不再受线程池约束，由此限制对下游的并发调用。
+ * AI模型服务按模型路由分别维护自适应并发上限与熔断器（某个平台过载不会收缩或熔断其他平台），
+ * 所有路由共用一个舱壁（在途加等待的调用数硬上限，超出立即拒绝）
+ *
+ * @author SaltyFish
+ */
+@Component
+public class DownstreamCallLimiter {
+
+    /**
+     * 下游服务
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Downstream {
+        CLAUSE_EXTRACTION("条款抽取服务"),
+        CLAUSE("条款服务"),
+        REVIEW_RULE("审查规则服务"),
+        PROMPT("提示词服务"),
+        AI_MODEL("AI模型服务");
+
+        private final String displayName;
+    }
+
+    /**
+     * AI模型服务的熔断器配置名（resilience4j.circuitbreaker.configs.aiModel）与舱壁实例名（resilience4j.bulkhead.instances.aiModel）
+     */
+    static final String AI_MODEL_INSTANCE = "aiModel";
+
+    /**
+     * 单个模型路由的自适应并发上限与熔断器
+     */
+    private record ModelRouteGuard(AdaptiveConcurrencyLimiter limiter, CircuitBreaker circuitBreaker) {
+    }
+
+    private final Map<Downstream, Semaphore> permits = new EnumMap<>(Downstream.class);
+    private final Map<String, ModelRouteGuard> modelRouteGuards = new ConcurrentHashMap<>();
+    private final long acquireTimeoutMillis;
+    private final int aiModelConcurrency;
+    private final int aiModelMinLimit;
+    private final int aiModelMaxLimit;
+    private final double aiModelBackoffRatio;
+    private final long aiModelLatencyThresholdMillis;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Bulkhead aiModelBulkhead;
+
+    public DownstreamCallLimiter(@Value("${contract.review.downstream.clause-extraction-concurrency:16}") int clauseExtractionConcurrency,
+                                 @Value("${contract.review.downstream.clause-concurrency:32}") int clauseConcurrency,
+                                 @Value("${contract.review.downstream.review-rule-concurrency:32}") int reviewRuleConcurrency,
+                                 @Value("${contract.review.downstream.prompt-concurrency:32}") int promptConcurrency,
+                                 @Value("${contract.review.downstream.ai-model-concurrency:8}") int aiModelConcurrency,
+                                 @Value("${contract.review.downstream.acquire-timeout-millis:60000}") long acquireTimeoutMillis,
+                                 @Value("${contract.review.downstream.ai-model-adaptive.min-limit:1}") int aiModelMinLimit,
+                                 @Value("${contract.review.downstream.ai-model-adaptive.max-limit:32}") int aiModelMaxLimit,
+                                 @Value("${contract.review.downstream.ai-model-adaptive.backoff-ratio:0.9}") double aiModelBackoffRatio,
+                                 @Value("${contract.review.downstream.ai-model-adaptive.latency-threshold-millis:90000}") long aiModelLatencyThresholdMillis,
+                                 CircuitBreakerRegistry circuitBreakerRegistry,
+                                 BulkheadRegistry bulkheadRegistry,
+                                 MeterRegistry meterRegistry) {
+        permits.put(Downstream.CLAUSE_EXTRACTION, new Semaphore(clauseExtractionConcurrency, true));
+        permits.put(Downstream.CLAUSE, new Semaphore(clauseConcurrency, true));
+        permits.put(Downstream.REVIEW_RULE, new Semaphore(reviewRuleConcurrency, true));
+        permits.put(Downstream.PROMPT, new Semaphore(promptConcurrency, true));
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.aiModelConcurrency = aiModelConcurrency;
+        this.aiModelMinLimit = aiModelMinLimit;
+        this.aiModelMaxLimit = aiModelMaxLimit;
+        this.aiModelBackoffRatio = aiModelBackoffRatio;
+        this.aiModelLatencyThresholdMillis = aiModelLatencyThresholdMillis;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.meterRegistry = meterRegistry;
+        this.aiModelBulkhead = bulkheadRegistry.bulkhead(AI_MODEL_INSTANCE);
+    }
+
+    /**
+     * 在下游服务并发许可内执行调用；AI模型服务未指定路由时按单一路由限制
+     */
+    public <T> T call(Downstream downstream, Supplier<T> call) {
+        if (downstream == Downstream.AI_MODEL) {
+            return callModel(Downstream.AI_MODEL.name(), call);
+        }
+
+        Semaphore semaphore = permits.get(downstream);
+        try {
+            if (!semaphore.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new PermitAcquireTimeoutException("等待" + downstream.getDisplayName() + "调用许可超时");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("等待" + downstream.getDisplayName() + "调用许可被中断", e);
+        }
+
+        try {
+            return call.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * 在指定模型路由的自适应并发上限与熔断器内执行AI模型调用
+     *
+     * @param routeName 模型路由名（平台:模型编码）
+     */
+    public <T> T callModel(String routeName, Supplier<T> call) {
+        ModelRouteGuard guard = modelRouteGuards.computeIfAbsent(routeName, this::createModelRouteGuard);
+        Supplier<T> limited = () -> guard.limiter().call(call, acquireTimeoutMillis);
+        return CircuitBreaker.decorateSupplier(guard.circuitBreaker(),
+            Bulkhead.decorateSupplier(aiModelBulkhead, limited)).get();
+    }
+
+    private ModelRouteGuard createModelRouteGuard(String routeName) {
+        // 以配置的并发数为初始上限，之后按延迟与过载信号自适应调整
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(Downstream.AI_MODEL.name() + ":" + routeName,
+            aiModelConcurrency, aiModelMinLimit, aiModelMaxLimit, aiModelBackoffRatio, aiModelLatencyThresholdMillis,
+            meterRegistry);
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(AI_MODEL_INSTANCE + ":" + routeName,
+            AI_MODEL_INSTANCE);
+        return new ModelRouteGuard(limiter, circuitBreaker);
+    }
+}
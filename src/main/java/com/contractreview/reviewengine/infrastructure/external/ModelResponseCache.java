@@ -0,0 +1,164 @@
+package com.contractreview.reviewengine.infrastructure.external;
+
+import com.contractreview.reviewengine.domain.enums.PromptTemplateType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * AI模型响应缓存
+ * 以最终提示词、模型编码、提示词模板和最大token数的哈希为键，本地Caffeine + Redis两级缓存，
+ * 相同内容的重复审查直接复用模型原始响应；同一路由组内的路由共享缓存，缓存值记录实际返回响应的模型编码
+ *
+ * @author SaltyFish
+ */
+@Slf4j
+@Component
+public class ModelResponseCache {
+
+    /**
+     * v2 起缓存值为 模型编码 + 分隔符 + 原始响应，不读取旧格式的缓存
+     */
+    private static final String KEY_PREFIX = "contract-review:llm-response:v2:";
+    private static final char MODEL_CODE_SEPARATOR = '\u0000';
+
+    /**
+     * 缓存的模型响应
+     *
+     * @param modelCode   实际返回该响应的模型编码
+     * @param rawResponse 模型原始响应
+     */
+    public record CachedResponse(String modelCode, String rawResponse) {
+    }
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Cache<String, CachedResponse> localCache;
+    private final Duration redisTtl;
+    private final boolean enabled;
+
+    private final Counter localHits;
+    private final Counter redisHits;
+    private final Counter misses;
+    private final Counter bypasses;
+
+    public ModelResponseCache(StringRedisTemplate stringRedisTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${contract.review.llm-cache.enabled:true}") boolean enabled,
+                              @Value("${contract.review.llm-cache.local-max-chars:8388608}") long localMaxChars,
+                              @Value("${contract.review.llm-cache.local-ttl-minutes:60}") long localTtlMinutes,
+                              @Value("${contract.review.llm-cache.redis-ttl-hours:168}") long redisTtlHours) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = enabled;
+        this.redisTtl = Duration.ofHours(redisTtlHours);
+        this.localCache = Caffeine.newBuilder()
+            // 按字符数计权，单条模型响应大小差异很大，按条数限制无法约束堆占用
+            .maximumWeight(localMaxChars)
+            .weigher((String key, CachedResponse value) -> key.length() + value.modelCode().length() + value.rawResponse().length())
+            .expireAfterWrite(Duration.ofMinutes(localTtlMinutes))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "llmResponseLocal");
+
+        this.localHits = lookupCounter(meterRegistry, "local_hit");
+        this.redisHits = lookupCounter(meterRegistry, "redis_hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        this.bypasses = lookupCounter(meterRegistry, "bypass");
+    }
+
+    /**
+     * 计算缓存键
+     */
+    public static String key(String prompt, String modelCode, PromptTemplateType promptTemplate, int maxTokens) {
+        String material = String.join("\u0000",
+            modelCode, String.valueOf(promptTemplate), String.valueOf(maxTokens), prompt);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(material.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256不可用", e);
+        }
+    }
+
+    /**
+     * 查询缓存的模型响应，先查本地再查Redis，Redis命中时回填本地
+     *
+     * @param bypass 是否跳过缓存（任务级开关）
+     */
+    public Optional<CachedResponse> get(String key, boolean bypass) {
+        if (!enabled || bypass) {
+            bypasses.increment();
+            return Optional.empty();
+        }
+
+        CachedResponse local = localCache.getIfPresent(key);
+        if (local != null) {
+            localHits.increment();
+            return Optional.of(local);
+        }
+
+        try {
+            String remote = stringRedisTemplate.opsForValue().get(KEY_PREFIX + key);
+            int separator = remote != null ? remote.indexOf(MODEL_CODE_SEPARATOR) : -1;
+            if (separator > 0) {
+                CachedResponse cached = new CachedResponse(remote.substring(0, separator), remote.substring(separator + 1));
+                localCache.put(key, cached);
+                redisHits.increment();
+                return Optional.of(cached);
+            }
+        } catch (Exception e) {
+            log.warn("读取模型响应缓存失败: {}", e.getMessage());
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * 写入模型响应，仅应在响应解析成功后调用
+     *
+     * @param modelCode 实际返回该响应的模型编码
+     */
+    public void put(String key, String modelCode, String rawResponse) {
+        if (!enabled) {
+            return;
+        }
+        localCache.put(key, new CachedResponse(modelCode, rawResponse));
+        try {
+            stringRedisTemplate.opsForValue().set(KEY_PREFIX + key, modelCode + MODEL_CODE_SEPARATOR + rawResponse, redisTtl);
+        } catch (Exception e) {
+            log.warn("写入模型响应缓存失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 删除缓存的模型响应
+     */
+    public void evict(String key) {
+        localCache.invalidate(key);
+        try {
+            stringRedisTemplate.delete(KEY_PREFIX + key);
+        } catch (Exception e) {
+            log.warn("删除模型响应缓存失败: {}", e.getMessage());
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("contract.review.llm.cache.lookups")
+            .description("AI模型响应缓存查询次数")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,421 @@
+package com.contractreview.reviewengine.infrastructure.external;
+
+import com.contract.ai.feign.enums.ModelType;
+import com.contract.ai.feign.enums.PlatFormType;
+import com.contractreview.reviewengine.domain.enums.PromptTemplateType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 模型路由器
+ * 按审查模板在多个平台/模型之间选择：优先选择声明支持该模板的路由（效率模板配置更快的模型，严格模板配置更强的模型），
+ * 同组内按延迟EWMA与错误率打分，剩余配额耗尽的路由不参与；主路由超过其尾延迟（EWMA + 4倍偏差）仍未返回时，
+ * 向同组次优路由发出对冲请求并取先返回者，落败请求被取消；调用失败时依次故障转移到其他路由
+ *
+ * @author SaltyFish
+ */
+@Slf4j
+@Component
+public class ModelRouter {
+
+    /**
+     * 模型路由：平台、模型编码、适用的审查模板以及每分钟请求配额（不大于0时不限制）
+     */
+    public record ModelRoute(PlatFormType platform, String modelCode, Set<PromptTemplateType> templates, int quotaPerMinute) {
+
+        public String name() {
+            return platform.name() + ":" + modelCode;
+        }
+    }
+
+    /**
+     * 路由调用结果，附带实际返回结果的路由
+     */
+    public record Routed<T>(ModelRoute route, T response) {
+    }
+
+    /**
+     * 路由实时统计
+     */
+    private final class RouteStats {
+        private final Timer latencyTimer;
+        private final Counter errorCounter;
+        private long samples;
+        private double smoothedLatencyMillis;
+        private double latencyDeviationMillis;
+        private double errorRate;
+        private long errorRateUpdatedMillis;
+        private long quotaWindowStart;
+        private int quotaUsed;
+
+        private RouteStats(ModelRoute route) {
+            this.latencyTimer = Timer.builder("ai.model.route.latency")
+                .description("模型路由调用耗时")
+                .tag("route", route.name())
+                .register(meterRegistry);
+            this.errorCounter = Counter.builder("ai.model.route.errors")
+                .description("模型路由调用失败次数")
+                .tag("route", route.name())
+                .register(meterRegistry);
+        }
+
+        synchronized void onSuccess(long latencyMillis) {
+            latencyTimer.record(latencyMillis, TimeUnit.MILLISECONDS);
+            if (samples == 0) {
+                smoothedLatencyMillis = latencyMillis;
+                latencyDeviationMillis = latencyMillis / 2.0;
+            } else {
+                latencyDeviationMillis = 0.75 * latencyDeviationMillis + 0.25 * Math.abs(smoothedLatencyMillis - latencyMillis);
+                smoothedLatencyMillis = (1 - latencyAlpha) * smoothedLatencyMillis + latencyAlpha * latencyMillis;
+            }
+            samples++;
+            errorRate = currentErrorRate() * (1 - errorAlpha);
+            errorRateUpdatedMillis = System.currentTimeMillis();
+        }
+
+        synchronized void onError() {
+            errorCounter.increment();
+            errorRate = currentErrorRate() * (1 - errorAlpha) + errorAlpha;
+            errorRateUpdatedMillis = System.currentTimeMillis();
+        }
+
+        /**
+         * 错误率随时间按半衰期衰减，不再有流量的路由也能逐步恢复
+         */
+        synchronized double currentErrorRate() {
+            if (errorRate == 0) {
+                return 0;
+            }
+            long elapsed = System.currentTimeMillis() - errorRateUpdatedMillis;
+            return errorRate * Math.pow(0.5, (double) elapsed / errorHalfLifeMillis);
+        }
+
+        /**
+         * 得分越低越优先；尚未成功过的路由先试探一次，只失败过的路由排在最后
+         */
+        synchronized double score() {
+            double currentErrorRate = currentErrorRate();
+            if (samples == 0) {
+                return currentErrorRate == 0 ? 0 : Double.MAX_VALUE;
+            }
+            return smoothedLatencyMillis * (1 + errorPenalty * currentErrorRate);
+        }
+
+        /**
+         * 对冲等待时间；尚无样本时不对冲
+         */
+        synchronized long hedgeDelayMillis() {
+            if (samples < hedgeMinSamples) {
+                return -1;
+            }
+            return Math.max(minHedgeDelayMillis, (long) (smoothedLatencyMillis + 4 * latencyDeviationMillis));
+        }
+
+        synchronized boolean hasQuota(int quotaPerMinute) {
+            rollQuota();
+            return quotaPerMinute <= 0 || quotaUsed < quotaPerMinute;
+        }
+
+        synchronized boolean tryConsumeQuota(int quotaPerMinute) {
+            rollQuota();
+            if (quotaPerMinute > 0 && quotaUsed >= quotaPerMinute) {
+                return false;
+            }
+            quotaUsed++;
+            return true;
+        }
+
+        private void rollQuota() {
+            long now = System.currentTimeMillis();
+            if (now - quotaWindowStart >= 60_000) {
+                quotaWindowStart = now;
+                quotaUsed = 0;
+            }
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Counter hedgeCounter;
+    private final Map<ModelRoute, RouteStats> routes = new LinkedHashMap<>();
+    private final boolean hedgingEnabled;
+    private final long minHedgeDelayMillis;
+    private final int hedgeMinSamples;
+    private final int maxAttempts;
+    private final double latencyAlpha;
+    private final double errorAlpha;
+    private final double errorPenalty;
+    private final double unhealthyErrorRate;
+    private final long errorHalfLifeMillis;
+
+    /**
+     * 路由调用执行器（modelCallExecutor），实际并发由AI模型调用许可控制
+     */
+    private final ExecutorService routeExecutor;
+
+    /**
+     * @param routeSpecs 路由配置，逗号分隔，每项格式为 平台:模型编码:模板1/模板2:每分钟配额；为空时使用 IFLOW 平台默认模型服务全部模板
+     */
+    public ModelRouter(@Value("${contract.review.model-router.routes:}") String routeSpecs,
+                       @Value("${contract.review.model-router.hedging.enabled:true}") boolean hedgingEnabled,
+                       @Value("${contract.review.model-router.hedging.min-delay-millis:5000}") long minHedgeDelayMillis,
+                       @Value("${contract.review.model-router.hedging.min-samples:5}") int hedgeMinSamples,
+                       @Value("${contract.review.model-router.max-attempts:2}") int maxAttempts,
+                       @Value("${contract.review.model-router.latency-alpha:0.2}") double latencyAlpha,
+                       @Value("${contract.review.model-router.error-alpha:0.2}") double errorAlpha,
+                       @Value("${contract.review.model-router.error-penalty:4}") double errorPenalty,
+                       @Value("${contract.review.model-router.unhealthy-error-rate:0.5}") double unhealthyErrorRate,
+                       @Value("${contract.review.model-router.error-half-life-seconds:60}") long errorHalfLifeSeconds,
+                       @Qualifier("modelCallExecutor") ExecutorService routeExecutor,
+                       MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.routeExecutor = routeExecutor;
+        this.hedgingEnabled = hedgingEnabled;
+        this.minHedgeDelayMillis = Math.max(0, minHedgeDelayMillis);
+        this.hedgeMinSamples = Math.max(1, hedgeMinSamples);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.latencyAlpha = latencyAlpha;
+        this.errorAlpha = errorAlpha;
+        this.errorPenalty = errorPenalty;
+        this.unhealthyErrorRate = unhealthyErrorRate;
+        this.errorHalfLifeMillis = Math.max(1, errorHalfLifeSeconds) * 1000;
+        this.hedgeCounter = Counter.builder("ai.model.route.hedges")
+            .description("模型路由对冲请求次数")
+            .register(meterRegistry);
+
+        for (ModelRoute route : parseRoutes(routeSpecs)) {
+            routes.put(route, new RouteStats(route));
+        }
+        log.info("模型路由: {}", routes.keySet().stream().map(ModelRoute::name).collect(Collectors.toList()));
+    }
+
+    /**
+     * 按模板选择路由执行调用，必要时对冲与故障转移
+     *
+     * @param invocation 在指定路由上执行一次模型调用
+     */
+    public <T> Routed<T> call(PromptTemplateType template, Function<ModelRoute, T> invocation) {
+        List<ModelRoute> candidates = rank(template);
+        if (candidates.isEmpty()) {
+            throw new RuntimeException("没有可用的模型路由，配额已全部耗尽");
+        }
+
+        Set<ModelRoute> tried = new HashSet<>();
+        RuntimeException lastError = null;
+        for (ModelRoute route : candidates) {
+            if (tried.size() >= maxAttempts) {
+                break;
+            }
+            if (!tried.add(route)) {
+                continue;
+            }
+            ModelRoute hedgeRoute = hedgingEnabled ? hedgeTarget(candidates, route, template, tried) : null;
+            try {
+                return attempt(route, hedgeRoute, invocation, tried);
+            } catch (RuntimeException e) {
+                lastError = e;
+                log.warn("模型路由 {} 调用失败，尝试下一个路由: {}", route.name(), e.getMessage());
+            }
+        }
+        throw lastError;
+    }
+
+    /**
+     * 模板对应的路由组标识，路由配置不变时保持稳定，可作为缓存键的一部分
+     */
+    public String routeGroup(PromptTemplateType template) {
+        return preferredRoutes(template).stream().map(ModelRoute::name).sorted().collect(Collectors.joining(","));
+    }
+
+    /**
+     * 候选路由排序：有剩余配额的路由按 首选且健康、非首选且健康、首选但错误率高、其他 分层，层内按得分升序
+     */
+    List<ModelRoute> rank(PromptTemplateType template) {
+        PromptTemplateType resolved = resolve(template);
+        return routes.entrySet().stream()
+            .filter(entry -> entry.getValue().hasQuota(entry.getKey().quotaPerMinute()))
+            .sorted(Comparator.<Map.Entry<ModelRoute, RouteStats>>comparingInt(entry -> tier(entry, resolved))
+                .thenComparingDouble(entry -> entry.getValue().score()))
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+    }
+
+    private <T> Routed<T> attempt(ModelRoute route, ModelRoute hedgeRoute, Function<ModelRoute, T> invocation,
+                                  Set<ModelRoute> tried) {
+        CompletableFuture<Routed<T>> primary = submit(route, invocation);
+        long hedgeDelay = hedgeRoute == null ? -1 : routes.get(route).hedgeDelayMillis();
+        if (hedgeDelay < 0) {
+            return await(primary);
+        }
+
+        try {
+            return primary.get(hedgeDelay, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.info("模型路由 {} 超过 {}ms 未返回，对冲请求 {}", route.name(), hedgeDelay, hedgeRoute.name());
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("等待模型路由结果被中断", e);
+        }
+
+        hedgeCounter.increment();
+        tried.add(hedgeRoute);
+        CompletableFuture<Routed<T>> hedge = submit(hedgeRoute, invocation);
+        try {
+            return await(firstSuccessful(primary, hedge));
+        } finally {
+            // 取消落败请求，释放其占用的调用许可，不再继续消耗token
+            primary.cancel(true);
+            hedge.cancel(true);
+        }
+    }
+
+    /**
+     * 在虚拟线程上执行一次路由调用；返回的结果被取消时中断执行线程，等待许可或阻塞在网络读写的调用随之结束
+     */
+    private <T> CompletableFuture<Routed<T>> submit(ModelRoute route, Function<ModelRoute, T> invocation) {
+        RouteStats stats = routes.get(route);
+        CompletableFuture<Routed<T>> result = new CompletableFuture<>();
+        Future<?> running = routeExecutor.submit(() -> {
+            if (!stats.tryConsumeQuota(route.quotaPerMinute())) {
+                result.completeExceptionally(new RuntimeException("模型路由 " + route.name() + " 配额已耗尽"));
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                T response = invocation.apply(route);
+                stats.onSuccess(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                result.complete(new Routed<>(route, response));
+            } catch (RuntimeException e) {
+                // 被取消的请求不计入该路由的错误率
+                if (!result.isCancelled()) {
+                    stats.onError();
+                }
+                result.completeExceptionally(e);
+            } catch (Error e) {
+                result.completeExceptionally(e);
+                throw e;
+            }
+        });
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                running.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 先成功者胜出；都失败时以后失败者的异常结束
+     */
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> first, CompletableFuture<T> second) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> future : List.of(first, second)) {
+            future.whenComplete((result, error) -> {
+                if (error == null) {
+                    winner.complete(result);
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private ModelRoute hedgeTarget(List<ModelRoute> candidates, ModelRoute primary, PromptTemplateType template,
+                                   Set<ModelRoute> tried) {
+        PromptTemplateType resolved = resolve(template);
+        // 只向同样支持该模板的路由对冲，避免严格模板的请求被较弱的模型抢答
+        return candidates.stream()
+            .filter(route -> !route.equals(primary) && !tried.contains(route) && route.templates().contains(resolved))
+            .findFirst()
+            .orElse(null);
+    }
+
+    private int tier(Map.Entry<ModelRoute, RouteStats> entry, PromptTemplateType template) {
+        boolean preferred = entry.getKey().templates().contains(template);
+        boolean healthy = entry.getValue().currentErrorRate() < unhealthyErrorRate;
+        if (healthy) {
+            return preferred ? 0 : 1;
+        }
+        return preferred ? 2 : 3;
+    }
+
+    private List<ModelRoute> preferredRoutes(PromptTemplateType template) {
+        PromptTemplateType resolved = resolve(template);
+        List<ModelRoute> preferred = routes.keySet().stream()
+            .filter(route -> route.templates().contains(resolved))
+            .collect(Collectors.toList());
+        return preferred.isEmpty() ? new ArrayList<>(routes.keySet()) : preferred;
+    }
+
+    private static PromptTemplateType resolve(PromptTemplateType template) {
+        return template != null ? template : PromptTemplateType.STANDARD;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof RuntimeException runtimeException
+            ? runtimeException
+            : new RuntimeException("模型路由调用失败: " + cause.getMessage(), cause);
+    }
+
+    static List<ModelRoute> parseRoutes(String routeSpecs) {
+        if (routeSpecs == null || routeSpecs.isBlank()) {
+            return List.of(new ModelRoute(PlatFormType.IFLOW, ModelType.IFlow_GLM_4_6.getModelCode(),
+                EnumSet.allOf(PromptTemplateType.class), 0));
+        }
+
+        List<ModelRoute> parsed = new ArrayList<>();
+        for (String spec : routeSpecs.split(",")) {
+            if (spec.isBlank()) {
+                continue;
+            }
+            String[] parts = spec.trim().split(":");
+            if (parts.length < 2) {
+                throw new IllegalArgumentException("模型路由配置格式错误: " + spec);
+            }
+            Set<PromptTemplateType> templates = parts.length > 2 && !parts[2].isBlank()
+                ? Arrays.stream(parts[2].split("/")).map(String::trim).map(PromptTemplateType::valueOf)
+                    .collect(Collectors.toCollection(() -> EnumSet.noneOf(PromptTemplateType.class)))
+                : EnumSet.allOf(PromptTemplateType.class);
+            int quota = parts.length > 3 ? Integer.parseInt(parts[3].trim()) : 0;
+            parsed.add(new ModelRoute(PlatFormType.valueOf(parts[0].trim()), parts[1].trim(), templates, quota));
+        }
+        return parsed;
+    }
+}
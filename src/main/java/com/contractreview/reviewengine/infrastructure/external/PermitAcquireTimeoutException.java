@@ -0,0 +1,14 @@
+package com.contractreview.reviewengine.infrastructure.external;
+
+/**
+ * 等待下游服务调用许可超时
+ * 调用未发出，下游没有收到请求，与下游本身的失败区分开
+ *
+ * @author SaltyFish
+ */
+public class PermitAcquireTimeoutException extends RuntimeException {
+
+    public PermitAcquireTimeoutException(String message) {
+        super(message);
+    }
+}
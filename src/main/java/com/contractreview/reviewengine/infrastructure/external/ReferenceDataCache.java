@@ -0,0 +1,182 @@
+package com.contractreview.reviewengine.infrastructure.external;
+
+import com.contract.common.feign.PromptFeignClient;
+import com.contract.common.feign.ReviewRuleFeignClient;
+import com.contract.common.feign.dto.PromptFeignDTO;
+import com.contract.common.feign.dto.PromptPageResultFeignDTO;
+import com.contract.common.feign.dto.PromptQueryFeignDTO;
+import com.contract.common.feign.dto.ReviewRuleFeignDTO;
+import com.contract.common.feign.dto.ReviewRulePageResultFeignDTO;
+import com.contract.common.feign.dto.ReviewRuleQueryFeignDTO;
+import com.contractreview.reviewengine.infrastructure.external.DownstreamCallLimiter.Downstream;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 审查参考数据缓存
+ * 审查规则按（合同类型, 提示词模板编码）、系统提示词按名称缓存，过期前在后台异步刷新；
+ * 缓存键带有Redis中的全局版本号，任一实例调用失效接口后所有实例都会重新加载；
+ * 版本号在本地缓存一个较短的时间，读取失败时沿用上次读到的值
+ *
+ * @author SaltyFish
+ */
+@Slf4j
+@Component
+public class ReferenceDataCache {
+
+    private static final String VERSION_KEY = "contract-review:reference-data:version";
+
+    private final ReviewRuleFeignClient reviewRuleFeignClient;
+    private final PromptFeignClient promptFeignClient;
+    private final DownstreamCallLimiter downstreamCallLimiter;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final LoadingCache<RuleKey, List<ReviewRuleFeignDTO>> rules;
+    private final LoadingCache<PromptKey, List<PromptFeignDTO>> prompts;
+
+    /**
+     * Redis不可用时使用的本地版本号
+     */
+    private final AtomicLong localVersion = new AtomicLong();
+
+    /**
+     * 最近一次从Redis读到的全局版本号及读取时间
+     */
+    private volatile long remoteVersion;
+    private volatile long versionCheckedAt;
+
+    @Value("${contract.review.reference-cache.version-check-millis:5000}")
+    private long versionCheckMillis;
+
+    @Value("${ruoyi.remote-auth.secret:}")
+    private String secret;
+
+    /**
+     * 规则缓存键
+     */
+    record RuleKey(long version, String contractType, Short promptTemplateCode) {
+    }
+
+    /**
+     * 提示词缓存键
+     */
+    record PromptKey(long version, String promptName) {
+    }
+
+    public ReferenceDataCache(ReviewRuleFeignClient reviewRuleFeignClient,
+                              PromptFeignClient promptFeignClient,
+                              DownstreamCallLimiter downstreamCallLimiter,
+                              StringRedisTemplate stringRedisTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${contract.review.reference-cache.max-size:200}") long maxSize,
+                              @Value("${contract.review.reference-cache.refresh-after-minutes:5}") long refreshAfterMinutes,
+                              @Value("${contract.review.reference-cache.expire-after-minutes:30}") long expireAfterMinutes) {
+        this.reviewRuleFeignClient = reviewRuleFeignClient;
+        this.promptFeignClient = promptFeignClient;
+        this.downstreamCallLimiter = downstreamCallLimiter;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.rules = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .refreshAfterWrite(Duration.ofMinutes(refreshAfterMinutes))
+            .expireAfterWrite(Duration.ofMinutes(expireAfterMinutes))
+            .recordStats()
+            .build(this::loadRules);
+        this.prompts = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .refreshAfterWrite(Duration.ofMinutes(refreshAfterMinutes))
+            .expireAfterWrite(Duration.ofMinutes(expireAfterMinutes))
+            .recordStats()
+            .build(this::loadPrompts);
+        CaffeineCacheMetrics.monitor(meterRegistry, rules, "reviewRules");
+        CaffeineCacheMetrics.monitor(meterRegistry, prompts, "systemPrompts");
+    }
+
+    /**
+     * 获取启用的审查规则，同一键的并发请求只触发一次远程调用
+     */
+    public List<ReviewRuleFeignDTO> getReviewRules(String contractType, Short promptTemplateCode) {
+        return rules.get(new RuleKey(currentVersion(), contractType, promptTemplateCode));
+    }
+
+    /**
+     * 获取启用的内置系统提示词
+     */
+    public List<PromptFeignDTO> getSystemPrompts(String promptName) {
+        return prompts.get(new PromptKey(currentVersion(), promptName));
+    }
+
+    /**
+     * 失效全部参考数据：递增全局版本号并清空本地缓存
+     * 规则或提示词变更后由管理接口调用
+     */
+    public void invalidateAll() {
+        try {
+            Long version = stringRedisTemplate.opsForValue().increment(VERSION_KEY);
+            if (version != null) {
+                remoteVersion = version;
+                versionCheckedAt = System.currentTimeMillis();
+            }
+        } catch (Exception e) {
+            log.warn("递增参考数据版本号失败，仅失效本实例缓存: {}", e.getMessage());
+        }
+        localVersion.incrementAndGet();
+        rules.invalidateAll();
+        prompts.invalidateAll();
+        log.info("审查参考数据缓存已失效");
+    }
+
+    /**
+     * 当前版本号：全局版本号超过检查间隔才重新读取Redis，读取失败时沿用上次读到的值
+     */
+    private long currentVersion() {
+        long now = System.currentTimeMillis();
+        if (now - versionCheckedAt >= versionCheckMillis) {
+            // 先记录检查时间，Redis不可用时同样按间隔重试，不在每次查找时都访问
+            versionCheckedAt = now;
+            try {
+                String version = stringRedisTemplate.opsForValue().get(VERSION_KEY);
+                remoteVersion = version == null ? 0 : Long.parseLong(version);
+            } catch (Exception e) {
+                log.warn("读取参考数据版本号失败，沿用版本号 {}: {}", remoteVersion, e.getMessage());
+            }
+        }
+        return remoteVersion + localVersion.get();
+    }
+
+    private List<ReviewRuleFeignDTO> loadRules(RuleKey key) {
+        // 审查规则, 根据合同类型、条款类型、模式编码、enable来筛选审查规则
+        ReviewRuleQueryFeignDTO query = new ReviewRuleQueryFeignDTO();
+        query.setContractType(key.contractType());
+        query.setClauseType(key.contractType());
+        query.setEnabled(true);
+        query.setPromptModeCodeList(List.of(key.promptTemplateCode()));
+        query.setPageSize(Integer.MAX_VALUE);
+
+        ReviewRulePageResultFeignDTO result = downstreamCallLimiter.call(Downstream.REVIEW_RULE,
+            () -> reviewRuleFeignClient.searchReviewRules(query, secret));
+        log.debug("加载审查规则，合同类型: {}，模板编码: {}", key.contractType(), key.promptTemplateCode());
+        return result.getRecords() == null ? List.of() : List.copyOf(result.getRecords());
+    }
+
+    private List<PromptFeignDTO> loadPrompts(PromptKey key) {
+        PromptQueryFeignDTO query = new PromptQueryFeignDTO();
+        query.setPromptName(key.promptName());
+        query.setEnabled(true);
+        query.setPromptTypeList(List.of("INNER"));
+        query.setPageSize(Integer.MAX_VALUE);
+
+        PromptPageResultFeignDTO result = downstreamCallLimiter.call(Downstream.PROMPT,
+            () -> promptFeignClient.searchPrompts(query, secret));
+        log.debug("加载系统提示词: {}", key.promptName());
+        return result.getRecords() == null ? List.of() : List.copyOf(result.getRecords());
+    }
+}
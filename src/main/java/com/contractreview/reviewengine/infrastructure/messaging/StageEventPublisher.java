@@ -0,0 +1,67 @@
+package com.contractreview.reviewengine.infrastructure.messaging;
+
+import com.contractreview.reviewengine.domain.event.TaskStageReadyEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 阶段就绪事件发布器
+ * 任务保存事务提交后投递到对应阶段队列；投递失败时由低频轮询兜底
+ *
+ * @author SaltyFish
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "contract.review.messaging.enabled", havingValue = "true")
+public class StageEventPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    /**
+     * 事务提交后发布阶段就绪事件
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStageReady(TaskStageReadyEvent event) {
+        if (!StageQueues.supports(event.getStage())) {
+            return;
+        }
+        publish(event);
+    }
+
+    /**
+     * 立即投递
+     */
+    public void publish(TaskStageReadyEvent event) {
+        try {
+            rabbitTemplate.convertAndSend(StageQueues.STAGE_EXCHANGE, StageQueues.routingKey(event.getStage()), event);
+            log.debug("任务 {} 阶段 {} 就绪事件已投递", event.getTaskId(), event.getStage());
+        } catch (Exception e) {
+            log.warn("任务 {} 阶段就绪事件投递失败，等待轮询兜底: {}", event.getTaskId(), e.getMessage());
+        }
+    }
+
+    /**
+     * 延迟投递：进入重试队列，过期后回到阶段队列
+     *
+     * @param busy 任务被占用的重新投递次数
+     */
+    public void publishDelayed(TaskStageReadyEvent event, long delayMillis, int busy) {
+        try {
+            rabbitTemplate.convertAndSend(StageQueues.RETRY_EXCHANGE, StageQueues.routingKey(event.getStage()), event,
+                message -> {
+                    message.getMessageProperties().setExpiration(String.valueOf(Math.max(0, delayMillis)));
+                    message.getMessageProperties().setHeader(StageQueues.BUSY_HEADER, busy);
+                    return message;
+                });
+            log.debug("任务 {} 阶段 {} 事件 {} 毫秒后重新投递", event.getTaskId(), event.getStage(), delayMillis);
+        } catch (Exception e) {
+            log.warn("任务 {} 阶段事件延迟投递失败，等待轮询兜底: {}", event.getTaskId(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.contractreview.reviewengine.infrastructure.messaging;
+
+import com.contractreview.reviewengine.domain.enums.ExecutionStage;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 阶段消息队列命名
+ * 每个已实现阶段对应 主队列、延迟重试队列、死信队列 三个队列，路由键为阶段名
+ *
+ * @author SaltyFish
+ */
+public final class StageQueues {
+
+    /**
+     * 阶段就绪交换机
+     */
+    public static final String STAGE_EXCHANGE = "contract-review.stage";
+
+    /**
+     * 延迟重试交换机，消息在重试队列中过期后回到阶段就绪交换机
+     */
+    public static final String RETRY_EXCHANGE = "contract-review.stage.retry";
+
+    /**
+     * 死信交换机
+     */
+    public static final String DEAD_LETTER_EXCHANGE = "contract-review.stage.dlx";
+
+    public static final String CLAUSE_EXTRACTION_QUEUE = "contract-review.stage.clause-extraction";
+    public static final String MODEL_REVIEW_QUEUE = "contract-review.stage.model-review";
+    public static final String REPORT_GENERATION_QUEUE = "contract-review.stage.report-generation";
+
+    /**
+     * 任务被占用时的重新投递次数头
+     */
+    public static final String BUSY_HEADER = "x-stage-busy";
+
+    private static final Set<ExecutionStage> SUPPORTED_STAGES = EnumSet.of(
+        ExecutionStage.CLAUSE_EXTRACTION, ExecutionStage.MODEL_REVIEW, ExecutionStage.REPORT_GENERATION);
+
+    private StageQueues() {
+    }
+
+    /**
+     * 阶段是否有消息消费者
+     */
+    public static boolean supports(ExecutionStage stage) {
+        return SUPPORTED_STAGES.contains(stage);
+    }
+
+    public static String routingKey(ExecutionStage stage) {
+        return stage.name();
+    }
+
+    public static String queue(ExecutionStage stage) {
+        return switch (stage) {
+            case CLAUSE_EXTRACTION -> CLAUSE_EXTRACTION_QUEUE;
+            case MODEL_REVIEW -> MODEL_REVIEW_QUEUE;
+            case REPORT_GENERATION -> REPORT_GENERATION_QUEUE;
+            default -> throw new IllegalArgumentException("阶段 " + stage + " 没有对应的消息队列");
+        };
+    }
+
+    public static String retryQueue(ExecutionStage stage) {
+        return queue(stage) + ".retry";
+    }
+
+    public static String deadLetterQueue(ExecutionStage stage) {
+        return queue(stage) + ".dlq";
+    }
+}
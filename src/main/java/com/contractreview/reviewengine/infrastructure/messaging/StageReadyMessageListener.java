@@ -0,0 +1,126 @@
+package com.contractreview.reviewengine.infrastructure.messaging;
+
+import com.contractreview.reviewengine.domain.enums.ExecutionStage;
+import com.contractreview.reviewengine.domain.enums.TaskStatus;
+import com.contractreview.reviewengine.domain.event.TaskStageReadyEvent;
+import com.contractreview.reviewengine.domain.model.Task;
+import com.contractreview.reviewengine.domain.model.TaskId;
+import com.contractreview.reviewengine.domain.repository.TaskRepository;
+import com.contractreview.reviewengine.infrastructure.executor.StageTaskDispatcher;
+import com.contractreview.reviewengine.infrastructure.executor.TaskLeaseManager;
+import com.rabbitmq.client.Channel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 阶段就绪消息消费者
+ * 每个阶段独立队列、手动确认；认领到的任务与轮询认领一样投入阶段分发器的泳道，受泳道并发、租户公平分享和反压约束，
+ * 投入泳道后即确认消息。执行失败的任务由失败任务重试作业按重试策略重置后重新发布就绪事件，
+ * 消费者本身不做重试计数；投递过程抛出未预期异常的消息进入死信队列备查
+ *
+ * @author SaltyFish
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "contract.review.messaging.enabled", havingValue = "true")
+public class StageReadyMessageListener {
+
+    private final TaskRepository taskRepository;
+    private final TaskLeaseManager taskLeaseManager;
+    private final StageEventPublisher stageEventPublisher;
+    private final StageTaskDispatcher stageTaskDispatcher;
+
+    @Value("${contract.review.messaging.busy-redelivery-delay-millis:5000}")
+    private long busyRedeliveryDelayMillis;
+
+    @Value("${contract.review.messaging.max-busy-redeliveries:5}")
+    private int maxBusyRedeliveries;
+
+    public StageReadyMessageListener(TaskRepository taskRepository,
+                                     TaskLeaseManager taskLeaseManager,
+                                     StageEventPublisher stageEventPublisher,
+                                     StageTaskDispatcher stageTaskDispatcher) {
+        this.taskRepository = taskRepository;
+        this.taskLeaseManager = taskLeaseManager;
+        this.stageEventPublisher = stageEventPublisher;
+        this.stageTaskDispatcher = stageTaskDispatcher;
+    }
+
+    @RabbitListener(queues = StageQueues.CLAUSE_EXTRACTION_QUEUE, containerFactory = "clauseExtractionListenerFactory")
+    public void onClauseExtractionReady(TaskStageReadyEvent event, Message message, Channel channel) throws IOException {
+        handle(ExecutionStage.CLAUSE_EXTRACTION, event, message, channel);
+    }
+
+    @RabbitListener(queues = StageQueues.MODEL_REVIEW_QUEUE, containerFactory = "modelReviewListenerFactory")
+    public void onModelReviewReady(TaskStageReadyEvent event, Message message, Channel channel) throws IOException {
+        handle(ExecutionStage.MODEL_REVIEW, event, message, channel);
+    }
+
+    @RabbitListener(queues = StageQueues.REPORT_GENERATION_QUEUE, containerFactory = "reportGenerationListenerFactory")
+    public void onReportGenerationReady(TaskStageReadyEvent event, Message message, Channel channel) throws IOException {
+        handle(ExecutionStage.REPORT_GENERATION, event, message, channel);
+    }
+
+    /**
+     * 处理阶段就绪消息
+     */
+    void handle(ExecutionStage stage, TaskStageReadyEvent event, Message message, Channel channel) throws IOException {
+        long deliveryTag = message.getMessageProperties().getDeliveryTag();
+        int busy = intHeader(message, StageQueues.BUSY_HEADER);
+        TaskId taskId = TaskId.of(event.getTaskId());
+
+        Optional<Task> current = taskRepository.findById(taskId);
+        if (current.isEmpty() || current.get().getCurrentStage() != stage || isSettled(current.get())) {
+            // 失败的任务由重试作业重置为待处理后重新发布就绪事件
+            log.debug("任务 {} 已不处于阶段 {} 的待处理状态，丢弃过期消息", taskId, stage);
+            channel.basicAck(deliveryTag, false);
+            return;
+        }
+
+        Optional<Task> claimed = taskLeaseManager.claim(taskId, stage);
+        if (claimed.isEmpty()) {
+            // 任务仍被轮询或其他实例持有，稍后再投递；多次占用后交由轮询兜底
+            redeliverLater(event, busy);
+            channel.basicAck(deliveryTag, false);
+            return;
+        }
+
+        Task task = claimed.get();
+        try {
+            // 泳道已满或租户排队已达上限时分发器已释放租约，稍后再投递
+            if (stageTaskDispatcher.dispatch(Map.of(stage, List.of(task))) == 0) {
+                redeliverLater(event, busy);
+            }
+            channel.basicAck(deliveryTag, false);
+        } catch (Exception e) {
+            log.error("任务 {} 阶段 {} 消息处理异常，进入死信队列: {}", taskId, stage, e.getMessage(), e);
+            taskLeaseManager.release(task);
+            channel.basicNack(deliveryTag, false, false);
+        }
+    }
+
+    private void redeliverLater(TaskStageReadyEvent event, int busy) {
+        if (busy < maxBusyRedeliveries) {
+            stageEventPublisher.publishDelayed(event, busyRedeliveryDelayMillis, busy + 1);
+        }
+    }
+
+    private static boolean isSettled(Task task) {
+        return task.getStatus() == TaskStatus.COMPLETED || task.getStatus() == TaskStatus.CANCELLED
+            || task.getStatus() == TaskStatus.FAILED;
+    }
+
+    private static int intHeader(Message message, String name) {
+        Object value = message.getMessageProperties().getHeader(name);
+        return value instanceof Number number ? number.intValue() : 0;
+    }
+}
@@ -6,6 +6,7 @@ import com.contractreview.reviewengine.domain.valueobject.AuditInfo;
 import com.contractreview.reviewengine.infrastructure.persistence.entity.TaskEntity;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -34,6 +35,9 @@ public class TaskConverter {
                 .status(domain.getStatus())
                 .currentStage(domain.getCurrentStage())
                 .configuration(domain.getConfiguration())
+                .basePriority(domain.getSchedulingPriority())
+                .priority(domain.getSchedulingPriority())
+                .readyTime(LocalDateTime.now())
                 .errorMessage(domain.getErrorMessage())
                 .startTime(domain.getStartTime())
                 .endTime(domain.getCompletedAt())
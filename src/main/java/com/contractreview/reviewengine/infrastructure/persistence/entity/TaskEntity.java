@@ -86,7 +86,43 @@ public class TaskEntity {
     @Column(name = "updated_time")
     private LocalDateTime updatedTime;
 
+    /**
+     * 调度基础优先级，随配置变化
+     */
+    @Column(name = "base_priority", nullable = false)
+    private int basePriority;
+
+    /**
+     * 有效调度优先级，插入或进入新状态/阶段时等于基础优先级，之后由老化语句提升
+     */
+    @Column(name = "priority", nullable = false)
+    private int priority;
+
+    /**
+     * 进入当前状态/阶段的时间，有效优先级从此时起老化
+     */
+    @Column(name = "ready_time")
+    private LocalDateTime readyTime;
+
+    /**
+     * 最早可认领时间，由执行器延后写入，状态或阶段变化时清除
+     */
+    @Column(name = "not_before")
+    private LocalDateTime notBefore;
+
     @Version
     @Column(name = "object_version_number")
     private Long objectVersionNumber;
+
+    /**
+     * 认领租约持有者，仅由认领/释放语句维护
+     */
+    @Column(name = "lease_owner", insertable = false, updatable = false)
+    private String leaseOwner;
+
+    /**
+     * 认领租约过期时间，仅由认领/释放语句维护
+     */
+    @Column(name = "lease_expires_at", insertable = false, updatable = false)
+    private LocalDateTime leaseExpiresAt;
 }
\ No newline at end of file
@@ -1,27 +1,38 @@
 package com.contractreview.reviewengine.infrastructure.persistence.repository;
 
 import com.contractreview.reviewengine.domain.enums.ExecutionStage;
+import com.contractreview.reviewengine.domain.enums.ReviewType;
 import com.contractreview.reviewengine.domain.enums.RiskLevel;
 import com.contractreview.reviewengine.domain.enums.TaskStatus;
 import com.contractreview.reviewengine.domain.repository.ContractTaskListRepository;
 import com.contractreview.reviewengine.domain.valueobject.ReviewProgress;
+import com.contractreview.reviewengine.domain.valueobject.TaskListCursor;
 import com.contractreview.reviewengine.interfaces.rest.dto.ContractTaskListItemDto;
 import com.contractreview.reviewengine.interfaces.rest.dto.TaskListQueryRequestDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.TemporalAdjusters;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * 合同任务列表查询Repository实现
@@ -33,135 +44,160 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ContractTaskListRepositoryImpl implements ContractTaskListRepository {
 
+    /**
+     * 带过滤条件的精确计数缓存时长
+     */
+    private static final Duration COUNT_CACHE_TTL = Duration.ofSeconds(30);
+
+    /**
+     * 统计物化视图刷新使用的advisory lock键
+     */
+    private static final long STATISTICS_REFRESH_LOCK = 0x5441534B53544154L;
+
+    private static final String DASHBOARD_STATS_SQL = """
+        SELECT total_tasks, completed_tasks, running_tasks, duration_seconds_sum, duration_count
+        FROM task_dashboard_stats
+        WHERE id = 1
+        """;
+
+    private static final String RISK_DISTRIBUTION_SQL = """
+        SELECT risk_level, SUM(result_count)
+        FROM review_risk_monthly_stats
+        GROUP BY risk_level
+        """;
+
+    private static final String RISK_MONTH_COUNT_SQL = """
+        SELECT COALESCE(SUM(result_count), 0)
+        FROM review_risk_monthly_stats
+        WHERE month = ? AND risk_level IN (?, ?)
+        """;
+
     private final TaskEntityRepository taskEntityRepository;
-    private final ReviewResultJpaRepository reviewResultJpaRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Cache<CountKey, Long> countCache = Caffeine.newBuilder()
+        .maximumSize(1000)
+        .expireAfterWrite(COUNT_CACHE_TTL)
+        .build();
+
+    /**
+     * 无过滤条件时，表统计信息估算的行数达到该值才使用估算值，小表仍精确计数
+     */
+    @Value("${contract.review.task-list.exact-count-threshold:10000}")
+    private long exactCountThreshold;
+
+    private record CountKey(String taskName, ReviewType contractType, TaskStatus taskStatus) {
+    }
+
+    /**
+     * 看板汇总行，物化视图尚未刷新出数据时为全零
+     */
+    private record DashboardStats(long totalTasks, long completedTasks, long runningTasks,
+                                  double durationSecondsSum, long durationCount) {
+        static final DashboardStats EMPTY = new DashboardStats(0, 0, 0, 0, 0);
+    }
 
     @Override
     public Page<ContractTaskListItemDto> findTaskList(TaskListQueryRequestDto queryRequest, Pageable pageable) {
         log.debug("查询任务列表，参数: {}", queryRequest);
 
-        // 使用@Query查询
-        List<ContractTaskListItemDto> taskItems = taskEntityRepository.findTaskListWithFilters(
+        // 排序固定在查询中（创建时间倒序、ID倒序），这里只下推 LIMIT/OFFSET
+        List<ContractTaskListItemDto> pageContent = taskEntityRepository.findTaskListWithFilters(
             queryRequest.getTaskName(),
             queryRequest.getContractType(),
-            queryRequest.getTaskStatus()
+            queryRequest.getTaskStatus(),
+            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
         );
+        pageContent.forEach(this::enrichProgressInfo);
 
-        // 设置进度信息
-        taskItems = taskItems.stream()
-            .map(this::enrichProgressInfo)
-            .collect(Collectors.toList());
-
-        // 计算总数（需要在边界检查前）
-        long totalElements = countTotalTasks(queryRequest);
+        // 首页不满一页或到达末页时可直接推算总数，省去计数查询
+        return PageableExecutionUtils.getPage(pageContent, pageable, () -> countTotalTasks(queryRequest));
+    }
 
-        // 手动分页
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), taskItems.size());
+    @Override
+    public Slice<ContractTaskListItemDto> findTaskListAfter(TaskListQueryRequestDto queryRequest, TaskListCursor cursor, int size) {
+        log.debug("按游标查询任务列表，参数: {}，游标: {}", queryRequest, cursor);
+
+        // 多取一条用于判断是否还有下一批
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<ContractTaskListItemDto> items = cursor == null
+            ? taskEntityRepository.findTaskListWithFilters(
+                queryRequest.getTaskName(), queryRequest.getContractType(), queryRequest.getTaskStatus(), limit)
+            : taskEntityRepository.findTaskListAfterCursor(
+                queryRequest.getTaskName(), queryRequest.getContractType(), queryRequest.getTaskStatus(),
+                cursor.getCreatedTime(), cursor.getTaskId(), limit);
+
+        boolean hasNext = items.size() > size;
+        List<ContractTaskListItemDto> content = hasNext ? items.subList(0, size) : items;
+        content.forEach(this::enrichProgressInfo);
+        return new SliceImpl<>(content, PageRequest.of(0, size), hasNext);
+    }
 
-        // 边界检查：防止空列表或起始索引超出范围
-        if (start >= taskItems.size()) {
-            return new PageImpl<>(List.of(), pageable, totalElements);
+    @Override
+    public long countTotalTasks(TaskListQueryRequestDto queryRequest) {
+        CountKey key = new CountKey(queryRequest.getTaskName(), queryRequest.getContractType(), queryRequest.getTaskStatus());
+        if (key.taskName() == null && key.contractType() == null && key.taskStatus() == null) {
+            Long estimate = taskEntityRepository.estimateContractTaskCount();
+            if (estimate != null && estimate >= exactCountThreshold) {
+                return estimate;
+            }
         }
-
-        List<ContractTaskListItemDto> pageContent = taskItems.subList(start, end);
-
-        return new PageImpl<>(pageContent, pageable, totalElements);
+        return countCache.get(key, k -> taskEntityRepository.countWithFilters(k.taskName(), k.contractType(), k.taskStatus()));
     }
 
     @Override
-    public long countTotalTasks(TaskListQueryRequestDto queryRequest) {
-        return taskEntityRepository.countWithFilters(
-            queryRequest.getTaskName(),
-            queryRequest.getContractType(),
-            queryRequest.getTaskStatus()
-        );
+    public long countAllTasks() {
+        return dashboardStats().totalTasks();
     }
 
     @Override
     public long countCompletedTasks() {
-        List<TaskStatus> completedStatuses = List.of(
-            TaskStatus.COMPLETED,
-            TaskStatus.FAILED,
-            TaskStatus.CANCELLED
-        );
-        return taskEntityRepository.countByCurrentStageOrStatusIn(ExecutionStage.REVIEW_COMPLETED, completedStatuses);
+        return dashboardStats().completedTasks();
     }
 
     @Override
     public long countRunningTasks() {
-        return taskEntityRepository.countByStatus(TaskStatus.RUNNING);
+        return dashboardStats().runningTasks();
     }
 
     @Override
     public Integer calculateAverageDuration() {
-        List<TaskStatus> completedStatuses = List.of(
-            TaskStatus.COMPLETED,
-            TaskStatus.FAILED,
-            TaskStatus.CANCELLED
-        );
-
-        // 使用原生SQL查询计算平均时长
-        List<String> statusStrings = completedStatuses.stream()
-            .map(TaskStatus::name)
-            .collect(Collectors.toList());
-
-        Double avgMinutes = taskEntityRepository.calculateAverageDurationInMinutes(
-            ExecutionStage.REVIEW_COMPLETED.name(),
-            statusStrings
-        );
-
-        return avgMinutes != null ? avgMinutes.intValue() : 0;
+        DashboardStats stats = dashboardStats();
+        if (stats.durationCount() == 0) {
+            return 0;
+        }
+        return (int) (stats.durationSecondsSum() / stats.durationCount() / 60);
     }
 
     @Override
     @Cacheable(value = "riskDistribution", key = "'all'")
     public Map<String, Integer> getRiskDistribution() {
-        log.debug("计算风险分布统计信息");
-        List<Object[]> results = reviewResultJpaRepository.countByRiskLevel();
+        log.debug("读取风险分布统计信息");
         Map<String, Integer> distribution = new HashMap<>();
 
         // 初始化所有风险等级为0
         Arrays.stream(RiskLevel.values())
             .forEach(level -> distribution.put(level.name(), 0));
 
-        // 填充实际统计结果
-        for (Object[] result : results) {
-            String riskLevel = (String) result[0];
-            Long count = (Long) result[1];
-            if (riskLevel != null) {
-                distribution.put(riskLevel, count.intValue());
-            }
-        }
-
+        // 填充各月汇总之和
+        jdbcTemplate.query(RISK_DISTRIBUTION_SQL, rs -> {
+            distribution.put(rs.getString(1), rs.getInt(2));
+        });
         return distribution;
     }
 
     @Override
     @Cacheable(value = "riskTrend", key = "T(java.time.LocalDate).now().getYear() + '_' + T(java.time.LocalDate).now().getMonthValue()")
     public Integer calculateRiskTrend() {
-        log.debug("计算风险趋势统计信息");
-        // 定义高风险等级
-        List<String> highRiskLevels = Arrays.asList(
-            RiskLevel.HIGH.name(),
-            RiskLevel.CRITICAL.name()
-        );
-
-        // 计算上月和本月的开始/结束时间
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime currentMonthStart = now.with(TemporalAdjusters.firstDayOfMonth()).withHour(0).withMinute(0).withSecond(0).withNano(0);
-        LocalDateTime currentMonthEnd = now.with(TemporalAdjusters.lastDayOfMonth()).withHour(23).withMinute(59).withSecond(59).withNano(999999999);
+        log.debug("读取风险趋势统计信息");
+        // 高风险等级
+        String[] highRiskLevels = {RiskLevel.HIGH.name(), RiskLevel.CRITICAL.name()};
 
+        LocalDateTime currentMonthStart = LocalDate.now().withDayOfMonth(1).atStartOfDay();
         LocalDateTime lastMonthStart = currentMonthStart.minusMonths(1);
-        LocalDateTime lastMonthEnd = currentMonthStart.minusSeconds(1);
 
-        // 统计上月有风险的任务数
-        Long lastMonthRiskCount = reviewResultJpaRepository.countRiskTasksInPeriod(
-            lastMonthStart, lastMonthEnd, highRiskLevels);
-
-        // 统计本月有风险的任务数
-        Long currentMonthRiskCount = reviewResultJpaRepository.countRiskTasksInPeriod(
-            currentMonthStart, currentMonthEnd, highRiskLevels);
+        long lastMonthRiskCount = countRiskResults(lastMonthStart, highRiskLevels);
+        long currentMonthRiskCount = countRiskResults(currentMonthStart, highRiskLevels);
 
         // 计算趋势百分比
         if (lastMonthRiskCount == 0) {
@@ -172,6 +208,36 @@ public class ContractTaskListRepositoryImpl implements ContractTaskListRepositor
         return (int) Math.round(changePercent);
     }
 
+    @Override
+    @Transactional
+    public boolean refreshStatistics() {
+        // 多实例部署时只需一个实例刷新，锁随事务结束释放
+        Boolean locked = jdbcTemplate.queryForObject("SELECT pg_try_advisory_xact_lock(?)", Boolean.class, STATISTICS_REFRESH_LOCK);
+        if (!Boolean.TRUE.equals(locked)) {
+            return false;
+        }
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY task_dashboard_stats");
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY review_risk_monthly_stats");
+        return true;
+    }
+
+    private DashboardStats dashboardStats() {
+        List<DashboardStats> rows = jdbcTemplate.query(DASHBOARD_STATS_SQL, (rs, rowNum) -> new DashboardStats(
+            rs.getLong("total_tasks"),
+            rs.getLong("completed_tasks"),
+            rs.getLong("running_tasks"),
+            rs.getDouble("duration_seconds_sum"),
+            rs.getLong("duration_count")
+        ));
+        return rows.isEmpty() ? DashboardStats.EMPTY : rows.get(0);
+    }
+
+    private long countRiskResults(LocalDateTime month, String[] riskLevels) {
+        Long count = jdbcTemplate.queryForObject(RISK_MONTH_COUNT_SQL, Long.class,
+            Timestamp.valueOf(month), riskLevels[0], riskLevels[1]);
+        return count == null ? 0 : count;
+    }
+
     /**
      * 丰富进度信息
      */
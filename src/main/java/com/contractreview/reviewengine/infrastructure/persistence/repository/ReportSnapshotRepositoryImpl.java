@@ -0,0 +1,75 @@
+package com.contractreview.reviewengine.infrastructure.persistence.repository;
+
+import com.contractreview.reviewengine.domain.model.TaskId;
+import com.contractreview.reviewengine.domain.repository.ReportSnapshotRepository;
+import com.contractreview.reviewengine.domain.valueobject.ReportSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 报告快照仓储实现
+ * 快照按任务整行读写，直接使用JDBC，内容以jsonb存储（大字段由PostgreSQL TOAST压缩）
+ *
+ * @author SaltyFish
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ReportSnapshotRepositoryImpl implements ReportSnapshotRepository {
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO report_snapshot (task_id, review_result_id, content, content_hash, created_time)
+        VALUES (?, ?, CAST(? AS jsonb), ?, ?)
+        ON CONFLICT (task_id) DO UPDATE
+        SET review_result_id = EXCLUDED.review_result_id,
+            content = EXCLUDED.content,
+            content_hash = EXCLUDED.content_hash,
+            created_time = EXCLUDED.created_time
+        """;
+
+    private static final String FIND_BY_TASK_ID_SQL = """
+        SELECT task_id, review_result_id, content, content_hash, created_time
+        FROM report_snapshot
+        WHERE task_id = ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void save(ReportSnapshot snapshot) {
+        LocalDateTime createdTime = snapshot.getCreatedTime() != null ? snapshot.getCreatedTime() : LocalDateTime.now();
+        jdbcTemplate.update(UPSERT_SQL,
+            snapshot.getTaskId(),
+            snapshot.getReviewResultId(),
+            snapshot.getContent(),
+            snapshot.getContentHash(),
+            Timestamp.valueOf(createdTime));
+        log.debug("Saved report snapshot for task: {}", snapshot.getTaskId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ReportSnapshot> findByTaskId(TaskId taskId) {
+        if (taskId == null) {
+            return Optional.empty();
+        }
+
+        List<ReportSnapshot> snapshots = jdbcTemplate.query(FIND_BY_TASK_ID_SQL, (rs, rowNum) -> new ReportSnapshot(
+            rs.getLong("task_id"),
+            rs.getObject("review_result_id", Long.class),
+            rs.getString("content"),
+            rs.getString("content_hash"),
+            rs.getTimestamp("created_time").toLocalDateTime()
+        ), taskId.getValue());
+        return snapshots.stream().findFirst();
+    }
+}
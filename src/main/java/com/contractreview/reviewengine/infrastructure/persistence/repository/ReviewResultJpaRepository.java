@@ -2,6 +2,9 @@ package com.contractreview.reviewengine.infrastructure.persistence.repository;
 
 import com.contractreview.reviewengine.domain.enums.RiskLevel;
 import com.contractreview.reviewengine.domain.model.ReviewResult;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * ReviewResult JPA仓储接口
@@ -19,13 +23,27 @@ import java.util.List;
 public interface ReviewResultJpaRepository extends JpaRepository<ReviewResult, Long> {
 
     /**
-     * 根据任务ID查找结果
+     * 根据任务ID查找结果，规则结果随结果一次查询加载
      */
+    @EntityGraph(attributePaths = "ruleResults")
     ReviewResult findByTaskId(Long taskId);
 
     /**
-     * 根据合同ID查找结果
+     * 根据任务ID查找结果ID
      */
+    @Query("SELECT rr.id FROM ReviewResult rr WHERE rr.taskId = :taskId")
+    Long findIdByTaskId(@Param("taskId") Long taskId);
+
+    /**
+     * 根据ID查找结果，同时抓取规则结果
+     */
+    @Query("SELECT DISTINCT rr FROM ReviewResult rr LEFT JOIN FETCH rr.ruleResults WHERE rr.id = :id")
+    Optional<ReviewResult> findWithRuleResultsById(@Param("id") Long id);
+
+    /**
+     * 根据合同ID查找结果，规则结果随结果一次查询加载
+     */
+    @EntityGraph(attributePaths = "ruleResults")
     List<ReviewResult> findByContractId(Long contractId);
 
     /**
@@ -44,8 +62,9 @@ public interface ReviewResultJpaRepository extends JpaRepository<ReviewResult, L
     List<ReviewResult> findByOverallRiskLevel(String overallRiskLevel);
 
     /**
-     * 查找高风险结果
+     * 查找高风险结果，规则结果随结果一次查询加载
      */
+    @EntityGraph(attributePaths = "ruleResults")
     @Query("SELECT rr FROM ReviewResult rr WHERE rr.overallRiskLevel IN :highRiskLevels")
     List<ReviewResult> findHighRiskResults(@Param("highRiskLevels") List<String> highRiskLevels);
 
@@ -85,6 +104,22 @@ public interface ReviewResultJpaRepository extends JpaRepository<ReviewResult, L
     @Query("SELECT rr FROM ReviewResult rr WHERE rr.stageResult LIKE %:keyword%")
     List<ReviewResult> findByStageResultContaining(@Param("keyword") String keyword);
 
+    /**
+     * 按关键词检索审查结果的摘要与阶段结果：LIKE条件命中pg_trgm索引，结果按词相似度降序
+     */
+    @Query(value = """
+        SELECT rr.* FROM review_result rr
+        WHERE rr.summary LIKE :pattern OR rr.stage_result LIKE :pattern
+        ORDER BY GREATEST(word_similarity(:keyword, COALESCE(rr.summary, '')),
+                          word_similarity(:keyword, COALESCE(rr.stage_result, ''))) DESC, rr.id DESC
+        """, countQuery = """
+        SELECT COUNT(*) FROM review_result rr
+        WHERE rr.summary LIKE :pattern OR rr.stage_result LIKE :pattern
+        """, nativeQuery = true)
+    Page<ReviewResult> searchByText(@Param("keyword") String keyword,
+                                    @Param("pattern") String pattern,
+                                    Pageable pageable);
+
     /**
      * 查找上月有风险的任务数量
      */
@@ -7,7 +7,9 @@ import com.contractreview.reviewengine.domain.model.TaskId;
 import com.contractreview.reviewengine.domain.repository.ReviewResultRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,6 +32,7 @@ public class ReviewResultRepositoryImpl implements ReviewResultRepository {
     private final ReviewResultJpaRepository jpaRepository;
 
     @Override
+    @CacheEvict(value = "reportDetail", key = "#reviewResult.taskId + ':' + #reviewResult.id", condition = "#reviewResult?.id != null")
     public ReviewResult save(ReviewResult reviewResult) {
         if (reviewResult == null) {
             throw new IllegalArgumentException("ReviewResult cannot be null");
@@ -94,6 +97,7 @@ public class ReviewResultRepositoryImpl implements ReviewResultRepository {
     }
 
     @Override
+    @CacheEvict(value = "reportDetail", allEntries = true)
     public void deleteById(ReviewResultId id) {
         if (id == null) {
             throw new IllegalArgumentException("ReviewResultId cannot be null");
@@ -107,6 +111,7 @@ public class ReviewResultRepositoryImpl implements ReviewResultRepository {
     }
 
     @Override
+    @CacheEvict(value = "reportDetail", key = "#reviewResult.taskId + ':' + #reviewResult.id", condition = "#reviewResult?.id != null")
     public void delete(ReviewResult reviewResult) {
         if (reviewResult == null) {
             throw new IllegalArgumentException("ReviewResult cannot be null");
@@ -116,6 +121,7 @@ public class ReviewResultRepositoryImpl implements ReviewResultRepository {
     }
 
     @Override
+    @CacheEvict(value = "reportDetail", allEntries = true)
     public void deleteAll() {
         jpaRepository.deleteAll();
     }
@@ -144,6 +150,26 @@ public class ReviewResultRepositoryImpl implements ReviewResultRepository {
         return Optional.ofNullable(result);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findIdByTaskId(TaskId taskId) {
+        if (taskId == null) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(jpaRepository.findIdByTaskId(taskId.getValue()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ReviewResult> findWithRuleResultsById(ReviewResultId id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        return jpaRepository.findWithRuleResultsById(id.getValue());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ReviewResult> findByContractId(Long contractId) {
@@ -223,6 +249,19 @@ public class ReviewResultRepositoryImpl implements ReviewResultRepository {
         return jpaRepository.findAll(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ReviewResult> searchByText(String keyword, Pageable pageable) {
+        if (keyword == null || keyword.trim().isEmpty() || pageable == null) {
+            return Page.empty();
+        }
+
+        // 排序由相关度决定，忽略分页参数中的排序
+        String trimmed = keyword.trim();
+        return jpaRepository.searchByText(trimmed, TextSearchPatterns.contains(trimmed),
+            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ReviewResult> findByContractId(Long contractId, Pageable pageable) {
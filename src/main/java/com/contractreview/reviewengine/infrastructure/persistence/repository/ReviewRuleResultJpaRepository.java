@@ -2,6 +2,8 @@ package com.contractreview.reviewengine.infrastructure.persistence.repository;
 
 import com.contractreview.reviewengine.domain.enums.RiskLevel;
 import com.contractreview.reviewengine.domain.model.ReviewRuleResultEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -80,16 +82,15 @@ public interface ReviewRuleResultJpaRepository extends JpaRepository<ReviewRuleR
     List<Object[]> countByRuleType();
 
     /**
-     * 根据合同ID查找所有规则结果（通过关联查询）
+     * 根据合同ID查找所有规则结果，所属审查结果一并抓取
      */
-    @Query("SELECT r FROM ReviewRuleResultEntity r WHERE r.reviewResult.id IN " +
-           "(SELECT rr.id FROM ReviewResult rr WHERE rr.contractId = :contractId)")
+    @Query("SELECT r FROM ReviewRuleResultEntity r JOIN FETCH r.reviewResult rr WHERE rr.contractId = :contractId")
     List<ReviewRuleResultEntity> findByContractId(@Param("contractId") Long contractId);
 
     /**
-     * 根据任务ID查找所有规则结果（通过关联查询）
+     * 根据任务ID查找所有规则结果，所属审查结果一并抓取
      */
-    @Query("SELECT r FROM ReviewRuleResultEntity r WHERE r.reviewResult.taskId = :taskId")
+    @Query("SELECT r FROM ReviewRuleResultEntity r JOIN FETCH r.reviewResult rr WHERE rr.taskId = :taskId")
     List<ReviewRuleResultEntity> findByTaskId(@Param("taskId") Long taskId);
 
     /**
@@ -111,6 +112,22 @@ public interface ReviewRuleResultJpaRepository extends JpaRepository<ReviewRuleR
     @Query("SELECT r FROM ReviewRuleResultEntity r WHERE r.summary LIKE %:keyword%")
     List<ReviewRuleResultEntity> findBySummaryContaining(@Param("keyword") String keyword);
 
+    /**
+     * 按关键词检索规则结果的原文与摘要：LIKE条件命中pg_trgm索引，结果按词相似度降序
+     */
+    @Query(value = """
+        SELECT r.* FROM review_rule_results r
+        WHERE r.origin_contract_text LIKE :pattern OR r.summary LIKE :pattern
+        ORDER BY GREATEST(word_similarity(:keyword, COALESCE(r.origin_contract_text, '')),
+                          word_similarity(:keyword, COALESCE(r.summary, ''))) DESC, r.id DESC
+        """, countQuery = """
+        SELECT COUNT(*) FROM review_rule_results r
+        WHERE r.origin_contract_text LIKE :pattern OR r.summary LIKE :pattern
+        """, nativeQuery = true)
+    Page<ReviewRuleResultEntity> searchByText(@Param("keyword") String keyword,
+                                              @Param("pattern") String pattern,
+                                              Pageable pageable);
+
     /**
      * 计算平均风险评分
      */
@@ -7,8 +7,10 @@ import com.contractreview.reviewengine.domain.model.ReviewResultId;
 import com.contractreview.reviewengine.domain.repository.ReviewRuleResultRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +20,8 @@ import java.util.Optional;
 
 /**
  * 审查规则结果仓储实现
+ * 规则结果是报告详情的组成部分，写入和删除时失效报告详情缓存；规则结果只持有审查结果的延迟引用，
+ * 拿不到任务ID拼出缓存键，因此整体失效
  *
  * @author SaltyFish
  */
@@ -30,6 +34,7 @@ public class ReviewRuleResultRepositoryImpl implements ReviewRuleResultRepositor
     private final ReviewRuleResultJpaRepository jpaRepository;
 
     @Override
+    @CacheEvict(value = "reportDetail", allEntries = true)
     public ReviewRuleResultEntity save(ReviewRuleResultEntity reviewRuleResult) {
         if (reviewRuleResult == null) {
             throw new IllegalArgumentException("ReviewRuleResultEntity cannot be null");
@@ -94,6 +99,7 @@ public class ReviewRuleResultRepositoryImpl implements ReviewRuleResultRepositor
     }
 
     @Override
+    @CacheEvict(value = "reportDetail", allEntries = true)
     public void deleteById(ReviewRuleResultId id) {
         if (id == null) {
             throw new IllegalArgumentException("ReviewRuleResultId cannot be null");
@@ -107,6 +113,7 @@ public class ReviewRuleResultRepositoryImpl implements ReviewRuleResultRepositor
     }
 
     @Override
+    @CacheEvict(value = "reportDetail", allEntries = true)
     public void delete(ReviewRuleResultEntity reviewRuleResult) {
         if (reviewRuleResult == null) {
             throw new IllegalArgumentException("ReviewRuleResultEntity cannot be null");
@@ -116,11 +123,13 @@ public class ReviewRuleResultRepositoryImpl implements ReviewRuleResultRepositor
     }
 
     @Override
+    @CacheEvict(value = "reportDetail", allEntries = true)
     public void deleteAll() {
         jpaRepository.deleteAll();
     }
 
     @Override
+    @CacheEvict(value = "reportDetail", allEntries = true)
     public void deleteAllById(Iterable<ReviewRuleResultId> ids) {
         if (ids == null) {
             return;
@@ -246,6 +255,19 @@ public class ReviewRuleResultRepositoryImpl implements ReviewRuleResultRepositor
         return jpaRepository.findAll(pageable);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ReviewRuleResultEntity> searchByText(String keyword, Pageable pageable) {
+        if (keyword == null || keyword.trim().isEmpty() || pageable == null) {
+            return Page.empty();
+        }
+
+        // 排序由相关度决定，忽略分页参数中的排序
+        String trimmed = keyword.trim();
+        return jpaRepository.searchByText(trimmed, TextSearchPatterns.contains(trimmed),
+            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Page<ReviewRuleResultEntity> findByReviewResultId(ReviewResultId reviewResultId, Pageable pageable) {
@@ -285,6 +307,7 @@ public class ReviewRuleResultRepositoryImpl implements ReviewRuleResultRepositor
     }
 
     @Override
+    @CacheEvict(value = "reportDetail", allEntries = true)
     public List<ReviewRuleResultEntity> saveAll(List<ReviewRuleResultEntity> reviewRuleResults) {
         if (reviewRuleResults == null || reviewRuleResults.isEmpty()) {
             return List.of();
@@ -296,6 +319,7 @@ public class ReviewRuleResultRepositoryImpl implements ReviewRuleResultRepositor
     }
 
     @Override
+    @CacheEvict(value = "reportDetail", allEntries = true)
     public void deleteAllByReviewResultId(ReviewResultId reviewResultId) {
         if (reviewResultId == null) {
             throw new IllegalArgumentException("ReviewResultId cannot be null");
@@ -3,6 +3,7 @@ package com.contractreview.reviewengine.infrastructure.persistence.repository;
 import com.contractreview.reviewengine.domain.enums.ExecutionStage;
 import com.contractreview.reviewengine.domain.enums.TaskStatus;
 import com.contractreview.reviewengine.infrastructure.persistence.entity.TaskEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -75,7 +76,7 @@ public interface TaskEntityRepository extends JpaRepository<TaskEntity, Long> {
         @Param("taskStatus") TaskStatus taskStatus);
 
     /**
-     * 分页查询任务列表（带过滤条件）
+     * 分页查询任务列表（带过滤条件），分页在数据库侧执行
      */
     @Query("""
         SELECT new com.contractreview.reviewengine.interfaces.rest.dto.ContractTaskListItemDto(
@@ -98,12 +99,54 @@ public interface TaskEntityRepository extends JpaRepository<TaskEntity, Long> {
         AND (:taskName IS NULL OR t.taskName LIKE %:taskName%)
         AND (:contractType IS NULL OR ct.reviewType = :contractType)
         AND (:taskStatus IS NULL OR t.status = :taskStatus)
-        ORDER BY t.createdTime DESC
+        ORDER BY t.createdTime DESC, t.id DESC
         """)
     List<com.contractreview.reviewengine.interfaces.rest.dto.ContractTaskListItemDto> findTaskListWithFilters(
         @Param("taskName") String taskName,
         @Param("contractType") com.contractreview.reviewengine.domain.enums.ReviewType contractType,
-        @Param("taskStatus") TaskStatus taskStatus);
+        @Param("taskStatus") TaskStatus taskStatus,
+        Pageable pageable);
+
+    /**
+     * 按 (创建时间, ID) 游标查询任务列表（带过滤条件），只扫描游标之后的记录
+     */
+    @Query("""
+        SELECT new com.contractreview.reviewengine.interfaces.rest.dto.ContractTaskListItemDto(
+            CAST(t.id AS string),
+            ct.contractId,
+            ct.fileUuid,
+            t.configuration,
+            ct.businessTags,
+            t.taskName,
+            ct.reviewType,
+            t.status,
+            t.currentStage,
+            t.errorMessage,
+            t.startTime,
+            t.endTime,
+            t.createdTime
+        )
+        FROM TaskEntity t, ContractTaskEntity ct
+        WHERE ct.taskId = t.id
+        AND (:taskName IS NULL OR t.taskName LIKE %:taskName%)
+        AND (:contractType IS NULL OR ct.reviewType = :contractType)
+        AND (:taskStatus IS NULL OR t.status = :taskStatus)
+        AND (t.createdTime < :cursorTime OR (t.createdTime = :cursorTime AND t.id < :cursorId))
+        ORDER BY t.createdTime DESC, t.id DESC
+        """)
+    List<com.contractreview.reviewengine.interfaces.rest.dto.ContractTaskListItemDto> findTaskListAfterCursor(
+        @Param("taskName") String taskName,
+        @Param("contractType") com.contractreview.reviewengine.domain.enums.ReviewType contractType,
+        @Param("taskStatus") TaskStatus taskStatus,
+        @Param("cursorTime") LocalDateTime cursorTime,
+        @Param("cursorId") Long cursorId,
+        Pageable pageable);
+
+    /**
+     * 按统计信息估算合同任务行数，表从未ANALYZE时返回0
+     */
+    @Query(value = "SELECT CAST(GREATEST(reltuples, 0) AS BIGINT) FROM pg_class WHERE oid = to_regclass('contract_task')", nativeQuery = true)
+    Long estimateContractTaskCount();
 
     /**
      * 根据任务ID查询合同任务详情
@@ -9,6 +9,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -59,6 +60,29 @@ public interface TaskJpaRepository extends JpaRepository<TaskEntity, Long> {
      */
     Page<TaskEntity> findByStatusOrderByCreatedTimeDesc(TaskStatus status, Pageable pageable);
 
+    /**
+     * 按可选的状态、类型条件分页查询任务，排序由分页参数指定
+     */
+    @Query(value = "SELECT t FROM TaskEntity t " +
+        "WHERE (:status IS NULL OR t.status = :status) AND (:taskType IS NULL OR t.taskType = :taskType)",
+        countQuery = "SELECT COUNT(t) FROM TaskEntity t " +
+            "WHERE (:status IS NULL OR t.status = :status) AND (:taskType IS NULL OR t.taskType = :taskType)")
+    Page<TaskEntity> findPageByFilters(@Param("status") TaskStatus status,
+                                       @Param("taskType") TaskType taskType,
+                                       Pageable pageable);
+
+    /**
+     * 按可选的状态、类型条件读取ID大于游标的一页任务，按ID顺序沿主键索引扫描
+     */
+    @Query("SELECT t FROM TaskEntity t " +
+        "WHERE (:status IS NULL OR t.status = :status) AND (:taskType IS NULL OR t.taskType = :taskType) " +
+        "AND t.id > :afterId " +
+        "ORDER BY t.id")
+    List<TaskEntity> findByFiltersAfterId(@Param("status") TaskStatus status,
+                                          @Param("taskType") TaskType taskType,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
+
     /**
      * 统计各状态任务数量
      */
@@ -85,18 +109,113 @@ public interface TaskJpaRepository extends JpaRepository<TaskEntity, Long> {
     List<TaskEntity> findNonFinalStageTasks(@Param("finalStage") ExecutionStage finalStage);
 
     /**
-     * 查找可重试的失败任务
-     * 适配PostgreSQL 15的JSON操作+时间类型对比
+     * 锁定一批指定阶段的可认领候选任务，返回 [任务ID, 租户]（租户为创建人，未记录时为-1）
+     * 已被其他节点锁定的行直接跳过，租约未过期、未到延后认领时间的任务和被排除的租户不参与；按有效优先级、创建时间顺序扫描
+     * idx_task_claimable_priority，取到 scanLimit 行即停止，扫描量与积压规模无关。单租户名额由调用方在候选中挑选
+     */
+    @Query(value = "SELECT t.id, COALESCE(t.created_by, -1) FROM task t " +
+        "WHERE t.current_stage IN (:stages) AND t.task_status IN ('PENDING', 'RUNNING') " +
+        "AND (t.lease_owner IS NULL OR t.lease_expires_at < :now) " +
+        "AND (t.not_before IS NULL OR t.not_before <= :now) " +
+        "AND COALESCE(t.created_by, -1) NOT IN (:excludedTenants) " +
+        "ORDER BY t.priority DESC, t.created_time ASC " +
+        "LIMIT :scanLimit " +
+        "FOR UPDATE SKIP LOCKED",
+        nativeQuery = true)
+    List<Object[]> lockClaimableCandidates(@Param("stages") List<String> stages,
+                                           @Param("now") LocalDateTime now,
+                                           @Param("scanLimit") int scanLimit,
+                                           @Param("excludedTenants") List<Long> excludedTenants);
+
+    /**
+     * 锁定指定阶段的单个可认领任务；失败任务由重试作业重置为待处理后再认领，未到延后认领时间的任务不认领
+     */
+    @Query(value = "SELECT t.id FROM task t " +
+        "WHERE t.id = :id AND t.current_stage = :stage AND t.task_status IN ('PENDING', 'RUNNING') " +
+        "AND (t.lease_owner IS NULL OR t.lease_expires_at < :now) " +
+        "AND (t.not_before IS NULL OR t.not_before <= :now) " +
+        "FOR UPDATE SKIP LOCKED",
+        nativeQuery = true)
+    List<Long> lockClaimableTaskId(@Param("id") Long id,
+                                   @Param("stage") String stage,
+                                   @Param("now") LocalDateTime now);
+
+    /**
+     * 为已锁定的任务写入租约
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE task SET lease_owner = :leaseOwner, lease_expires_at = :leaseExpiresAt WHERE id IN (:ids)",
+        nativeQuery = true)
+    int stampLease(@Param("ids") List<Long> ids,
+                   @Param("leaseOwner") String leaseOwner,
+                   @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    /**
+     * 写入延后认领时间，为空时立即可认领
+     */
+    @Modifying
+    @Query(value = "UPDATE task SET not_before = :notBefore WHERE id = :id", nativeQuery = true)
+    int deferClaim(@Param("id") Long id, @Param("notBefore") LocalDateTime notBefore);
+
+    /**
+     * 释放当前节点持有的任务租约
+     */
+    @Modifying
+    @Query(value = "UPDATE task SET lease_owner = NULL, lease_expires_at = NULL WHERE id = :id AND lease_owner = :leaseOwner",
+        nativeQuery = true)
+    int releaseLease(@Param("id") Long id, @Param("leaseOwner") String leaseOwner);
+
+    /**
+     * 续期当前节点仍持有的任务租约
+     */
+    @Modifying
+    @Query(value = "UPDATE task SET lease_expires_at = :leaseExpiresAt WHERE id IN (:ids) AND lease_owner = :leaseOwner",
+        nativeQuery = true)
+    int renewLeases(@Param("ids") List<Long> ids,
+                    @Param("leaseOwner") String leaseOwner,
+                    @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt);
+
+    /**
+     * 按等待时长老化未被持有的待处理任务：从进入当前阶段起每等待一个步长有效优先级加一，不超过上限（基础优先级更高时以基础优先级为准）。
+     * 运行中的任务不老化；不修改版本号，避免与执行器的状态写入产生乐观锁冲突
+     */
+    @Modifying
+    @Query(value = "UPDATE task SET priority = LEAST(base_priority + " +
+        "FLOOR(EXTRACT(EPOCH FROM (:now - ready_time)) / :stepSeconds)::INTEGER, GREATEST(base_priority, :maxPriority)) " +
+        "WHERE task_status = 'PENDING' AND current_stage <> 'REVIEW_COMPLETED' " +
+        "AND lease_owner IS NULL AND ready_time IS NOT NULL " +
+        "AND priority < LEAST(base_priority + " +
+        "FLOOR(EXTRACT(EPOCH FROM (:now - ready_time)) / :stepSeconds)::INTEGER, GREATEST(base_priority, :maxPriority))",
+        nativeQuery = true)
+    int agePriorities(@Param("now") LocalDateTime now,
+                      @Param("stepSeconds") long stepSeconds,
+                      @Param("maxPriority") int maxPriority);
+
+    /**
+     * 回收过期租约
+     * 持有者已失联时，模型审查和报告生成阶段的运行中任务重置为待处理，以便重新认领；条款抽取阶段运行中表示等待外部抽取，保持不变
+     */
+    @Modifying
+    @Query(value = "UPDATE task SET " +
+        "task_status = CASE WHEN task_status = 'RUNNING' AND current_stage IN ('MODEL_REVIEW', 'REPORT_GENERATION') " +
+        "THEN 'PENDING' ELSE task_status END, " +
+        "lease_owner = NULL, lease_expires_at = NULL, " +
+        "object_version_number = object_version_number + 1 " +
+        "WHERE lease_owner IS NOT NULL AND lease_expires_at < :now",
+        nativeQuery = true)
+    int releaseExpiredLeases(@Param("now") LocalDateTime now);
+
+    /**
+     * 查找未达到最大重试次数的失败任务
+     * 重试退避时间（nextRetryTime）由调用方判断，不同写入路径下jsonb中的时间格式不一致，不在SQL中转换
      */
     @Query(value = "SELECT t.* FROM task t WHERE t.task_status = 'FAILED' " +
         "AND (t.configuration -> 'retryPolicy' ->> 'retryCount')::INTEGER < " +
         "COALESCE((t.configuration -> 'retryPolicy' ->> 'maxRetries')::INTEGER, 3) " +
-        "AND (t.configuration -> 'retryPolicy' ->> 'nextRetryTime' IS NULL OR " +
-        "     (t.configuration -> 'retryPolicy' ->> 'nextRetryTime')::TIMESTAMP <= :now) " +
         "ORDER BY t.updated_time ASC " +
         "FOR UPDATE",
         nativeQuery = true)
-    List<TaskEntity> findRetryableTasks(@Param("now") LocalDateTime now);
+    List<TaskEntity> findRetryableTasks();
 
     /**
      * 根据执行阶段查找任务
@@ -3,21 +3,38 @@ package com.contractreview.reviewengine.infrastructure.persistence.repository;
 import com.contractreview.reviewengine.domain.enums.ExecutionStage;
 import com.contractreview.reviewengine.domain.enums.TaskStatus;
 import com.contractreview.reviewengine.domain.enums.TaskType;
+import com.contractreview.reviewengine.domain.event.TaskStageReadyEvent;
 import com.contractreview.reviewengine.domain.model.Task;
 import com.contractreview.reviewengine.domain.model.TaskId;
 import com.contractreview.reviewengine.domain.repository.TaskRepository;
+import com.contractreview.reviewengine.domain.valueobject.AuditInfo;
+import com.contractreview.reviewengine.domain.valueobject.TaskConfiguration;
 import com.contractreview.reviewengine.infrastructure.persistence.converter.TaskConverter;
 import com.contractreview.reviewengine.infrastructure.persistence.entity.TaskEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 任务仓储实现
@@ -30,8 +47,48 @@ import java.util.Optional;
 @Transactional
 public class TaskRepositoryImpl implements TaskRepository {
 
+    /**
+     * 状态或阶段发生变化：记录进入时间，有效优先级从基础优先级重新老化，清除延后认领时间（SET 中的列引用均为更新前的值）
+     */
+    private static final String READY_CHANGED = "(task_status <> ? OR current_stage <> ?)";
+
+    /**
+     * 配置变化时同步基础优先级，状态未变时有效优先级保留已老化的增量
+     */
+    private static final String UPDATE_TASK_SQL = "UPDATE task SET " +
+        "ready_time = CASE WHEN " + READY_CHANGED + " THEN ? ELSE ready_time END, " +
+        "priority = CASE WHEN " + READY_CHANGED + " THEN ? ELSE ? + (priority - base_priority) END, " +
+        "not_before = CASE WHEN " + READY_CHANGED + " THEN NULL ELSE not_before END, " +
+        "task_status = ?, current_stage = ?, " +
+        "error_message = ?, start_time = ?, end_time = ?, updated_by = ?, updated_time = ?, " +
+        "configuration = CAST(? AS jsonb), base_priority = ?, " +
+        "object_version_number = object_version_number + 1 " +
+        "WHERE id = ? AND object_version_number = ?";
+
+    /**
+     * 状态迁移只写标量列，不触碰jsonb配置列
+     */
+    private static final String TRANSITION_TASK_SQL = "UPDATE task SET " +
+        "ready_time = CASE WHEN " + READY_CHANGED + " THEN ? ELSE ready_time END, " +
+        "priority = CASE WHEN " + READY_CHANGED + " THEN base_priority ELSE priority END, " +
+        "not_before = CASE WHEN " + READY_CHANGED + " THEN NULL ELSE not_before END, " +
+        "task_status = ?, current_stage = ?, " +
+        "error_message = ?, start_time = ?, end_time = ?, updated_by = ?, updated_time = ?, " +
+        "object_version_number = object_version_number + 1 " +
+        "WHERE id = ? AND object_version_number = ?";
+
+    private static final String TRANSITION_EXPECTED_STATUS_SQL = TRANSITION_TASK_SQL + " AND task_status = ?";
+
+    /**
+     * 认领时锁定的候选数为认领数的倍数，单租户名额用完时仍能从窗口内选到其他租户的任务
+     */
+    private static final int CLAIM_SCAN_FACTOR = 4;
+
     private final TaskJpaRepository jpaRepository;
     private final TaskConverter converter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
 
     @Override
     public Task save(Task task) {
@@ -40,10 +97,144 @@ public class TaskRepositoryImpl implements TaskRepository {
         }
 
         TaskEntity entity = converter.toEntity(task);
+        if (entity.getId() != null) {
+            // 合并本就要先加载库中实体，借此按原状态承接调度列，随合并在同一条 UPDATE 中写入
+            jpaRepository.findById(entity.getId()).ifPresent(current -> carrySchedulingState(current, entity));
+        }
         TaskEntity savedEntity = jpaRepository.save(entity);
+        task.syncVersion(savedEntity.getObjectVersionNumber());
+
+        // 阶段就绪事件在事务提交后由监听方投递
+        for (TaskStageReadyEvent event : task.pullStageReadyEvents()) {
+            eventPublisher.publishEvent(event.getTaskId() != null ? event : event.withTaskId(savedEntity.getId()));
+        }
         return converter.toDomain(savedEntity);
     }
 
+    /**
+     * 状态或阶段变化时记录进入时间、从基础优先级重新老化并清除延后认领时间，否则保留已老化的增量和延后认领时间
+     */
+    private void carrySchedulingState(TaskEntity current, TaskEntity entity) {
+        if (current.getStatus() != entity.getStatus() || current.getCurrentStage() != entity.getCurrentStage()) {
+            entity.setReadyTime(LocalDateTime.now());
+            entity.setPriority(entity.getBasePriority());
+            entity.setNotBefore(null);
+        } else {
+            entity.setReadyTime(current.getReadyTime());
+            entity.setPriority(entity.getBasePriority() + current.getPriority() - current.getBasePriority());
+            entity.setNotBefore(current.getNotBefore());
+        }
+    }
+
+    @Override
+    public List<Task> updateAll(Collection<Task> tasks) {
+        return batchUpdate(UPDATE_TASK_SQL, tasks, true);
+    }
+
+    @Override
+    public List<Task> transitionAll(Collection<Task> tasks) {
+        return batchUpdate(TRANSITION_TASK_SQL, tasks, false);
+    }
+
+    @Override
+    public boolean transition(Task task, TaskStatus expectedStatus) {
+        if (expectedStatus == null) {
+            throw new IllegalArgumentException("Expected status cannot be null");
+        }
+        Object[] args = stateArgs(task, false);
+        Object[] conditionalArgs = Arrays.copyOf(args, args.length + 1);
+        conditionalArgs[args.length] = expectedStatus.name();
+
+        if (jdbcTemplate.update(TRANSITION_EXPECTED_STATUS_SQL, conditionalArgs) == 0) {
+            log.warn("任务 {} 状态迁移 {} -> {} 未生效，状态或版本号已被修改", task.getId(), expectedStatus, task.getStatus());
+            return false;
+        }
+        afterUpdate(task);
+        return true;
+    }
+
+    private List<Task> batchUpdate(String sql, Collection<Task> tasks, boolean withConfiguration) {
+        if (tasks == null || tasks.isEmpty()) {
+            return List.of();
+        }
+
+        List<Task> candidates = new ArrayList<>(tasks);
+        List<Object[]> batchArgs = new ArrayList<>(candidates.size());
+        for (Task task : candidates) {
+            batchArgs.add(stateArgs(task, withConfiguration));
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(sql, batchArgs);
+
+        List<Task> updated = new ArrayList<>(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            Task task = candidates.get(i);
+            if (counts[i] == 0) {
+                // 其他写入方（如用户取消）已修改该任务，以对方为准
+                log.warn("任务 {} 版本号 {} 已过期，跳过本次更新", task.getId(), task.getAuditInfo().getObjectVersionNumber());
+                task.pullStageReadyEvents();
+                continue;
+            }
+            afterUpdate(task);
+            updated.add(task);
+        }
+        return updated;
+    }
+
+    /**
+     * 按 SET 列顺序组装参数，最后两个为 WHERE 条件中的ID与版本号
+     */
+    private Object[] stateArgs(Task task, boolean withConfiguration) {
+        if (task == null || task.getId() == null || task.getAuditInfo() == null) {
+            throw new IllegalArgumentException("只能更新已持久化的任务");
+        }
+        AuditInfo auditInfo = task.getAuditInfo();
+        String status = task.getStatus().name();
+        String stage = task.getCurrentStage().name();
+        List<Object> args = new ArrayList<>(20);
+        args.add(status);
+        args.add(stage);
+        args.add(LocalDateTime.now());
+        args.add(status);
+        args.add(stage);
+        if (withConfiguration) {
+            args.add(task.getSchedulingPriority());
+            args.add(task.getSchedulingPriority());
+        }
+        args.add(status);
+        args.add(stage);
+        args.add(status);
+        args.add(stage);
+        args.add(task.getErrorMessage());
+        args.add(task.getStartTime());
+        args.add(task.getCompletedAt());
+        args.add(auditInfo.getUpdatedBy());
+        args.add(auditInfo.getUpdatedTime() != null ? auditInfo.getUpdatedTime() : LocalDateTime.now());
+        if (withConfiguration) {
+            args.add(toJson(task.getConfiguration()));
+            args.add(task.getSchedulingPriority());
+        }
+        args.add(task.getId().getValue());
+        args.add(auditInfo.getObjectVersionNumber());
+        return args.toArray();
+    }
+
+    private void afterUpdate(Task task) {
+        task.syncVersion(task.getAuditInfo().getObjectVersionNumber() + 1);
+        task.pullStageReadyEvents().forEach(eventPublisher::publishEvent);
+    }
+
+    private String toJson(TaskConfiguration configuration) {
+        if (configuration == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(configuration);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("任务配置序列化失败: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Optional<Task> findById(TaskId taskId) {
@@ -121,6 +312,21 @@ public class TaskRepositoryImpl implements TaskRepository {
         return entityPage.map(converter::toDomain);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Task> findPage(TaskStatus status, TaskType taskType, Pageable pageable) {
+        return jpaRepository.findPageByFilters(status, taskType, pageable).map(converter::toDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Task> findPageAfterId(TaskStatus status, TaskType taskType, Long afterId, int limit) {
+        return jpaRepository.findByFiltersAfterId(status, taskType, afterId != null ? afterId : 0L, PageRequest.of(0, limit))
+            .stream()
+            .map(converter::toDomain)
+            .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Object[]> countByStatus() {
@@ -196,10 +402,114 @@ public class TaskRepositoryImpl implements TaskRepository {
         return converter.toDomainList(entities);
     }
 
+    @Override
+    public List<Task> claimTasks(Collection<ExecutionStage> stages, String leaseOwner, int limit, int tenantLimit,
+                                 Map<Long, Integer> tenantRoom, Collection<Long> excludedTenants, Duration leaseDuration) {
+        if (stages == null || stages.isEmpty() || leaseOwner == null || limit <= 0 || leaseDuration == null) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<String> stageNames = stages.stream().map(ExecutionStage::name).collect(Collectors.toList());
+        // 占位租户保证 NOT IN 列表非空
+        List<Long> excluded = new ArrayList<>();
+        excluded.add(Long.MIN_VALUE);
+        if (excludedTenants != null) {
+            excluded.addAll(excludedTenants);
+        }
+        // 按索引顺序锁定有限的候选窗口，在窗口内按租户剩余名额挑选；未选中的候选随短事务结束解锁
+        List<Object[]> candidates = jpaRepository.lockClaimableCandidates(stageNames, now, limit * CLAIM_SCAN_FACTOR, excluded);
+        int defaultRoom = Math.max(1, tenantLimit);
+        Map<Long, Integer> picked = new HashMap<>();
+        List<Long> ids = new ArrayList<>(limit);
+        for (Object[] candidate : candidates) {
+            long tenant = ((Number) candidate[1]).longValue();
+            int room = tenantRoom != null ? tenantRoom.getOrDefault(tenant, defaultRoom) : defaultRoom;
+            if (picked.merge(tenant, 1, Integer::sum) > room) {
+                continue;
+            }
+            ids.add(((Number) candidate[0]).longValue());
+            if (ids.size() >= limit) {
+                break;
+            }
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        jpaRepository.stampLease(ids, leaseOwner, now.plus(leaseDuration));
+
+        // 保持认领时的优先级顺序
+        Map<Long, TaskEntity> entities = jpaRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(TaskEntity::getId, Function.identity()));
+        return ids.stream()
+            .map(entities::get)
+            .filter(Objects::nonNull)
+            .map(converter::toDomain)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<Task> claimTask(TaskId taskId, ExecutionStage stage, String leaseOwner, Duration leaseDuration) {
+        if (taskId == null || stage == null || leaseOwner == null || leaseDuration == null) {
+            return Optional.empty();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = jpaRepository.lockClaimableTaskId(taskId.getValue(), stage.name(), now);
+        if (ids.isEmpty()) {
+            return Optional.empty();
+        }
+
+        jpaRepository.stampLease(ids, leaseOwner, now.plus(leaseDuration));
+        return jpaRepository.findById(taskId.getValue()).map(converter::toDomain);
+    }
+
+    @Override
+    public void releaseLease(TaskId taskId, String leaseOwner) {
+        if (taskId == null || leaseOwner == null) {
+            return;
+        }
+
+        jpaRepository.releaseLease(taskId.getValue(), leaseOwner);
+    }
+
+    @Override
+    public void deferClaim(TaskId taskId, LocalDateTime notBefore) {
+        if (taskId == null) {
+            return;
+        }
+
+        jpaRepository.deferClaim(taskId.getValue(), notBefore);
+    }
+
+    @Override
+    public int renewLeases(Collection<TaskId> taskIds, String leaseOwner, Duration leaseDuration) {
+        if (taskIds == null || taskIds.isEmpty() || leaseOwner == null || leaseDuration == null) {
+            return 0;
+        }
+
+        List<Long> ids = taskIds.stream().map(TaskId::getValue).collect(Collectors.toList());
+        return jpaRepository.renewLeases(ids, leaseOwner, LocalDateTime.now().plus(leaseDuration));
+    }
+
+    @Override
+    public int releaseExpiredLeases() {
+        return jpaRepository.releaseExpiredLeases(LocalDateTime.now());
+    }
+
+    @Override
+    public int agePriorities(Duration step, int maxPriority) {
+        if (step == null || step.getSeconds() <= 0) {
+            return 0;
+        }
+        return jpaRepository.agePriorities(LocalDateTime.now(), step.getSeconds(), maxPriority);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<Task> findRetryableTasks() {
-        List<TaskEntity> entities = jpaRepository.findRetryableTasks(LocalDateTime.now());
+        List<TaskEntity> entities = jpaRepository.findRetryableTasks();
         return converter.toDomainList(entities);
     }
 
@@ -0,0 +1,20 @@
+package com.contractreview.reviewengine.infrastructure.persistence.repository;
+
+/**
+ * 文本检索的LIKE模式构建
+ *
+ * @author SaltyFish
+ */
+final class TextSearchPatterns {
+
+    private TextSearchPatterns() {
+    }
+
+    /**
+     * 构建包含匹配模式，转义关键词中的通配符（PostgreSQL默认以反斜杠作为LIKE转义符）
+     */
+    static String contains(String keyword) {
+        String escaped = keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
@@ -6,6 +6,8 @@ import com.contractreview.reviewengine.domain.model.ContractReview;
 import com.contractreview.reviewengine.domain.model.TaskId;
 import com.contractreview.reviewengine.domain.repository.ContractReviewRepository;
 import com.contractreview.reviewengine.domain.repository.ContractTaskListRepository;
+import com.contractreview.reviewengine.domain.valueobject.TaskListCursor;
+import com.contractreview.reviewengine.interfaces.rest.dto.ContractTaskListItemDto;
 import com.contractreview.reviewengine.interfaces.rest.dto.TaskListQueryRequestDto;
 import com.contractreview.reviewengine.interfaces.rest.dto.TaskListResponseDto;
 import com.contractreview.reviewengine.interfaces.rest.dto.TaskListStatisticsDto;
@@ -19,6 +21,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.HashMap;
@@ -112,6 +115,10 @@ public class ContractTaskInfraService {
     public TaskListResponseDto getTaskListWithStatistics(TaskListQueryRequestDto queryRequest) {
         log.debug("查询任务列表，参数: {}", queryRequest);
 
+        if (queryRequest.getCursor() != null && !queryRequest.getCursor().isBlank()) {
+            return getTaskListByCursor(queryRequest);
+        }
+
         // 构建统计信息
         TaskListStatisticsDto statistics = buildStatistics();
 
@@ -132,14 +139,42 @@ public class ContractTaskInfraService {
             .pageNum(queryRequest.getPageNum())
             .pageSize(queryRequest.getPageSize())
             .totalPages(taskPage.getTotalPages())
+            .nextCursor(taskPage.hasNext() ? nextCursor(taskPage.getContent()) : null)
+            .build();
+    }
+
+    /**
+     * 按游标查询下一批任务，用于无限滚动；统计信息和总数只在首屏返回
+     */
+    private TaskListResponseDto getTaskListByCursor(TaskListQueryRequestDto queryRequest) {
+        TaskListCursor cursor;
+        try {
+            cursor = TaskListCursor.decode(queryRequest.getCursor());
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(CommonErrorCode.PARAM_INVALID, "无效的分页游标");
+        }
+        var taskSlice = contractTaskListRepository.findTaskListAfter(queryRequest, cursor, queryRequest.getPageSize());
+
+        return TaskListResponseDto.builder()
+            .tasks(taskSlice.getContent())
+            .pageSize(queryRequest.getPageSize())
+            .nextCursor(taskSlice.hasNext() ? nextCursor(taskSlice.getContent()) : null)
             .build();
     }
 
+    private String nextCursor(List<ContractTaskListItemDto> tasks) {
+        if (tasks.isEmpty()) {
+            return null;
+        }
+        ContractTaskListItemDto last = tasks.get(tasks.size() - 1);
+        return new TaskListCursor(last.getCreatedTime(), Long.valueOf(last.getTaskId())).encode();
+    }
+
     /**
      * 构建统计信息
      */
     private TaskListStatisticsDto buildStatistics() {
-        long totalTasks = contractTaskListRepository.countTotalTasks(new TaskListQueryRequestDto());
+        long totalTasks = contractTaskListRepository.countAllTasks();
         long completedTasks = contractTaskListRepository.countCompletedTasks();
         long runningTasks = contractTaskListRepository.countRunningTasks();
         Integer averageDuration = contractTaskListRepository.calculateAverageDuration();
@@ -6,6 +6,7 @@ import com.contractreview.reviewengine.application.service.ReportService;
 import com.contractreview.reviewengine.domain.exception.BusinessException;
 import com.contractreview.reviewengine.domain.model.ContractReview;
 import com.contractreview.reviewengine.domain.model.TaskId;
+import com.contractreview.reviewengine.domain.valueobject.ReportSnapshot;
 import com.contractreview.reviewengine.interfaces.rest.dto.ApiResponse;
 import com.contractreview.reviewengine.interfaces.rest.dto.ContractReviewCreateRequestDto;
 import com.contractreview.reviewengine.interfaces.rest.dto.ContractReviewRequestDto;
@@ -22,6 +23,8 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -29,10 +32,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * 合同审查REST控制器
@@ -42,6 +48,11 @@ import java.util.List;
 @RequiredArgsConstructor
 @Tag(name = "Contract Review", description = "合同审查API")
 public class ContractReviewController {
+    /**
+     * 条款抽取回调签名请求头
+     */
+    static final String CALLBACK_SIGNATURE_HEADER = "X-Callback-Signature";
+
     private final ContractReviewService contractReviewService;
     private final ReportService reportService;
     private final ContractFeignClient  contractFeignClient;
@@ -133,6 +144,33 @@ public class ContractReviewController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * 条款抽取完成回调
+     * 由条款抽取服务在抽取结束后调用，请求头携带以共享密钥对合同ID计算的签名；只提前下一次状态查询，不依据回调内容推进任务
+     */
+    @Anonymous
+    @PostMapping("/callbacks/clause-extraction/{contractId}")
+    @Operation(summary = "条款抽取完成回调", description = "通知条款抽取已结束，任务将立即查询抽取状态")
+    public ResponseEntity<Boolean> onClauseExtractionFinished(@PathVariable("contractId") Long contractId,
+                                                              @RequestHeader(value = CALLBACK_SIGNATURE_HEADER, required = false) String signature) {
+        if (!contractReviewService.verifyClauseExtractionCallback(contractId, signature)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(false);
+        }
+        return ResponseEntity.ok(contractReviewService.onClauseExtractionFinished(contractId));
+    }
+
+    /**
+     * 失效审查参考数据缓存
+     * 审查规则或系统提示词变更后调用，所有实例在下次审查时重新加载
+     */
+    @RemotePreAuthorize("@ss.hasAnyRoles('admin')")
+    @PostMapping("/reference-data/invalidate")
+    @Operation(summary = "失效参考数据缓存", description = "审查规则或系统提示词变更后失效缓存")
+    public ResponseEntity<Void> invalidateReferenceData() {
+        contractReviewService.invalidateReferenceData();
+        return ResponseEntity.ok().build();
+    }
+
     /**
      * 获取合同任务列表（带统计信息）
      */
@@ -158,15 +196,30 @@ public class ContractReviewController {
 
     /**
      * 获取报告详情
-     * 根据任务ID获取完整的审查报告信息
+     * 根据任务ID获取完整的审查报告信息；已生成报告快照的任务直接返回快照，支持 If-None-Match 条件请求
      */
     @RemotePreAuthorize("@ss.hasAnyRoles('admin,common,guest')")
     @GetMapping("/reports/{taskId}")
     @Operation(summary = "获取报告详情", description = "根据任务ID获取完整的审查报告信息")
-    public ResponseEntity<ApiResponse<ReportDetailDto>> getReportDetail(@PathVariable("taskId") Long taskId) {
+    public ResponseEntity<ApiResponse<ReportDetailDto>> getReportDetail(@PathVariable("taskId") Long taskId,
+                                                                        WebRequest webRequest) {
         TaskId id = TaskId.of(taskId);
 
         try {
+            Optional<ReportSnapshot> snapshot = reportService.getReportSnapshot(id);
+            if (snapshot.isPresent()) {
+                String etag = snapshot.get().getContentHash();
+                if (webRequest.checkNotModified(etag)) {
+                    // 已设置304状态，无需响应体
+                    return null;
+                }
+                return ResponseEntity.ok()
+                        .eTag(etag)
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .body(ApiResponse.success(reportService.readSnapshot(snapshot.get())));
+            }
+
+            // 报告快照功能上线前完成的任务，按原方式组装
             ReportDetailDto reportDetail = reportService.getReportDetail(id);
             return ResponseEntity.ok(ApiResponse.success(reportDetail));
         } catch (BusinessException e) {
@@ -180,4 +233,4 @@ public class ContractReviewController {
                     .body(ApiResponse.error(40001, "无效的任务ID"));
         }
     }
-}
\ No newline at end of file
+}
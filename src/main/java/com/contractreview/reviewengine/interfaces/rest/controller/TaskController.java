@@ -9,6 +9,9 @@ import com.contractreview.reviewengine.domain.model.TaskId;
 import com.contractreview.reviewengine.interfaces.rest.dto.TaskDto;
 import com.contractreview.reviewengine.interfaces.rest.dto.TaskStatisticsDto;
 import com.contractreview.reviewengine.interfaces.rest.mapper.TaskMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.ruoyi.common.annotation.Anonymous;
 import com.ruoyi.feign.annotation.RemotePreAuthorize;
 import io.swagger.v3.oas.annotations.Operation;
@@ -19,6 +22,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -27,8 +32,12 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 任务管理REST控制器
@@ -39,8 +48,14 @@ import java.util.List;
 @Tag(name = "Task Management", description = "任务管理API")
 public class TaskController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String NDJSON = "application/x-ndjson";
+    private static final Set<String> SORTABLE_FIELDS = Set.of(
+            "id", "taskName", "taskType", "status", "currentStage", "startTime", "endTime", "createdTime", "updatedTime");
+
     private final TaskService taskService;
     private final ContractReviewService contractReviewService;
+    private final ObjectMapper objectMapper;
 
     /**
      * 获取任务详情
@@ -65,40 +80,46 @@ public class TaskController {
             @RequestParam(required = false) TaskStatus status,
             @Parameter(description = "页码，从0开始")
             @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "每页大小")
+            @Parameter(description = "每页大小，最大" + MAX_PAGE_SIZE)
             @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "排序字段")
             @RequestParam(defaultValue = "createdTime") String sort,
             @Parameter(description = "排序方向")
             @RequestParam(defaultValue = "desc") String direction) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(direction), sort));
-        Page<Task> tasks;
-
-        if (status != null) {
-            tasks = taskService.getTasksByStatus(status, pageable);
-        } else {
-            // 获取所有任务并手动分页
-            List<Task> allTasks = taskService.getAllTasks();
-            List<TaskDto> allTaskDtos = allTasks.stream()
-                    .map(TaskMapper.INSTANCE::toDto)
-                    .collect(java.util.stream.Collectors.toList());
-
-            // 手动分页
-            int start = page * size;
-            int end = Math.min(start + size, allTaskDtos.size());
-            List<TaskDto> paginatedDtos = allTaskDtos.subList(start, end);
-
-            Page<TaskDto> pageResult = new org.springframework.data.domain.PageImpl<>(
-                    paginatedDtos,
-                    PageRequest.of(page, size),
-                    allTaskDtos.size()
-            );
-            return ResponseEntity.ok(pageResult);
-        }
+        Page<Task> tasks = taskService.getTasks(status, null, pageRequest(page, size, sort, direction));
+        return ResponseEntity.ok(tasks.map(TaskMapper.INSTANCE::toDto));
+    }
 
-        Page<TaskDto> taskDtos = tasks.map(TaskMapper.INSTANCE::toDto);
-        return ResponseEntity.ok(taskDtos);
+    /**
+     * 以NDJSON流式导出任务
+     */
+    @RemotePreAuthorize("@ss.hasAnyRoles('admin,common')")
+    @GetMapping(value = "/export", produces = NDJSON)
+    @Operation(summary = "导出任务", description = "按可选的状态、类型条件以NDJSON（每行一个任务）流式导出全部任务")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @Parameter(description = "任务状态筛选")
+            @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "任务类型筛选")
+            @RequestParam(required = false) TaskType taskType) {
+
+        StreamingResponseBody body = outputStream -> {
+            // 逐条写出，不让JSON写出器关闭响应流
+            ObjectWriter writer = objectMapper.writerFor(TaskDto.class).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            taskService.exportTasks(status, taskType, task -> {
+                try {
+                    writer.writeValue(outputStream, TaskMapper.INSTANCE.toDto(task));
+                    outputStream.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=tasks.ndjson")
+                .body(body);
     }
 
     /**
@@ -195,32 +216,43 @@ public class TaskController {
     }
 
     /**
-     * 根据类型获取任务
+     * 根据类型分页获取任务
      */
     @RemotePreAuthorize("@ss.hasAnyRoles('admin,common,guest')")
     @GetMapping("/type/{taskType}")
-    @Operation(summary = "根据类型获取任务", description = "根据任务类型获取任务列表")
-    public ResponseEntity<List<TaskDto>> getTasksByType(@PathVariable String taskType) {
+    @Operation(summary = "根据类型获取任务", description = "根据任务类型分页获取任务列表")
+    public ResponseEntity<Page<TaskDto>> getTasksByType(
+            @PathVariable String taskType,
+            @Parameter(description = "页码，从0开始")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "每页大小，最大" + MAX_PAGE_SIZE)
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "排序字段")
+            @RequestParam(defaultValue = "createdTime") String sort,
+            @Parameter(description = "排序方向")
+            @RequestParam(defaultValue = "desc") String direction) {
         TaskType type = TaskType.valueOf(taskType.toUpperCase());
-        List<Task> tasks = taskService.getTasksByType(type);
-        List<TaskDto> taskDtos = tasks.stream()
-                .map(TaskMapper.INSTANCE::toDto)
-                .toList();
-        return ResponseEntity.ok(taskDtos);
+        Page<Task> tasks = taskService.getTasks(null, type, pageRequest(page, size, sort, direction));
+        return ResponseEntity.ok(tasks.map(TaskMapper.INSTANCE::toDto));
     }
 
     /**
-     * 获取所有任务
+     * 分页获取所有任务，需要全量数据时使用 /export
      */
     @RemotePreAuthorize("@ss.hasAnyRoles('admin,common,guest')")
     @GetMapping("/all")
-    @Operation(summary = "获取所有任务", description = "获取所有任务列表")
-    public ResponseEntity<List<TaskDto>> getAllTasks() {
-        List<Task> tasks = taskService.getAllTasks();
-        List<TaskDto> taskDtos = tasks.stream()
-                .map(TaskMapper.INSTANCE::toDto)
-                .toList();
-        return ResponseEntity.ok(taskDtos);
+    @Operation(summary = "获取所有任务", description = "分页获取所有任务列表，全量数据请使用导出接口")
+    public ResponseEntity<Page<TaskDto>> getAllTasks(
+            @Parameter(description = "页码，从0开始")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "每页大小，最大" + MAX_PAGE_SIZE)
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "排序字段")
+            @RequestParam(defaultValue = "createdTime") String sort,
+            @Parameter(description = "排序方向")
+            @RequestParam(defaultValue = "desc") String direction) {
+        Page<Task> tasks = taskService.getTasks(null, null, pageRequest(page, size, sort, direction));
+        return ResponseEntity.ok(tasks.map(TaskMapper.INSTANCE::toDto));
     }
 
     /**
@@ -248,4 +280,16 @@ public class TaskController {
         boolean exists = taskService.existsByTaskName(taskName);
         return ResponseEntity.ok(exists);
     }
-}
\ No newline at end of file
+
+    /**
+     * 构建分页参数：限制每页大小，只允许按白名单字段排序，并以ID作为次级排序保证翻页稳定
+     */
+    private Pageable pageRequest(int page, int size, String sort, String direction) {
+        if (!SORTABLE_FIELDS.contains(sort)) {
+            throw new IllegalArgumentException("不支持的排序字段: " + sort);
+        }
+        Sort.Direction sortDirection = Sort.Direction.fromString(direction);
+        return PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Sort.by(sortDirection, sort).and(Sort.by(sortDirection, "id")));
+    }
+}
@@ -32,4 +32,7 @@ public class TaskListQueryRequestDto {
 
     @Schema(description = "任务状态精准筛选", example = "COMPLETED")
     private TaskStatus taskStatus;
+
+    @Schema(description = "游标，传入上次响应的nextCursor时按游标翻页（忽略页码，不返回统计信息）")
+    private String cursor;
 }
\ No newline at end of file
@@ -24,7 +24,7 @@ public class TaskListResponseDto {
     @Schema(description = "任务列表")
     private List<ContractTaskListItemDto> tasks;
 
-    @Schema(description = "总记录数")
+    @Schema(description = "总记录数，无过滤条件且数据量较大时为估算值")
     private Long total;
 
     @Schema(description = "当前页码")
@@ -35,4 +35,7 @@ public class TaskListResponseDto {
 
     @Schema(description = "总页数")
     private Integer totalPages;
+
+    @Schema(description = "下一批游标，没有更多数据时为空")
+    private String nextCursor;
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+-- 任务认领租约：多实例按批次认领任务，崩溃实例的租约过期后由其他实例回收
+ALTER TABLE task ADD COLUMN IF NOT EXISTS lease_owner VARCHAR(128);
+ALTER TABLE task ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP;
+
+-- 认领查询只扫描待处理/运行中的任务
+CREATE INDEX IF NOT EXISTS idx_task_claimable
+    ON task (current_stage, created_time)
+    WHERE task_status IN ('PENDING', 'RUNNING');
+
+-- 过期租约回收
+CREATE INDEX IF NOT EXISTS idx_task_lease_expires_at
+    ON task (lease_expires_at)
+    WHERE lease_owner IS NOT NULL;
@@ -0,0 +1,3 @@
+-- 任务列表按 (created_time, id) 倒序分页，游标翻页走索引范围扫描
+CREATE INDEX IF NOT EXISTS idx_task_created_time_id
+    ON task (created_time DESC, id DESC);
@@ -0,0 +1,19 @@
+-- 文本检索：pg_trgm GIN索引支持 LIKE '%关键词%' 与相似度排序，避免前导通配符导致的全表扫描
+-- 中文没有空格分词，内置全文检索解析器无法切词，这里统一使用三元组索引；
+-- 数据库 LC_CTYPE 需为 UTF-8 区域（如 zh_CN.UTF-8 / en_US.UTF-8），C 区域下非ASCII字符不会生成三元组
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_task_task_name_trgm
+    ON task USING gin (task_name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_review_rule_results_origin_text_trgm
+    ON review_rule_results USING gin (origin_contract_text gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_review_rule_results_summary_trgm
+    ON review_rule_results USING gin (summary gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_review_result_summary_trgm
+    ON review_result USING gin (summary gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_review_result_stage_result_trgm
+    ON review_result USING gin (stage_result gin_trgm_ops);
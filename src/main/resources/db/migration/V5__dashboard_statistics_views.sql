@@ -0,0 +1,30 @@
+-- 任务看板统计汇总：物化视图由定时任务 REFRESH ... CONCURRENTLY 刷新，看板只读取汇总行，不再逐次扫描业务表
+
+-- 任务计数与执行时长汇总（单行）
+CREATE MATERIALIZED VIEW IF NOT EXISTS task_dashboard_stats AS
+SELECT 1 AS id,
+       (SELECT COUNT(*) FROM task t2 JOIN contract_task ct ON ct.task_id = t2.id) AS total_tasks,
+       COUNT(*) FILTER (WHERE t.current_stage = 'REVIEW_COMPLETED'
+           OR t.task_status IN ('COMPLETED', 'FAILED', 'CANCELLED')) AS completed_tasks,
+       COUNT(*) FILTER (WHERE t.task_status = 'RUNNING') AS running_tasks,
+       COALESCE(SUM(EXTRACT(EPOCH FROM (t.end_time - t.created_time))) FILTER (
+           WHERE (t.current_stage = 'REVIEW_COMPLETED' OR t.task_status IN ('COMPLETED', 'FAILED', 'CANCELLED'))
+             AND t.start_time IS NOT NULL AND t.end_time IS NOT NULL AND t.created_time IS NOT NULL), 0) AS duration_seconds_sum,
+       COUNT(*) FILTER (
+           WHERE (t.current_stage = 'REVIEW_COMPLETED' OR t.task_status IN ('COMPLETED', 'FAILED', 'CANCELLED'))
+             AND t.start_time IS NOT NULL AND t.end_time IS NOT NULL AND t.created_time IS NOT NULL) AS duration_count,
+       now() AS refreshed_at
+FROM task t;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_task_dashboard_stats_id ON task_dashboard_stats (id);
+
+-- 审查结果按月份、风险等级计数：风险分布为各月之和，风险趋势取本月与上月
+CREATE MATERIALIZED VIEW IF NOT EXISTS review_risk_monthly_stats AS
+SELECT date_trunc('month', rr.created_time) AS month,
+       rr.overall_risk_level AS risk_level,
+       COUNT(*) AS result_count
+FROM review_result rr
+WHERE rr.overall_risk_level IS NOT NULL
+GROUP BY date_trunc('month', rr.created_time), rr.overall_risk_level;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_review_risk_monthly_stats ON review_risk_monthly_stats (month, risk_level);
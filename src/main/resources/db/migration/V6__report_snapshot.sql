@@ -0,0 +1,8 @@
+-- 报告快照：报告生成阶段渲染一次报告详情，读取时直接返回，不再关联查询或调用外部服务
+CREATE TABLE IF NOT EXISTS report_snapshot (
+    task_id          BIGINT PRIMARY KEY REFERENCES task (id) ON DELETE CASCADE,
+    review_result_id BIGINT      NOT NULL,
+    content          JSONB       NOT NULL,
+    content_hash     VARCHAR(64) NOT NULL,
+    created_time     TIMESTAMP   NOT NULL
+);
@@ -0,0 +1,20 @@
+-- 任务调度优先级：base_priority 为配置优先级加任务类型加权，priority 为随等待时间老化后的有效优先级
+ALTER TABLE task ADD COLUMN IF NOT EXISTS base_priority INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE task ADD COLUMN IF NOT EXISTS priority INTEGER NOT NULL DEFAULT 0;
+-- 任务进入当前状态/阶段的时间：有效优先级从任务可被认领时起老化，而不是从创建时起
+ALTER TABLE task ADD COLUMN IF NOT EXISTS ready_time TIMESTAMP;
+
+-- 存量任务按配置优先级回填，即时审查任务加权与 TaskType.IMMEDIATE_REVIEW 保持一致
+UPDATE task
+SET base_priority = COALESCE((configuration ->> 'priority')::INTEGER, 0)
+        + CASE WHEN task_type = 'IMMEDIATE_REVIEW' THEN 10 ELSE 0 END,
+    priority = COALESCE((configuration ->> 'priority')::INTEGER, 0)
+        + CASE WHEN task_type = 'IMMEDIATE_REVIEW' THEN 10 ELSE 0 END,
+    ready_time = COALESCE(updated_time, created_time);
+
+-- 认领按 (priority DESC, created_time) 顺序扫描，状态条件作为部分索引谓词，单阶段认领无需排序
+DROP INDEX IF EXISTS idx_task_claimable;
+CREATE INDEX IF NOT EXISTS idx_task_claimable_priority
+    ON task (current_stage, priority DESC, created_time)
+    INCLUDE (lease_owner, lease_expires_at)
+    WHERE task_status IN ('PENDING', 'RUNNING');
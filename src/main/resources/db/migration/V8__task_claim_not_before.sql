@@ -0,0 +1,9 @@
+-- 任务最早可认领时间：条款抽取等待外部结果时按退避间隔延后，未到期的任务不被认领，状态或阶段变化时清除
+ALTER TABLE task ADD COLUMN IF NOT EXISTS not_before TIMESTAMP;
+
+-- 延后条件与租约条件一同在索引中过滤，未到期任务不回表加锁
+DROP INDEX IF EXISTS idx_task_claimable_priority;
+CREATE INDEX IF NOT EXISTS idx_task_claimable_priority
+    ON task (current_stage, priority DESC, created_time)
+    INCLUDE (lease_owner, lease_expires_at, not_before)
+    WHERE task_status IN ('PENDING', 'RUNNING');
@@ -0,0 +1,135 @@
+package com.contractreview.reviewengine.benchmark;
+
+import com.contractreview.reviewengine.infrastructure.executor.PromptTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 提示词组装基准测试：逐个 String.replace + String.format 与预编译模板单次渲染对比
+ * 运行方式：mvn test-compile 后执行本类 main 方法
+ *
+ * @author SaltyFish
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PromptRenderBenchmark {
+
+    @Param({"200"})
+    private int clauseCount;
+
+    private String promptContent;
+    private PromptTemplate compiledTemplate;
+    private Map<String, List<String[]>> clausesByType;
+    private Map<String, List<String[]>> rulesByType;
+
+    @Setup
+    public void setUp() {
+        StringBuilder prompt = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            prompt.append("第").append(i).append("条审查要求：请结合行业惯例识别合同中的潜在风险，并给出修改建议。\n");
+        }
+        prompt.append("行业：</industry>，币种：</currency>\n规则：</rules>\n条款：</clauses>\n")
+            .append("风险等级：</RiskLevel>\n审查类型：</ReviewTypeDetail>\n证据类型：</EvidenceType>\n");
+        for (int i = 0; i < 100; i++) {
+            prompt.append("输出格式说明第").append(i).append("行，必须返回合法JSON。\n");
+        }
+        promptContent = prompt.toString();
+        compiledTemplate = PromptTemplate.compile(promptContent);
+
+        clausesByType = new LinkedHashMap<>();
+        for (int i = 0; i < clauseCount; i++) {
+            clausesByType.computeIfAbsent("类型" + (i % 10), k -> new ArrayList<>()).add(new String[]{
+                String.valueOf(i), "条款标题" + i, "甲乙双方约定的条款正文内容，包含付款、违约、争议解决等约定。".repeat(4)});
+        }
+        rulesByType = new LinkedHashMap<>();
+        for (int i = 0; i < 40; i++) {
+            rulesByType.computeIfAbsent("类型" + (i % 10), k -> new ArrayList<>()).add(new String[]{
+                String.valueOf(i), "规则" + i, "检查条款是否存在对一方显失公平的约定。"});
+        }
+    }
+
+    @Benchmark
+    public String chainedReplace() {
+        StringBuilder rulePrompt = new StringBuilder();
+        StringBuilder clausePrompt = new StringBuilder();
+        for (Map.Entry<String, List<String[]>> entry : clausesByType.entrySet()) {
+            clausePrompt.append(String.format("\n【%s条款】(%d条):\n", entry.getKey(), entry.getValue().size()));
+            for (String[] clause : entry.getValue()) {
+                clausePrompt.append(String.format("-id: %s\n%s: %s\n", clause[0], clause[1], clause[2]));
+            }
+        }
+        for (Map.Entry<String, List<String[]>> entry : rulesByType.entrySet()) {
+            rulePrompt.append(String.format("\n【%s规则】(%d条):\n", entry.getKey(), entry.getValue().size()));
+            for (String[] rule : entry.getValue()) {
+                rulePrompt.append(String.format("-id: %s\n%s: %s\n", rule[0], rule[1], rule[2]));
+            }
+        }
+
+        String content = promptContent;
+        content = content.replace("</rules>", rulePrompt.toString());
+        content = content.replace("</clauses>", clausePrompt.toString());
+        content = content.replace("</industry>", "制造业");
+        content = content.replace("</currency>", "CNY");
+        content = content.replace("</RiskLevel>", "[HIGH, MEDIUM, LOW]");
+        content = content.replace("</ReviewTypeDetail>", "[RISK_ASSESSMENT, CLAUSE_ANALYSIS]");
+        content = content.replace("</EvidenceType>", "[rule, case]");
+        return content;
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        StringBuilder rulePrompt = new StringBuilder();
+        StringBuilder clausePrompt = new StringBuilder();
+        for (Map.Entry<String, List<String[]>> entry : clausesByType.entrySet()) {
+            clausePrompt.append("\n【").append(entry.getKey()).append("条款】(").append(entry.getValue().size()).append("条):\n");
+            for (String[] clause : entry.getValue()) {
+                clausePrompt.append("-id: ").append(clause[0]).append('\n')
+                    .append(clause[1]).append(": ").append(clause[2]).append('\n');
+            }
+        }
+        for (Map.Entry<String, List<String[]>> entry : rulesByType.entrySet()) {
+            rulePrompt.append("\n【").append(entry.getKey()).append("规则】(").append(entry.getValue().size()).append("条):\n");
+            for (String[] rule : entry.getValue()) {
+                rulePrompt.append("-id: ").append(rule[0]).append('\n')
+                    .append(rule[1]).append(": ").append(rule[2]).append('\n');
+            }
+        }
+
+        Map<String, CharSequence> values = new HashMap<>();
+        values.put(PromptTemplate.RULES, rulePrompt);
+        values.put(PromptTemplate.CLAUSES, clausePrompt);
+        values.put(PromptTemplate.INDUSTRY, "制造业");
+        values.put(PromptTemplate.CURRENCY, "CNY");
+        values.put(PromptTemplate.RISK_LEVEL, "[HIGH, MEDIUM, LOW]");
+        values.put(PromptTemplate.REVIEW_TYPE_DETAIL, "[RISK_ASSESSMENT, CLAUSE_ANALYSIS]");
+        values.put(PromptTemplate.EVIDENCE_TYPE, "[rule, case]");
+        return compiledTemplate.render(values);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PromptRenderBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,147 @@
+package com.contractreview.reviewengine.infrastructure.executor;
+
+import com.contractreview.reviewengine.domain.enums.ExecutionStage;
+import com.contractreview.reviewengine.domain.enums.TaskType;
+import com.contractreview.reviewengine.domain.model.Task;
+import com.contractreview.reviewengine.domain.valueobject.TaskConfiguration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * FairShareTaskQueue 测试
+ * 验证租户间的差额轮询顺序、租户并发上限、排队上限、准入条件、任务并发数与租户级指标的注册和移除
+ */
+class FairShareTaskQueueTest {
+
+    private static final long BULK_TENANT = 1L;
+    private static final long INTERACTIVE_TENANT = 2L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void tenantsAreServedRoundRobinInsteadOfFifo() throws InterruptedException {
+        FairShareTaskQueue queue = queue(20, 0, 0, 1, tenant -> true);
+        for (int i = 0; i < 4; i++) {
+            queue.offer(task(BULK_TENANT));
+        }
+        queue.offer(task(INTERACTIVE_TENANT));
+        queue.offer(task(INTERACTIVE_TENANT));
+
+        assertThat(pollTenants(queue, 6)).containsExactly(
+            BULK_TENANT, INTERACTIVE_TENANT, BULK_TENANT, INTERACTIVE_TENANT, BULK_TENANT, BULK_TENANT);
+    }
+
+    @Test
+    void quantumLetsTenantDequeueSeveralTasksPerTurn() throws InterruptedException {
+        FairShareTaskQueue queue = queue(20, 0, 0, 2, tenant -> true);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(task(BULK_TENANT));
+            queue.offer(task(INTERACTIVE_TENANT));
+        }
+
+        assertThat(pollTenants(queue, 6)).containsExactly(
+            BULK_TENANT, BULK_TENANT, INTERACTIVE_TENANT, INTERACTIVE_TENANT, BULK_TENANT, INTERACTIVE_TENANT);
+    }
+
+    @Test
+    void tenantAtConcurrencyLimitIsSkippedOnlyWhileOthersWait() throws InterruptedException {
+        FairShareTaskQueue queue = queue(20, 0, 1, 2, tenant -> true);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(task(BULK_TENANT));
+        }
+        queue.offer(task(INTERACTIVE_TENANT));
+
+        // 不调用 done，执行中任务数持续累加
+        assertThat(tenantOf(queue.poll(0, TimeUnit.MILLISECONDS))).isEqualTo(BULK_TENANT);
+        assertThat(tenantOf(queue.poll(0, TimeUnit.MILLISECONDS))).isEqualTo(INTERACTIVE_TENANT);
+        // 没有其他租户等待时上限不生效
+        assertThat(tenantOf(queue.poll(0, TimeUnit.MILLISECONDS))).isEqualTo(BULK_TENANT);
+    }
+
+    @Test
+    void taskConcurrencyCapsTheLaneWhileTheTaskRuns() throws InterruptedException {
+        FairShareTaskQueue queue = queue(20, 0, 0, 1, tenant -> true);
+        Task exclusive = task(BULK_TENANT);
+        exclusive.updateConfiguration(TaskConfiguration.builder().concurrency(1).build());
+        queue.offer(exclusive);
+        queue.offer(task(INTERACTIVE_TENANT));
+
+        assertThat(queue.poll(0, TimeUnit.MILLISECONDS)).isSameAs(exclusive);
+        assertThat(queue.poll(0, TimeUnit.MILLISECONDS)).isNull();
+
+        queue.done(exclusive);
+        assertThat(tenantOf(queue.poll(0, TimeUnit.MILLISECONDS))).isEqualTo(INTERACTIVE_TENANT);
+    }
+
+    @Test
+    void tenantMetersAreRemovedWhenSubQueueDrains() throws InterruptedException {
+        FairShareTaskQueue queue = queue(20, 0, 0, 1, tenant -> true);
+        queue.offer(task(BULK_TENANT));
+        queue.offer(task(BULK_TENANT));
+        assertThat(meterRegistry.find("review.pipeline.tenant.queue.size")
+            .tag("tenant", String.valueOf(BULK_TENANT)).gauge().value()).isEqualTo(2);
+
+        pollTenants(queue, 2);
+        assertThat(meterRegistry.find("review.pipeline.tenant.queue.size").gauges()).isEmpty();
+        assertThat(meterRegistry.find("review.pipeline.tenant.wait").timers()).isEmpty();
+    }
+
+    @Test
+    void tenantQueueLimitKeepsRoomForOtherTenants() {
+        FairShareTaskQueue queue = queue(4, 2, 0, 1, tenant -> true);
+
+        assertThat(queue.offer(task(BULK_TENANT))).isTrue();
+        assertThat(queue.offer(task(BULK_TENANT))).isTrue();
+        assertThat(queue.offer(task(BULK_TENANT))).isFalse();
+        assertThat(queue.tenantRoom()).containsExactly(Map.entry(BULK_TENANT, 0));
+        assertThat(queue.offer(task(INTERACTIVE_TENANT))).isTrue();
+        assertThat(queue.remainingCapacity()).isEqualTo(1);
+    }
+
+    @Test
+    void tenantFailingAdmissionIsSkippedAndEvictedFromCapacity() throws InterruptedException {
+        FairShareTaskQueue queue = queue(3, 0, 0, 1, tenant -> tenant != BULK_TENANT);
+        queue.offer(task(BULK_TENANT));
+        queue.offer(task(BULK_TENANT));
+        queue.offer(task(INTERACTIVE_TENANT));
+
+        assertThat(pollTenants(queue, 1)).containsExactly(INTERACTIVE_TENANT);
+        assertThat(queue.poll(0, TimeUnit.MILLISECONDS)).isNull();
+
+        List<Task> evicted = queue.evictInadmissible();
+        assertThat(evicted).hasSize(2).allMatch(task -> TenantFairShare.tenantOf(task) == BULK_TENANT);
+        assertThat(queue.size()).isZero();
+        assertThat(queue.remainingCapacity()).isEqualTo(3);
+    }
+
+    private FairShareTaskQueue queue(int capacity, int tenantQueueLimit, int tenantConcurrency, int quantum,
+                                     java.util.function.LongPredicate admission) {
+        return new FairShareTaskQueue(ExecutionStage.MODEL_REVIEW, capacity, tenantQueueLimit, tenantConcurrency,
+            quantum, admission, meterRegistry);
+    }
+
+    private static List<Long> pollTenants(FairShareTaskQueue queue, int count) throws InterruptedException {
+        List<Long> tenants = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Task task = queue.poll(0, TimeUnit.MILLISECONDS);
+            tenants.add(tenantOf(task));
+            queue.done(task);
+        }
+        return tenants;
+    }
+
+    private static long tenantOf(Task task) {
+        return TenantFairShare.tenantOf(task);
+    }
+
+    private static Task task(long tenant) {
+        return Task.create("审查任务", TaskType.CONTRACT_REVIEW, tenant);
+    }
+}
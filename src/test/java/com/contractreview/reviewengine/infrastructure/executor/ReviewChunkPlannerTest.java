@@ -0,0 +1,118 @@
+package com.contractreview.reviewengine.infrastructure.executor;
+
+import com.contract.common.feign.dto.ClauseFeignDTO;
+import com.contract.common.feign.dto.ReviewRuleFeignDTO;
+import com.contractreview.reviewengine.domain.enums.RiskLevel;
+import com.contractreview.reviewengine.domain.model.ReviewResult;
+import com.contractreview.reviewengine.domain.model.ReviewRuleResultEntity;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ReviewChunkPlanner 与分片结果合并测试
+ * 验证按token预算分片、超大条款类型拆分、孤立规则归入首片以及合并后的风险等级
+ */
+class ReviewChunkPlannerTest {
+
+    @Test
+    void typesWithinBudgetShareOneChunk() {
+        Map<String, List<ClauseFeignDTO>> clauses = new LinkedHashMap<>();
+        clauses.put("付款", List.of(clause(100)));
+        clauses.put("违约", List.of(clause(100)));
+
+        List<ReviewChunkPlanner.Chunk> chunks = ReviewChunkPlanner.plan(clauses, Map.of(), 1000);
+
+        assertThat(chunks).hasSize(1);
+        assertThat(chunks.get(0).clausesByType()).containsOnlyKeys("付款", "违约");
+    }
+
+    @Test
+    void typesOverflowingBudgetStartNewChunk() {
+        Map<String, List<ClauseFeignDTO>> clauses = new LinkedHashMap<>();
+        clauses.put("付款", List.of(clause(600)));
+        clauses.put("违约", List.of(clause(600)));
+
+        List<ReviewChunkPlanner.Chunk> chunks = ReviewChunkPlanner.plan(clauses, Map.of(), 1000);
+
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0).clausesByType()).containsOnlyKeys("付款");
+        assertThat(chunks.get(1).clausesByType()).containsOnlyKeys("违约");
+    }
+
+    @Test
+    void oversizedTypeIsSplitAndEveryPieceCarriesItsRules() {
+        Map<String, List<ClauseFeignDTO>> clauses = Map.of("付款", List.of(clause(400), clause(400), clause(400)));
+        ReviewRuleFeignDTO rule = rule(100);
+        Map<String, List<ReviewRuleFeignDTO>> rules = Map.of("付款", List.of(rule));
+
+        List<ReviewChunkPlanner.Chunk> chunks = ReviewChunkPlanner.plan(clauses, rules, 1000);
+
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.rulesByType().get("付款")).containsExactly(rule));
+        assertThat(chunks.stream().mapToInt(chunk -> chunk.clausesByType().get("付款").size()).sum()).isEqualTo(3);
+    }
+
+    @Test
+    void rulesWithoutClausesGoToFirstChunk() {
+        Map<String, List<ClauseFeignDTO>> clauses = new LinkedHashMap<>();
+        clauses.put("付款", List.of(clause(600)));
+        clauses.put("违约", List.of(clause(600)));
+        ReviewRuleFeignDTO orphan = rule(10);
+
+        List<ReviewChunkPlanner.Chunk> chunks = ReviewChunkPlanner.plan(clauses, Map.of("保密", List.of(orphan)), 1000);
+
+        assertThat(chunks.get(0).rulesByType().get("保密")).containsExactly(orphan);
+        assertThat(chunks.get(1).rulesByType()).doesNotContainKey("保密");
+    }
+
+    @Test
+    void mergeConcatenatesResultsAndKeepsHighestRisk() {
+        ReviewResult low = result("LOW", "片段一", RiskLevel.MEDIUM);
+        ReviewResult high = result("HIGH", "片段二", RiskLevel.LOW);
+
+        ReviewResult merged = ModelReviewExecutor.mergeReviewResults(List.of(low, high));
+
+        assertThat(merged.getRuleResults()).hasSize(2);
+        assertThat(merged.getSummary()).isEqualTo("片段一\n片段二");
+        assertThat(merged.getOverallRiskLevel()).isEqualTo(RiskLevel.HIGH.name());
+    }
+
+    @Test
+    void mergeTakesRuleRiskWhenItExceedsChunkLevels() {
+        ReviewResult chunk = result("unknown", "", RiskLevel.CRITICAL);
+
+        ReviewResult merged = ModelReviewExecutor.mergeReviewResults(List.of(chunk));
+
+        assertThat(merged.getOverallRiskLevel()).isEqualTo(RiskLevel.CRITICAL.name());
+        assertThat(merged.getSummary()).isEmpty();
+    }
+
+    private static ClauseFeignDTO clause(int length) {
+        ClauseFeignDTO clause = mock(ClauseFeignDTO.class);
+        when(clause.getClauseTitle()).thenReturn("");
+        when(clause.getClauseContent()).thenReturn("款".repeat(length));
+        return clause;
+    }
+
+    private static ReviewRuleFeignDTO rule(int length) {
+        ReviewRuleFeignDTO rule = mock(ReviewRuleFeignDTO.class);
+        when(rule.getRuleName()).thenReturn("");
+        when(rule.getRuleContent()).thenReturn("规".repeat(length));
+        return rule;
+    }
+
+    private static ReviewResult result(String overallRiskLevel, String summary, RiskLevel ruleRisk) {
+        ReviewResult result = new ReviewResult();
+        result.setOverallRiskLevel(overallRiskLevel);
+        result.setSummary(summary);
+        result.setRuleResults(List.of(ReviewRuleResultEntity.builder().riskName("规则").riskLevel(ruleRisk).build()));
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+package com.contractreview.reviewengine.infrastructure.executor;
+
+import com.contractreview.reviewengine.domain.enums.ExecutionStage;
+import com.contractreview.reviewengine.domain.enums.TaskStatus;
+import com.contractreview.reviewengine.domain.enums.TaskType;
+import com.contractreview.reviewengine.domain.model.Task;
+import com.contractreview.reviewengine.domain.model.TaskId;
+import com.contractreview.reviewengine.domain.repository.TaskRepository;
+import com.contractreview.reviewengine.domain.valueobject.AuditInfo;
+import com.contractreview.reviewengine.domain.valueobject.TaskConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * TaskUnitOfWork 测试
+ * 验证任务启动立即写库，以及批量写库失败时任务保留在工作单元中、不交还调用方释放租约
+ */
+class TaskUnitOfWorkTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final TaskUnitOfWork unitOfWork = new TaskUnitOfWork(taskRepository,
+        new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    void startIsWrittenImmediately() {
+        Task task = task();
+        when(taskRepository.transition(task, TaskStatus.PENDING)).thenReturn(true);
+
+        unitOfWork.track(task);
+        unitOfWork.start(task);
+
+        verify(taskRepository).transition(task, TaskStatus.PENDING);
+        assertThat(task.isRunning()).isTrue();
+    }
+
+    @Test
+    void startFailsWhenTaskWasModifiedElsewhere() {
+        Task task = task();
+        when(taskRepository.transition(task, TaskStatus.PENDING)).thenReturn(false);
+
+        unitOfWork.track(task);
+
+        assertThatThrownBy(() -> unitOfWork.start(task)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void failedWriteKeepsTaskForNextCommit() {
+        Task task = task();
+        when(taskRepository.transition(task, TaskStatus.PENDING)).thenReturn(true);
+        unitOfWork.track(task);
+        unitOfWork.start(task);
+        task.updateCurrentStage(ExecutionStage.MODEL_REVIEW);
+        unitOfWork.complete(task);
+
+        when(taskRepository.transitionAll(anyCollection())).thenThrow(new IllegalStateException("数据库不可用"));
+        assertThat(unitOfWork.commit()).isEmpty();
+        assertThat(unitOfWork.completedCount()).isEqualTo(1);
+
+        when(taskRepository.transitionAll(anyCollection())).thenReturn(List.of(task));
+        assertThat(unitOfWork.commit()).containsExactly(task);
+        assertThat(unitOfWork.completedCount()).isZero();
+    }
+
+    private static Task task() {
+        LocalDateTime now = LocalDateTime.now();
+        return Task.reconstruct(TaskId.of(100L), "合同审查任务", TaskType.CLASSIFICATION, TaskStatus.PENDING,
+            ExecutionStage.CLAUSE_EXTRACTION, TaskConfiguration.defaultTaskConfiguration(), null, null, null,
+            new AuditInfo(1L, now, 1L, now, 1L));
+    }
+}
@@ -0,0 +1,153 @@
+package com.contractreview.reviewengine.infrastructure.external;
+
+import feign.FeignException;
+import feign.RetryableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * AdaptiveConcurrencyLimiter 测试
+ * 验证上限只在被用到时加性增长、过载信号乘性下降、各种退出路径都归还在途计数以及等待许可超时
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long ACQUIRE_TIMEOUT_MILLIS = 1000;
+    private static final long LATENCY_THRESHOLD_MILLIS = 20;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void limitGrowsOnlyWhenInUse() {
+        AdaptiveConcurrencyLimiter idle = limiter(4);
+        for (int i = 0; i < 20; i++) {
+            idle.call(() -> "ok", ACQUIRE_TIMEOUT_MILLIS);
+        }
+        assertThat(idle.getLimit()).isEqualTo(4);
+
+        // 上限为1时每次调用都占满上限：1 -> 2
+        AdaptiveConcurrencyLimiter saturated = limiter(1);
+        saturated.call(() -> "ok", ACQUIRE_TIMEOUT_MILLIS);
+        assertThat(saturated.getLimit()).isEqualTo(2);
+        assertThat(saturated.getInFlight()).isZero();
+    }
+
+    @Test
+    void overloadSignalsShrinkLimitMultiplicatively() {
+        AdaptiveConcurrencyLimiter limiter = limiter(16);
+
+        assertThatThrownBy(() -> limiter.call(failing(feignException(FeignException.TooManyRequests.class, 429)),
+            ACQUIRE_TIMEOUT_MILLIS)).isInstanceOf(FeignException.class);
+        assertThat(limiter.getLimit()).isEqualTo(8);
+
+        assertThatThrownBy(() -> limiter.call(failing(feignException(FeignException.ServiceUnavailable.class, 503)),
+            ACQUIRE_TIMEOUT_MILLIS)).isInstanceOf(FeignException.class);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        // 网络超时被包装后仍按原因链识别
+        RuntimeException wrapped = new RuntimeException("AI模型审查失败", mock(RetryableException.class));
+        assertThatThrownBy(() -> limiter.call(failing(wrapped), ACQUIRE_TIMEOUT_MILLIS)).isSameAs(wrapped);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+
+        limiter.call(() -> {
+            sleep(LATENCY_THRESHOLD_MILLIS * 3);
+            return "slow";
+        }, ACQUIRE_TIMEOUT_MILLIS);
+        assertThat(limiter.getLimit()).isEqualTo(1);
+
+        // 不低于下限
+        assertThatThrownBy(() -> limiter.call(failing(feignException(FeignException.TooManyRequests.class, 429)),
+            ACQUIRE_TIMEOUT_MILLIS)).isInstanceOf(FeignException.class);
+        assertThat(limiter.getLimit()).isEqualTo(1);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void inFlightIsReleasedOnEveryExitPath() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+
+        limiter.call(() -> "ok", ACQUIRE_TIMEOUT_MILLIS);
+        assertThat(limiter.getInFlight()).isZero();
+
+        assertThatThrownBy(() -> limiter.call(failing(feignException(FeignException.InternalServerError.class, 500)),
+            ACQUIRE_TIMEOUT_MILLIS)).isInstanceOf(FeignException.class);
+        assertThat(limiter.getInFlight()).isZero();
+
+        // 非过载异常与 Error 不调整上限，但同样归还许可
+        int limit = limiter.getLimit();
+        assertThatThrownBy(() -> limiter.call(failing(new IllegalArgumentException("参数错误")), ACQUIRE_TIMEOUT_MILLIS))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(limiter.getInFlight()).isZero();
+
+        assertThatThrownBy(() -> limiter.call(() -> {
+            throw new OutOfMemoryError("模拟");
+        }, ACQUIRE_TIMEOUT_MILLIS)).isInstanceOf(OutOfMemoryError.class);
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(limit);
+    }
+
+    @Test
+    void acquireTimesOutWhenLimitIsExhausted() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = limiter(1);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> holder = CompletableFuture.supplyAsync(() -> limiter.call(() -> {
+            holding.countDown();
+            await(release);
+            return "held";
+        }, ACQUIRE_TIMEOUT_MILLIS));
+        assertThat(holding.await(1, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> limiter.call(() -> "waiting", 50))
+            .isInstanceOf(PermitAcquireTimeoutException.class);
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(holder.get(1, TimeUnit.SECONDS)).isEqualTo("held");
+        assertThat(limiter.call(() -> "ok", 50)).isEqualTo("ok");
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter("TEST", initialLimit, 1, 32, 0.5, LATENCY_THRESHOLD_MILLIS, meterRegistry);
+    }
+
+    private static <E extends FeignException> E feignException(Class<E> type, int status) {
+        E exception = mock(type);
+        when(exception.status()).thenReturn(status);
+        return exception;
+    }
+
+    private static Supplier<String> failing(RuntimeException e) {
+        return () -> {
+            throw e;
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.contractreview.reviewengine.infrastructure.external;
+
+import com.contractreview.reviewengine.domain.enums.PromptTemplateType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ModelRouter 测试
+ * 用模拟不同延迟与故障特征的本地模型服务验证按模板选路、延迟EWMA选路、故障转移、配额与尾延迟对冲
+ */
+class ModelRouterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StubProviders providers = new StubProviders();
+    private final ExecutorService routeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private ModelRouter router;
+
+    @AfterEach
+    void tearDown() {
+        routeExecutor.shutdownNow();
+    }
+
+    @Test
+    void templateSelectsPreferredRoute() {
+        router = router("IFLOW:fast:EFFICIENT:0,IFLOW:strong:STANDARD/STRICT:0", false);
+
+        assertThat(router.call(PromptTemplateType.EFFICIENT, providers).response()).isEqualTo("fast");
+        assertThat(router.call(PromptTemplateType.STRICT, providers).response()).isEqualTo("strong");
+    }
+
+    @Test
+    void latencyEwmaPrefersFasterRoute() {
+        router = router("IFLOW:slow:STANDARD:0,IFLOW:quick:STANDARD:0", false);
+        providers.latencies.put("slow", 60L);
+        providers.latencies.put("quick", 5L);
+
+        List<String> served = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            served.add(router.call(PromptTemplateType.STANDARD, providers).response());
+        }
+
+        assertThat(served.subList(2, served.size())).containsOnly("quick");
+    }
+
+    @Test
+    void failingRouteFailsOverAndIsDeprioritized() {
+        router = router("IFLOW:broken:STANDARD:0,IFLOW:healthy:STANDARD:0", false);
+        providers.failing.add("broken");
+
+        assertThat(router.call(PromptTemplateType.STANDARD, providers).response()).isEqualTo("healthy");
+        assertThat(router.call(PromptTemplateType.STANDARD, providers).response()).isEqualTo("healthy");
+        assertThat(providers.calls("broken")).isEqualTo(1);
+    }
+
+    @Test
+    void exhaustedQuotaRoutesToNextProvider() {
+        router = router("IFLOW:limited:STANDARD:1,IFLOW:spare:STANDARD:0", false);
+
+        assertThat(router.call(PromptTemplateType.STANDARD, providers).response()).isEqualTo("limited");
+        assertThat(router.call(PromptTemplateType.STANDARD, providers).response()).isEqualTo("spare");
+    }
+
+    @Test
+    void slowTailIsHedgedToSecondRouteAndLoserIsCancelled() throws InterruptedException {
+        router = router("IFLOW:primary:STANDARD:0,IFLOW:backup:STANDARD:0", true);
+        providers.latencies.put("primary", 10L);
+        providers.latencies.put("backup", 30L);
+        for (int i = 0; i < 6; i++) {
+            router.call(PromptTemplateType.STANDARD, providers);
+        }
+
+        providers.latencies.put("primary", 2000L);
+        long start = System.currentTimeMillis();
+        ModelRouter.Routed<String> routed = router.call(PromptTemplateType.STANDARD, providers);
+
+        assertThat(routed.route().modelCode()).isEqualTo("backup");
+        assertThat(System.currentTimeMillis() - start).isLessThan(1000);
+        assertThat(meterRegistry.counter("ai.model.route.hedges").count()).isEqualTo(1);
+        // 落败的主路由请求被中断，不计入该路由的错误率
+        assertThat(providers.cancelled.poll(1, TimeUnit.SECONDS)).isEqualTo("primary");
+        assertThat(meterRegistry.counter("ai.model.route.errors", "route", "IFLOW:primary").count()).isZero();
+    }
+
+    private ModelRouter router(String routes, boolean hedging) {
+        return new ModelRouter(routes, hedging, 20, 3, 2, 0.2, 0.2, 4, 0.5, 60, routeExecutor, meterRegistry);
+    }
+
+    /**
+     * 模拟的模型服务：按模型编码设置固定延迟或持续失败，返回模型编码作为响应内容
+     */
+    private static final class StubProviders implements Function<ModelRouter.ModelRoute, String> {
+        private final Map<String, Long> latencies = new ConcurrentHashMap<>();
+        private final Set<String> failing = ConcurrentHashMap.newKeySet();
+        private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        private final BlockingQueue<String> cancelled = new LinkedBlockingQueue<>();
+
+        @Override
+        public String apply(ModelRouter.ModelRoute route) {
+            String model = route.modelCode();
+            calls.computeIfAbsent(model, m -> new AtomicInteger()).incrementAndGet();
+            try {
+                Thread.sleep(latencies.getOrDefault(model, 1L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled.add(model);
+                throw new RuntimeException(e);
+            }
+            if (failing.contains(model)) {
+                throw new RuntimeException("模型服务 " + model + " 不可用");
+            }
+            return model;
+        }
+
+        int calls(String model) {
+            return calls.getOrDefault(model, new AtomicInteger()).get();
+        }
+    }
+}
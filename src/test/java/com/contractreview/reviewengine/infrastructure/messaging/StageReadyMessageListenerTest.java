@@ -0,0 +1,167 @@
+package com.contractreview.reviewengine.infrastructure.messaging;
+
+import com.contractreview.reviewengine.domain.enums.ExecutionStage;
+import com.contractreview.reviewengine.domain.enums.TaskStatus;
+import com.contractreview.reviewengine.domain.enums.TaskType;
+import com.contractreview.reviewengine.domain.event.TaskStageReadyEvent;
+import com.contractreview.reviewengine.domain.model.Task;
+import com.contractreview.reviewengine.domain.model.TaskId;
+import com.contractreview.reviewengine.domain.repository.TaskRepository;
+import com.contractreview.reviewengine.domain.valueobject.AuditInfo;
+import com.contractreview.reviewengine.domain.valueobject.RetryPolicy;
+import com.contractreview.reviewengine.domain.valueobject.TaskConfiguration;
+import com.contractreview.reviewengine.infrastructure.executor.StageTaskDispatcher;
+import com.contractreview.reviewengine.infrastructure.executor.TaskLeaseManager;
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * StageReadyMessageListener 测试
+ * 以模拟的 Channel 代替真实 Broker，验证投入分发器泳道、确认、占用或泳道已满时延迟重投与死信行为
+ */
+@ExtendWith(MockitoExtension.class)
+class StageReadyMessageListenerTest {
+
+    private static final long DELIVERY_TAG = 7L;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskLeaseManager taskLeaseManager;
+
+    @Mock
+    private StageEventPublisher stageEventPublisher;
+
+    @Mock
+    private StageTaskDispatcher stageTaskDispatcher;
+
+    @Mock
+    private Channel channel;
+
+    private StageReadyMessageListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new StageReadyMessageListener(taskRepository, taskLeaseManager, stageEventPublisher,
+            stageTaskDispatcher);
+        ReflectionTestUtils.setField(listener, "busyRedeliveryDelayMillis", 5000L);
+        ReflectionTestUtils.setField(listener, "maxBusyRedeliveries", 5);
+    }
+
+    @Test
+    void shouldDispatchToLaneAndAckWhenTaskClaimed() throws Exception {
+        Task task = task(TaskStatus.PENDING, ExecutionStage.MODEL_REVIEW, 0);
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+        when(taskLeaseManager.claim(task.getId(), ExecutionStage.MODEL_REVIEW)).thenReturn(Optional.of(task));
+        when(stageTaskDispatcher.dispatch(Map.of(ExecutionStage.MODEL_REVIEW, List.of(task)))).thenReturn(1);
+
+        listener.handle(ExecutionStage.MODEL_REVIEW, event(task), message(), channel);
+
+        verify(channel).basicAck(DELIVERY_TAG, false);
+        // 租约随任务交给泳道，由泳道处理完成后释放
+        verify(taskLeaseManager, never()).release(any());
+        verifyNoInteractions(stageEventPublisher);
+    }
+
+    @Test
+    void shouldDiscardMessageWhenTaskLeftStage() throws Exception {
+        Task task = task(TaskStatus.PENDING, ExecutionStage.REPORT_GENERATION, 0);
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+
+        listener.handle(ExecutionStage.MODEL_REVIEW, event(task), message(), channel);
+
+        verify(channel).basicAck(DELIVERY_TAG, false);
+        verify(taskLeaseManager, never()).claim(any(), any());
+        verifyNoInteractions(stageTaskDispatcher);
+    }
+
+    @Test
+    void shouldRedeliverLaterWhenTaskIsHeldByAnotherOwner() throws Exception {
+        Task task = task(TaskStatus.PENDING, ExecutionStage.MODEL_REVIEW, 0);
+        TaskStageReadyEvent event = event(task);
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+        when(taskLeaseManager.claim(task.getId(), ExecutionStage.MODEL_REVIEW)).thenReturn(Optional.empty());
+
+        listener.handle(ExecutionStage.MODEL_REVIEW, event, message(), channel);
+
+        verify(stageEventPublisher).publishDelayed(event, 5000L, 1);
+        verify(channel).basicAck(DELIVERY_TAG, false);
+        verifyNoInteractions(stageTaskDispatcher);
+    }
+
+    @Test
+    void shouldRedeliverLaterWhenLaneRejectsTask() throws Exception {
+        Task task = task(TaskStatus.PENDING, ExecutionStage.MODEL_REVIEW, 0);
+        TaskStageReadyEvent event = event(task);
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+        when(taskLeaseManager.claim(task.getId(), ExecutionStage.MODEL_REVIEW)).thenReturn(Optional.of(task));
+        when(stageTaskDispatcher.dispatch(Map.of(ExecutionStage.MODEL_REVIEW, List.of(task)))).thenReturn(0);
+
+        listener.handle(ExecutionStage.MODEL_REVIEW, event, message(), channel);
+
+        verify(stageEventPublisher).publishDelayed(event, 5000L, 1);
+        verify(channel).basicAck(DELIVERY_TAG, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void shouldSkipFailedTaskOwnedByRetryJob() throws Exception {
+        Task task = task(TaskStatus.FAILED, ExecutionStage.MODEL_REVIEW, 3);
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+
+        listener.handle(ExecutionStage.MODEL_REVIEW, event(task), message(), channel);
+
+        verify(channel).basicAck(DELIVERY_TAG, false);
+        verify(taskLeaseManager, never()).claim(any(), any());
+        verifyNoInteractions(stageTaskDispatcher);
+    }
+
+    @Test
+    void shouldDeadLetterWhenDispatchThrows() throws Exception {
+        Task task = task(TaskStatus.PENDING, ExecutionStage.MODEL_REVIEW, 0);
+        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+        when(taskLeaseManager.claim(task.getId(), ExecutionStage.MODEL_REVIEW)).thenReturn(Optional.of(task));
+        when(stageTaskDispatcher.dispatch(any())).thenThrow(new IllegalStateException("未预期异常"));
+
+        listener.handle(ExecutionStage.MODEL_REVIEW, event(task), message(), channel);
+
+        verify(channel).basicNack(DELIVERY_TAG, false, false);
+        verify(taskLeaseManager).release(task);
+    }
+
+    private static Task task(TaskStatus status, ExecutionStage stage, int retryCount) {
+        RetryPolicy retryPolicy = RetryPolicy.defaultPolicy();
+        retryPolicy.setRetryCount(retryCount);
+        TaskConfiguration configuration = TaskConfiguration.defaultTaskConfiguration();
+        configuration.setRetryPolicy(retryPolicy);
+        LocalDateTime now = LocalDateTime.now();
+        return Task.reconstruct(TaskId.of(100L), "合同审查任务", TaskType.CLASSIFICATION, status, stage,
+            configuration, null, null, null, new AuditInfo(1L, now, 1L, now, 1L));
+    }
+
+    private static TaskStageReadyEvent event(Task task) {
+        return new TaskStageReadyEvent(task.getId().getValue(), task.getCurrentStage(), LocalDateTime.now());
+    }
+
+    private static Message message() {
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(DELIVERY_TAG);
+        return new Message(new byte[0], properties);
+    }
+}
@@ -0,0 +1,161 @@
+package com.contractreview.reviewengine.infrastructure.persistence.repository;
+
+import com.contractreview.reviewengine.domain.enums.RiskLevel;
+import com.contractreview.reviewengine.domain.model.ReviewResult;
+import com.contractreview.reviewengine.domain.model.ReviewRuleResultEntity;
+import com.contractreview.reviewengine.domain.model.TaskId;
+import com.contractreview.reviewengine.domain.repository.ReviewResultRepository;
+import com.contractreview.reviewengine.domain.repository.ReviewRuleResultRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 审查结果读取路径的语句数回归测试
+ * 通过Hibernate统计信息断言每条读取路径（含访问关联）只执行一条SQL，防止N+1查询回归
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "spring.flyway.enabled=false",
+    "spring.cloud.bootstrap.enabled=false",
+    "spring.cloud.nacos.discovery.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Import({ReviewResultRepositoryImpl.class, ReviewRuleResultRepositoryImpl.class})
+class ReviewResultFetchStatisticsTest {
+
+    private static final long CONTRACT_ID = 100L;
+    private static final long FIRST_TASK_ID = 1000L;
+    private static final int RESULT_COUNT = 3;
+    private static final int RULES_PER_RESULT = 2;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ReviewResultRepository reviewResultRepository;
+
+    @Autowired
+    private ReviewRuleResultRepository reviewRuleResultRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < RESULT_COUNT; i++) {
+            ReviewResult result = ReviewResult.builder()
+                .taskId(FIRST_TASK_ID + i)
+                .contractId(CONTRACT_ID)
+                .reviewType("CONTRACT_REVIEW")
+                .overallRiskLevel(RiskLevel.HIGH.name())
+                .summary("审查结果" + i)
+                .build();
+            List<ReviewRuleResultEntity> ruleResults = new ArrayList<>();
+            for (int j = 0; j < RULES_PER_RESULT; j++) {
+                ruleResults.add(ReviewRuleResultEntity.builder()
+                    .reviewResult(result)
+                    .riskName("风险" + j)
+                    .ruleType("PAYMENT")
+                    .riskLevel(RiskLevel.HIGH)
+                    .riskScore(85.0)
+                    .summary("付款风险")
+                    .build());
+            }
+            result.setRuleResults(ruleResults);
+            entityManager.persist(result);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void reviewResultsByContractIdLoadRuleResultsInOneStatement() {
+        List<ReviewResult> results = reviewResultRepository.findByContractId(CONTRACT_ID);
+
+        assertThat(results).hasSize(RESULT_COUNT);
+        assertThat(countRuleResults(results)).isEqualTo(RESULT_COUNT * RULES_PER_RESULT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reviewResultByTaskIdLoadsRuleResultsInOneStatement() {
+        ReviewResult result = reviewResultRepository.findByTaskId(TaskId.of(FIRST_TASK_ID)).orElseThrow();
+
+        assertThat(result.getRuleResults()).hasSize(RULES_PER_RESULT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void highRiskReviewResultsLoadRuleResultsInOneStatement() {
+        List<ReviewResult> results = reviewResultRepository.findHighRiskResults(List.of(RiskLevel.HIGH));
+
+        assertThat(results).hasSize(RESULT_COUNT);
+        assertThat(countRuleResults(results)).isEqualTo(RESULT_COUNT * RULES_PER_RESULT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void ruleResultsByContractIdFetchParentInOneStatement() {
+        List<ReviewRuleResultEntity> ruleResults = reviewRuleResultRepository.findByContractId(CONTRACT_ID);
+
+        assertThat(ruleResults).hasSize(RESULT_COUNT * RULES_PER_RESULT);
+        assertThat(ruleResults).allSatisfy(rule -> assertThat(rule.getReviewResult().getTaskId()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void ruleResultsByTaskIdFetchParentInOneStatement() {
+        List<ReviewRuleResultEntity> ruleResults = reviewRuleResultRepository.findByTaskId(FIRST_TASK_ID);
+
+        assertThat(ruleResults).hasSize(RULES_PER_RESULT);
+        assertThat(ruleResults).allSatisfy(rule -> assertThat(rule.getReviewResult().getContractId()).isEqualTo(CONTRACT_ID));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void highRiskRuleResultsDoNotLoadParents() {
+        List<ReviewRuleResultEntity> ruleResults = reviewRuleResultRepository.findHighRiskResults(List.of(RiskLevel.HIGH));
+
+        assertThat(ruleResults).hasSize(RESULT_COUNT * RULES_PER_RESULT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private static int countRuleResults(List<ReviewResult> results) {
+        return results.stream().mapToInt(result -> result.getRuleResults().size()).sum();
+    }
+}
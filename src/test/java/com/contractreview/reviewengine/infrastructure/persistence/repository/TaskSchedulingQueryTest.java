@@ -0,0 +1,136 @@
+package com.contractreview.reviewengine.infrastructure.persistence.repository;
+
+import com.contractreview.reviewengine.domain.enums.ExecutionStage;
+import com.contractreview.reviewengine.domain.enums.TaskStatus;
+import com.contractreview.reviewengine.domain.enums.TaskType;
+import com.contractreview.reviewengine.domain.model.Task;
+import com.contractreview.reviewengine.infrastructure.persistence.converter.TaskConverter;
+import com.contractreview.reviewengine.infrastructure.persistence.entity.TaskEntity;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 任务调度语句测试
+ * 验证优先级老化的起点、范围与上限，以及认领按有效优先级、等待时间排序并受单租户剩余名额限制
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.flyway.enabled=false",
+    "spring.cloud.bootstrap.enabled=false",
+    "spring.cloud.nacos.discovery.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskRepositoryImpl.class, TaskConverter.class, JacksonAutoConfiguration.class})
+@Testcontainers
+class TaskSchedulingQueryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 5, 12, 0);
+    private static final long STEP_SECONDS = 300;
+    private static final int AGING_MAX_PRIORITY = 9;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TaskJpaRepository taskJpaRepository;
+
+    @Autowired
+    private TaskRepositoryImpl taskRepository;
+
+    @Test
+    void agingStartsWhenTaskBecameClaimableAndStaysBelowImmediateReview() {
+        // 创建于三天前、12分钟前才进入模型审查阶段：按进入时间老化两级
+        Long recentlyReady = persist(TaskType.CONTRACT_REVIEW, TaskStatus.PENDING, 1, NOW.minusDays(3), NOW.minusMinutes(12), 1L);
+        Long longWaiting = persist(TaskType.CONTRACT_REVIEW, TaskStatus.PENDING, 5, NOW.minusDays(3), NOW.minusHours(5), 1L);
+        Long running = persist(TaskType.CONTRACT_REVIEW, TaskStatus.RUNNING, 1, NOW.minusDays(3), NOW.minusHours(5), 1L);
+        Long leased = persist(TaskType.CONTRACT_REVIEW, TaskStatus.PENDING, 1, NOW.minusDays(3), NOW.minusHours(5), 1L);
+        Long immediate = persist(TaskType.IMMEDIATE_REVIEW, TaskStatus.PENDING, 1, NOW.minusHours(5), NOW.minusHours(5), 2L);
+        lease(leased);
+
+        int aged = taskJpaRepository.agePriorities(NOW, STEP_SECONDS, AGING_MAX_PRIORITY);
+        entityManager.clear();
+
+        assertThat(aged).isEqualTo(2);
+        assertThat(priority(recentlyReady)).isEqualTo(3);
+        assertThat(priority(longWaiting)).isEqualTo(AGING_MAX_PRIORITY);
+        assertThat(priority(running)).isEqualTo(1);
+        assertThat(priority(leased)).isEqualTo(1);
+        assertThat(priority(immediate)).isEqualTo(1 + TaskType.IMMEDIATE_REVIEW.getPriorityWeight());
+        assertThat(priority(longWaiting)).isLessThan(priority(immediate));
+    }
+
+    @Test
+    void claimOrdersByEffectivePriorityThenCreationTimeWithinTenantRoom() {
+        Long agedBulk = persist(TaskType.CONTRACT_REVIEW, TaskStatus.PENDING, 1, NOW.minusDays(1), NOW.minusHours(5), 1L);
+        persist(TaskType.CONTRACT_REVIEW, TaskStatus.PENDING, 3, NOW.minusHours(2), NOW.minusMinutes(1), 1L);
+        Long immediate = persist(TaskType.IMMEDIATE_REVIEW, TaskStatus.PENDING, 1, NOW.minusMinutes(1), NOW.minusMinutes(1), 2L);
+        Long olderOther = persist(TaskType.CONTRACT_REVIEW, TaskStatus.PENDING, 0, NOW.minusHours(3), NOW.minusMinutes(1), 3L);
+        Long newerOther = persist(TaskType.CONTRACT_REVIEW, TaskStatus.PENDING, 0, NOW.minusHours(2), NOW.minusMinutes(1), 3L);
+        persist(TaskType.CONTRACT_REVIEW, TaskStatus.PENDING, 0, NOW.minusHours(1), NOW.minusMinutes(1), 3L);
+        persist(TaskType.IMMEDIATE_REVIEW, TaskStatus.PENDING, 5, NOW.minusMinutes(1), NOW.minusMinutes(1), 4L);
+        taskJpaRepository.agePriorities(NOW, STEP_SECONDS, AGING_MAX_PRIORITY);
+
+        List<Task> claimed = taskRepository.claimTasks(List.of(ExecutionStage.MODEL_REVIEW), "test-instance", 10, 2,
+            Map.of(1L, 1), List.of(4L), Duration.ofMinutes(30));
+
+        // 租户1在泳道中只剩一个排队名额，租户3按单租户上限取两个，租户4被排除；老化后的批量任务仍排在即时审查之后
+        assertThat(claimed).extracting(task -> task.getId().getValue())
+            .containsExactly(immediate, agedBulk, olderOther, newerOther);
+    }
+
+    private Long persist(TaskType taskType, TaskStatus status, int configuredPriority,
+                         LocalDateTime createdTime, LocalDateTime readyTime, Long tenant) {
+        int basePriority = configuredPriority + taskType.getPriorityWeight();
+        TaskEntity entity = TaskEntity.builder()
+            .taskName("调度测试任务")
+            .taskType(taskType)
+            .status(status)
+            .currentStage(ExecutionStage.MODEL_REVIEW)
+            .basePriority(basePriority)
+            .priority(basePriority)
+            .readyTime(readyTime)
+            .createdBy(tenant)
+            .createdTime(createdTime)
+            .build();
+        return entityManager.persistAndFlush(entity).getId();
+    }
+
+    private void lease(Long taskId) {
+        entityManager.getEntityManager()
+            .createNativeQuery("UPDATE task SET lease_owner = 'other-instance', lease_expires_at = :expiresAt WHERE id = :id")
+            .setParameter("expiresAt", NOW.plusMinutes(30))
+            .setParameter("id", taskId)
+            .executeUpdate();
+    }
+
+    private int priority(Long taskId) {
+        return taskJpaRepository.findById(taskId).orElseThrow().getPriority();
+    }
+}
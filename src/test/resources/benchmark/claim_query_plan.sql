@@ -0,0 +1,79 @@
+-- 任务认领语句执行计划对比：按租户窗口函数排名全部积压 vs 按 idx_task_claimable_priority 顺序有界扫描
+-- 在独立 schema 中生成积压任务（少数大租户占多数），不影响业务表
+-- 运行方式：psql -d <db> -v rows=1000000 -f claim_query_plan.sql
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+  \set rows 1000000
+\endif
+\timing on
+
+DROP SCHEMA IF EXISTS claim_query_bench CASCADE;
+CREATE SCHEMA claim_query_bench;
+SET search_path = claim_query_bench, public;
+
+CREATE TABLE task (
+    id               BIGSERIAL PRIMARY KEY,
+    task_status      VARCHAR(20) NOT NULL,
+    current_stage    VARCHAR(50) NOT NULL,
+    priority         INTEGER     NOT NULL DEFAULT 0,
+    created_by       BIGINT,
+    created_time     TIMESTAMP   NOT NULL,
+    lease_owner      VARCHAR(100),
+    lease_expires_at TIMESTAMP,
+    not_before       TIMESTAMP
+);
+
+-- 约一半任务属于前三个租户，其余分散在1000个租户；一成任务已完成，少量任务持有未过期租约
+INSERT INTO task (task_status, current_stage, priority, created_by, created_time, lease_owner, lease_expires_at)
+SELECT
+    CASE WHEN g % 10 = 0 THEN 'COMPLETED' ELSE 'PENDING' END,
+    (ARRAY['CLAUSE_EXTRACTION', 'MODEL_REVIEW', 'REPORT_GENERATION'])[1 + g % 3],
+    CASE WHEN g % 50 = 0 THEN 10 + g % 5 ELSE g % 10 END,
+    CASE WHEN g % 2 = 0 THEN 1 + g % 3 ELSE 100 + g % 1000 END,
+    now() - make_interval(secs => g),
+    CASE WHEN g % 97 = 0 THEN 'other-instance' END,
+    CASE WHEN g % 97 = 0 THEN now() + INTERVAL '30 minutes' END
+FROM generate_series(1, :rows) AS g;
+
+-- 与 V8 迁移相同的部分索引
+CREATE INDEX idx_task_claimable_priority
+    ON task (current_stage, priority DESC, created_time)
+    INCLUDE (lease_owner, lease_expires_at, not_before)
+    WHERE task_status IN ('PENDING', 'RUNNING');
+ANALYZE task;
+
+-- 1. 原认领语句：窗口函数需要读取并排序该阶段全部可认领任务后才能取前 50 个
+BEGIN;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.id FROM task t
+WHERE t.id IN (SELECT c.id FROM (
+    SELECT w.id, ROW_NUMBER() OVER (PARTITION BY w.created_by ORDER BY w.priority DESC, w.created_time ASC) AS tenant_rank
+    FROM task w
+    WHERE w.current_stage IN ('MODEL_REVIEW') AND w.task_status IN ('PENDING', 'RUNNING')
+      AND (w.lease_owner IS NULL OR w.lease_expires_at < now())
+      AND COALESCE(w.created_by, -1) NOT IN (-9223372036854775808, 2)
+) c WHERE c.tenant_rank <= 10)
+  AND t.task_status IN ('PENDING', 'RUNNING')
+  AND (t.lease_owner IS NULL OR t.lease_expires_at < now())
+ORDER BY t.priority DESC, t.created_time ASC
+LIMIT 50
+FOR UPDATE SKIP LOCKED;
+ROLLBACK;
+
+-- 2. 现认领语句（TaskJpaRepository.lockClaimableCandidates）：按索引顺序扫描，取到 认领数×4 行即停止，
+--    期望计划为 Limit -> LockRows -> Index Scan using idx_task_claimable_priority，无 Sort/WindowAgg，
+--    读取的缓冲区数与积压规模无关；单租户名额在应用侧从候选中挑选
+BEGIN;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT t.id, COALESCE(t.created_by, -1) FROM task t
+WHERE t.current_stage IN ('MODEL_REVIEW') AND t.task_status IN ('PENDING', 'RUNNING')
+  AND (t.lease_owner IS NULL OR t.lease_expires_at < now())
+  AND (t.not_before IS NULL OR t.not_before <= now())
+  AND COALESCE(t.created_by, -1) NOT IN (-9223372036854775808, 2)
+ORDER BY t.priority DESC, t.created_time ASC
+LIMIT 200
+FOR UPDATE SKIP LOCKED;
+ROLLBACK;
+
+DROP SCHEMA claim_query_bench CASCADE;
@@ -0,0 +1,72 @@
+-- 规则结果文本检索基准：前导通配符 LIKE 全表扫描 vs pg_trgm GIN 索引
+-- 在独立 schema 中生成 300 万行模拟规则结果，不影响业务表；需要 UTF-8 区域的数据库
+-- 运行方式：psql -d <db> -v rows=3000000 -f text_search_benchmark.sql
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+  \set rows 3000000
+\endif
+\timing on
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+DROP SCHEMA IF EXISTS text_search_bench CASCADE;
+CREATE SCHEMA text_search_bench;
+SET search_path = text_search_bench, public;
+
+CREATE TABLE review_rule_results (
+    id                   BIGSERIAL PRIMARY KEY,
+    summary              VARCHAR(255),
+    origin_contract_text TEXT
+);
+
+-- 由常见合同用语随机拼接正文，每行约 120~200 字
+INSERT INTO review_rule_results (summary, origin_contract_text)
+SELECT
+    w[1 + (g % array_length(w, 1))] || '存在' || r[1 + (g % array_length(r, 1))],
+    (SELECT string_agg(w[1 + ((g * 31 + k * 17) % array_length(w, 1))], '，')
+       FROM generate_series(1, 12 + g % 6) AS k)
+FROM generate_series(1, :rows) AS g,
+     LATERAL (SELECT ARRAY[
+         '甲方应于合同签订后三十日内支付全部货款', '乙方逾期交付的应按日支付违约金',
+         '任何一方不得擅自变更或解除本合同', '因不可抗力导致无法履行的双方互不承担责任',
+         '本合同适用中华人民共和国法律', '争议提交甲方所在地人民法院诉讼解决',
+         '乙方应对甲方提供的资料承担保密义务', '知识产权归甲方所有',
+         '验收不合格的乙方应在七日内免费更换', '合同期满前三十日双方协商续签事宜',
+         '甲方有权单方面调整服务价格', '乙方承担由此产生的全部损失及诉讼费用'
+     ] AS w, ARRAY['付款风险', '违约责任风险', '管辖约定风险', '保密条款缺失', '显失公平条款'] AS r) AS v;
+
+ANALYZE review_rule_results;
+
+-- 1. 无索引：前导通配符 LIKE 只能顺序扫描
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT id FROM review_rule_results
+WHERE origin_contract_text LIKE '%单方面调整服务价格%' OR summary LIKE '%单方面调整服务价格%'
+ORDER BY id DESC LIMIT 20;
+
+-- 2. 建立与 V4 迁移相同的三元组索引
+CREATE INDEX idx_bench_origin_text_trgm ON review_rule_results USING gin (origin_contract_text gin_trgm_ops);
+CREATE INDEX idx_bench_summary_trgm ON review_rule_results USING gin (summary gin_trgm_ops);
+ANALYZE review_rule_results;
+
+-- 3. 有索引：位图索引扫描，与应用中 searchByText 的查询形态一致（含相关度排序与计数）
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.id FROM review_rule_results r
+WHERE r.origin_contract_text LIKE '%单方面调整服务价格%' OR r.summary LIKE '%单方面调整服务价格%'
+ORDER BY GREATEST(word_similarity('单方面调整服务价格', COALESCE(r.origin_contract_text, '')),
+                  word_similarity('单方面调整服务价格', COALESCE(r.summary, ''))) DESC, r.id DESC
+LIMIT 20;
+
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM review_rule_results r
+WHERE r.origin_contract_text LIKE '%单方面调整服务价格%' OR r.summary LIKE '%单方面调整服务价格%';
+
+-- 4. 低选择度关键词：命中行数多时排序成本随命中数增长，需配合分页
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.id FROM review_rule_results r
+WHERE r.origin_contract_text LIKE '%违约金%' OR r.summary LIKE '%违约金%'
+ORDER BY GREATEST(word_similarity('违约金', COALESCE(r.origin_contract_text, '')),
+                  word_similarity('违约金', COALESCE(r.summary, ''))) DESC, r.id DESC
+LIMIT 20;
+
+RESET search_path;
+DROP SCHEMA text_search_bench CASCADE;